@@ -1,6 +1,15 @@
 package com.lambdaworks.codec;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import io.netty.buffer.ByteBuf;
+
 /**
+ * CRC16 checksum as used by Redis Cluster to calculate key slots. Input is processed eight bytes per iteration using
+ * precomputed tables (slicing-by-8), the remainder byte by byte. Checksums of array, {@link ByteBuf} and {@link ByteBuffer}
+ * ranges are calculated without copying.
+ *
  * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
  *         <ul>
  *         <li>Name: XMODEM (also known as ZMODEM or CRC-16/ACORN)</li>
@@ -35,6 +44,22 @@ public class CRC16 {
             0x5C64, 0x4C45, 0x3CA2, 0x2C83, 0x1CE0, 0x0CC1, 0xEF1F, 0xFF3E, 0xCF5D, 0xDF7C, 0xAF9B, 0xBFBA, 0x8FD9, 0x9FF8,
             0x6E17, 0x7E36, 0x4E55, 0x5E74, 0x2E93, 0x3EB2, 0x0ED1, 0x1EF0 };
 
+    /**
+     * Tables for slicing-by-8. Entry {@code k << 8 | x} is the CRC of the byte {@code x} followed by {@code k} zero bytes, the
+     * first table is {@link #LOOKUP_TABLE}.
+     */
+    private static final int[] SLICING_TABLE = new int[8 << 8];
+
+    static {
+        System.arraycopy(LOOKUP_TABLE, 0, SLICING_TABLE, 0, LOOKUP_TABLE.length);
+        for (int k = 1; k < 8; k++) {
+            for (int x = 0; x < 256; x++) {
+                int previous = SLICING_TABLE[(k - 1) << 8 | x];
+                SLICING_TABLE[k << 8 | x] = ((previous << 8) ^ LOOKUP_TABLE[(previous >>> 8) & 0xFF]) & 0xFFFF;
+            }
+        }
+    }
+
     /**
      * Utility constructor.
      */
@@ -49,12 +74,123 @@ public class CRC16 {
      * @return CRC16 as interger value
      */
     public static int crc16(byte[] bytes) {
+        return crc16(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Create a CRC16 checksum from {@code length} bytes starting at {@code offset}.
+     *
+     * @param bytes input bytes
+     * @param offset index of the first byte
+     * @param length number of bytes
+     * @return CRC16 as interger value
+     * @since 3.4
+     */
+    public static int crc16(byte[] bytes, int offset, int length) {
+        int crc = 0x0000;
+        int index = offset;
+        int end = offset + length;
+
+        for (; end - index >= 8; index += 8) {
+            crc = SLICING_TABLE[0x700 | ((crc >>> 8) ^ bytes[index]) & 0xFF]
+                    ^ SLICING_TABLE[0x600 | (crc ^ bytes[index + 1]) & 0xFF] ^ SLICING_TABLE[0x500 | bytes[index + 2] & 0xFF]
+                    ^ SLICING_TABLE[0x400 | bytes[index + 3] & 0xFF] ^ SLICING_TABLE[0x300 | bytes[index + 4] & 0xFF]
+                    ^ SLICING_TABLE[0x200 | bytes[index + 5] & 0xFF] ^ SLICING_TABLE[0x100 | bytes[index + 6] & 0xFF]
+                    ^ LOOKUP_TABLE[bytes[index + 7] & 0xFF];
+        }
+
+        for (; index < end; index++) {
+            crc = update(crc, bytes[index]);
+        }
+        return crc & 0xFFFF;
+    }
+
+    /**
+     * Create a CRC16 checksum from {@code length} bytes starting at {@code offset} within {@code buffer}. The indexes of the
+     * buffer are not changed.
+     *
+     * @param buffer input buffer
+     * @param offset index of the first byte
+     * @param length number of bytes
+     * @return CRC16 as interger value
+     * @since 3.4
+     */
+    public static int crc16(ByteBuf buffer, int offset, int length) {
+        if (buffer.hasArray()) {
+            return crc16(buffer.array(), buffer.arrayOffset() + offset, length);
+        }
+
+        int crc = 0x0000;
+        int index = offset;
+        int end = offset + length;
+
+        if (buffer.order() == ByteOrder.BIG_ENDIAN) {
+            for (; end - index >= 8; index += 8) {
+                crc = update(crc, buffer.getLong(index));
+            }
+        }
+
+        for (; index < end; index++) {
+            crc = update(crc, buffer.getByte(index));
+        }
+        return crc & 0xFFFF;
+    }
+
+    /**
+     * Create a CRC16 checksum from the remaining bytes of {@code buffer}. The position of the buffer is not changed.
+     *
+     * @param buffer input buffer
+     * @return CRC16 as interger value
+     * @since 3.4
+     */
+    public static int crc16(ByteBuffer buffer) {
+        return crc16(buffer, buffer.position(), buffer.remaining());
+    }
+
+    /**
+     * Create a CRC16 checksum from {@code length} bytes starting at the absolute {@code offset} within {@code buffer}. The
+     * position of the buffer is not changed.
+     *
+     * @param buffer input buffer
+     * @param offset index of the first byte
+     * @param length number of bytes
+     * @return CRC16 as interger value
+     * @since 3.4
+     */
+    public static int crc16(ByteBuffer buffer, int offset, int length) {
+        if (buffer.hasArray()) {
+            return crc16(buffer.array(), buffer.arrayOffset() + offset, length);
+        }
+
         int crc = 0x0000;
+        int index = offset;
+        int end = offset + length;
 
-        for (byte b : bytes) {
-            crc = ((crc << 8) ^ LOOKUP_TABLE[((crc >>> 8) ^ (b & 0xFF)) & 0xFF]);
+        if (buffer.order() == ByteOrder.BIG_ENDIAN) {
+            for (; end - index >= 8; index += 8) {
+                crc = update(crc, buffer.getLong(index));
+            }
+        }
+
+        for (; index < end; index++) {
+            crc = update(crc, buffer.get(index));
         }
         return crc & 0xFFFF;
     }
 
+    private static int update(int crc, byte b) {
+        return (crc << 8) ^ LOOKUP_TABLE[((crc >>> 8) ^ b) & 0xFF];
+    }
+
+    /*
+     * Update with eight big-endian bytes.
+     */
+    private static int update(int crc, long word) {
+        return SLICING_TABLE[0x700 | ((crc >>> 8) ^ (int) (word >>> 56)) & 0xFF]
+                ^ SLICING_TABLE[0x600 | (crc ^ (int) (word >>> 48)) & 0xFF] ^ SLICING_TABLE[0x500 | (int) (word >>> 40) & 0xFF]
+                ^ SLICING_TABLE[0x400 | (int) (word >>> 32) & 0xFF] ^ SLICING_TABLE[0x300 | (int) (word >>> 24) & 0xFF]
+                ^ SLICING_TABLE[0x200 | (int) (word >>> 16) & 0xFF] ^ SLICING_TABLE[0x100 | (int) (word >>> 8) & 0xFF]
+                ^ LOOKUP_TABLE[(int) word & 0xFF];
+    }
+
 }
@@ -9,12 +9,18 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import com.google.common.base.Supplier;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.JdkFutureAdapters;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
 import com.lambdaworks.redis.protocol.CommandHandler;
 import com.lambdaworks.redis.pubsub.PubSubCommandHandler;
 
@@ -27,6 +33,8 @@ import io.netty.channel.group.DefaultChannelGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
 import io.netty.util.concurrent.DefaultEventExecutorGroup;
 import io.netty.util.concurrent.EventExecutorGroup;
 import io.netty.util.concurrent.Future;
@@ -53,6 +61,11 @@ public abstract class AbstractRedisClient {
     protected static final InternalLogger logger = InternalLoggerFactory.getInstance(RedisClient.class);
 
     private static final int DEFAULT_EVENT_LOOP_THREADS;
+
+    /**
+     * Netty's default {@link ChannelOption#WRITE_BUFFER_LOW_WATER_MARK}.
+     */
+    private static final int DEFAULT_LOW_WATER_MARK = 32 * 1024;
     public static final PooledByteBufAllocator BUF_ALLOCATOR = PooledByteBufAllocator.DEFAULT;
 
     static {
@@ -80,6 +93,7 @@ public abstract class AbstractRedisClient {
     protected ConnectionEvents connectionEvents = new ConnectionEvents();
     protected Set<Closeable> closeableResources = Sets.newConcurrentHashSet();
     protected volatile ClientOptions clientOptions = new ClientOptions.Builder().build();
+    protected volatile Executor decodeExecutor;
 
     protected AbstractRedisClient() {
         timer = new HashedWheelTimer();
@@ -126,8 +140,17 @@ public abstract class AbstractRedisClient {
             Supplier<SocketAddress> socketAddressSupplier, ConnectionBuilder connectionBuilder, RedisURI redisURI) {
 
         Bootstrap redisBootstrap = new Bootstrap();
-        redisBootstrap.option(ChannelOption.WRITE_BUFFER_HIGH_WATER_MARK, 32 * 1024);
-        redisBootstrap.option(ChannelOption.WRITE_BUFFER_LOW_WATER_MARK, 8 * 1024);
+        int highWaterMark = clientOptions.getWriteBufferHighWaterMark();
+        int lowWaterMark = clientOptions.getWriteBufferLowWaterMark();
+
+        // options are applied in order and each water mark is validated against the current other mark
+        if (highWaterMark < DEFAULT_LOW_WATER_MARK) {
+            redisBootstrap.option(ChannelOption.WRITE_BUFFER_LOW_WATER_MARK, lowWaterMark);
+            redisBootstrap.option(ChannelOption.WRITE_BUFFER_HIGH_WATER_MARK, highWaterMark);
+        } else {
+            redisBootstrap.option(ChannelOption.WRITE_BUFFER_HIGH_WATER_MARK, highWaterMark);
+            redisBootstrap.option(ChannelOption.WRITE_BUFFER_LOW_WATER_MARK, lowWaterMark);
+        }
         redisBootstrap.option(ChannelOption.ALLOCATOR, BUF_ALLOCATOR);
 
         if (redisURI == null) {
@@ -144,6 +167,9 @@ public abstract class AbstractRedisClient {
         connectionBuilder.commandHandler(handler).socketAddressSupplier(socketAddressSupplier).connection(connection);
         connectionBuilder.workerPool(genericWorkerPool);
 
+        if (decodeExecutor != null) {
+            handler.setDecodeExecutor(decodeExecutor);
+        }
     }
 
     protected void channelType(ConnectionBuilder connectionBuilder, ConnectionPoint connectionPoint) {
@@ -236,6 +262,104 @@ public abstract class AbstractRedisClient {
         }
     }
 
+    /**
+     * Connect and initialize the channel without blocking the calling thread. The returned future completes with the
+     * connection once the channel is initialized. The future fails with a {@link RedisConnectionException} and the connection
+     * is closed if the connect fails or the channel is not initialized within the timeout of the {@code connectionBuilder}.
+     * Callbacks of the future are notified on the generic worker pool.
+     *
+     * @param connectionBuilder connection builder to configure the connection
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @param <T> Connection type.
+     * @return future for the connection
+     * @since 3.4
+     */
+    @SuppressWarnings("unchecked")
+    protected <K, V, T extends RedisChannelHandler<K, V>> ListenableFuture<T> initializeChannelAsync(
+            final ConnectionBuilder connectionBuilder) {
+
+        final RedisChannelHandler<?, ?> connection = connectionBuilder.connection();
+        final SocketAddress redisAddress = connectionBuilder.socketAddress();
+        final SettableFuture<T> result = SettableFuture.create();
+
+        final FutureCallback<Object> initialized = new FutureCallback<Object>() {
+            @Override
+            public void onSuccess(Object ignore) {
+                connection.registerCloseables(closeableResources, connection, connectionBuilder.commandHandler());
+                if (!result.set((T) connection)) {
+                    connection.close();
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                connection.close();
+                if (t instanceof RedisException) {
+                    result.setException(t);
+                } else {
+                    result.setException(new RedisConnectionException("Unable to connect to " + redisAddress, t));
+                }
+            }
+        };
+
+        try {
+
+            logger.debug("Connecting to Redis, address: " + redisAddress);
+
+            Bootstrap redisBootstrap = connectionBuilder.bootstrap();
+            final RedisChannelInitializer initializer = connectionBuilder.build();
+            redisBootstrap.handler(initializer);
+            ChannelFuture connectFuture = redisBootstrap.connect(redisAddress);
+
+            final Timeout initializationTimeout = timer.newTimeout(new TimerTask() {
+                @Override
+                public void run(Timeout timeout) throws Exception {
+                    initialized.onFailure(new RedisConnectionException("Could not initialize channel within "
+                            + connectionBuilder.getTimeout() + " " + connectionBuilder.getTimeUnit()));
+                }
+            }, connectionBuilder.getTimeout(), connectionBuilder.getTimeUnit());
+
+            // listeners of the connect future run on the event loop, closing the connection there would block it
+            connectFuture.addListener(new ChannelFutureListener() {
+                @Override
+                public void operationComplete(final ChannelFuture future) throws Exception {
+
+                    if (!future.isSuccess()) {
+                        initializationTimeout.cancel();
+                        genericWorkerPool.execute(new Runnable() {
+                            @Override
+                            public void run() {
+                                initialized.onFailure(future.cause());
+                            }
+                        });
+                        return;
+                    }
+
+                    java.util.concurrent.Future<Boolean> channelInitialized = initializer.channelInitialized();
+                    ListenableFuture<Boolean> listenable;
+                    if (channelInitialized instanceof ListenableFuture) {
+                        listenable = (ListenableFuture<Boolean>) channelInitialized;
+                    } else {
+                        listenable = JdkFutureAdapters.listenInPoolThread(channelInitialized, genericWorkerPool);
+                    }
+
+                    listenable.addListener(new Runnable() {
+                        @Override
+                        public void run() {
+                            initializationTimeout.cancel();
+                        }
+                    }, genericWorkerPool);
+                    Futures.addCallback(listenable, initialized, genericWorkerPool);
+                }
+            });
+        } catch (Exception e) {
+            initialized.onFailure(e);
+        }
+
+        return result;
+    }
+
     /**
      * Shutdown this client and close all open connections. The client should be discarded after calling shutdown. The shutdown
      * has 2 secs quiet time and a timeout of 15 secs.
@@ -357,4 +481,26 @@ public abstract class AbstractRedisClient {
 
         this.clientOptions = clientOptions;
     }
+
+    /**
+     * Returns the {@link Executor} that decodes the responses of connections created by this client.
+     * 
+     * @return the executor or {@literal null} if responses are decoded on the event loop
+     */
+    public Executor getDecodeExecutor() {
+        return decodeExecutor;
+    }
+
+    /**
+     * Set the {@link Executor} that decodes the responses and completes the commands of connections created after setting the
+     * executor. The event loop only parses the structure of the responses, so expensive codecs do not delay reading other
+     * connections of the same event loop. Responses of a connection are decoded in order. Pub/Sub messages are decoded on the
+     * event loop. Defaults to {@literal null} which decodes the responses on the event loop.
+     * 
+     * @param decodeExecutor the executor, may be {@literal null}
+     * @see CommandHandler#setDecodeExecutor(Executor)
+     */
+    public void setDecodeExecutor(Executor decodeExecutor) {
+        this.decodeExecutor = decodeExecutor;
+    }
 }
@@ -1,6 +1,9 @@
 package com.lambdaworks.redis;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Client Options to control the behavior of {@link RedisClient}.
@@ -13,6 +16,15 @@ public class ClientOptions implements Serializable {
     private final boolean autoReconnect;
     private final boolean cancelCommandsOnReconnectFailure;
     private final boolean suspendReconnectOnProtocolFailure;
+    private final boolean consolidateFlush;
+    private final int consolidateFlushMaxCommands;
+    private final long consolidateFlushDelay;
+    private final TimeUnit consolidateFlushDelayUnit;
+    private final int disconnectedBufferSize;
+    private final DisconnectedBufferOverflow disconnectedBufferOverflow;
+    private final int requestQueueSize;
+    private final int writeBufferHighWaterMark;
+    private final int writeBufferLowWaterMark;
 
     /**
      * Create a copy of {@literal options}
@@ -33,6 +45,15 @@ public class ClientOptions implements Serializable {
         private boolean autoReconnect = true;
         private boolean cancelCommandsOnReconnectFailure = false;
         private boolean suspendReconnectOnProtocolFailure = false;
+        private boolean consolidateFlush = false;
+        private int consolidateFlushMaxCommands = 128;
+        private long consolidateFlushDelay = 100;
+        private TimeUnit consolidateFlushDelayUnit = TimeUnit.MICROSECONDS;
+        private int disconnectedBufferSize = Integer.MAX_VALUE;
+        private DisconnectedBufferOverflow disconnectedBufferOverflow = DisconnectedBufferOverflow.REJECT;
+        private int requestQueueSize = Integer.MAX_VALUE;
+        private int writeBufferHighWaterMark = 32 * 1024;
+        private int writeBufferLowWaterMark = 8 * 1024;
 
         /**
          * Sets the {@literal PING} before activate connection flag.
@@ -78,6 +99,108 @@ public class ClientOptions implements Serializable {
             return this;
         }
 
+        /**
+         * Enables or disables flush consolidation in auto-flush mode. Commands that are written within
+         * {@link #consolidateFlushDelay(long, TimeUnit)} are flushed together unless {@link #consolidateFlushMaxCommands(int)}
+         * commands are pending before. Defaults to {@literal false}.
+         *
+         * @param consolidateFlush true/false
+         * @return {@code this}
+         */
+        public Builder consolidateFlush(boolean consolidateFlush) {
+            this.consolidateFlush = consolidateFlush;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of commands that are written before the connection is flushed. Defaults to {@literal 128}.
+         * Comes only into effect if {@link #consolidateFlush(boolean)} is enabled.
+         *
+         * @param consolidateFlushMaxCommands maximum number of unflushed commands, must be greater {@literal 0}
+         * @return {@code this}
+         */
+        public Builder consolidateFlushMaxCommands(int consolidateFlushMaxCommands) {
+            checkArgument(consolidateFlushMaxCommands > 0, "consolidateFlushMaxCommands must be greater 0");
+            this.consolidateFlushMaxCommands = consolidateFlushMaxCommands;
+            return this;
+        }
+
+        /**
+         * Set the maximum delay between writing a command and flushing the connection. Defaults to {@literal 100
+         * MICROSECONDS}. A delay of {@literal 0} flushes once all commands that were written within the same event loop
+         * iteration are written. Comes only into effect if {@link #consolidateFlush(boolean)} is enabled.
+         *
+         * @param consolidateFlushDelay maximum flush delay, must not be negative
+         * @param consolidateFlushDelayUnit unit for {@code consolidateFlushDelay}
+         * @return {@code this}
+         */
+        public Builder consolidateFlushDelay(long consolidateFlushDelay, TimeUnit consolidateFlushDelayUnit) {
+            checkArgument(consolidateFlushDelay >= 0, "consolidateFlushDelay must not be negative");
+            checkArgument(consolidateFlushDelayUnit != null, "consolidateFlushDelayUnit must not be null");
+            this.consolidateFlushDelay = consolidateFlushDelay;
+            this.consolidateFlushDelayUnit = consolidateFlushDelayUnit;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of commands that are buffered while the connection is disconnected. Defaults to
+         * {@link Integer#MAX_VALUE}.
+         *
+         * @param disconnectedBufferSize maximum number of buffered commands, must be greater {@literal 0}
+         * @return {@code this}
+         */
+        public Builder disconnectedBufferSize(int disconnectedBufferSize) {
+            checkArgument(disconnectedBufferSize > 0, "disconnectedBufferSize must be greater 0");
+            this.disconnectedBufferSize = disconnectedBufferSize;
+            return this;
+        }
+
+        /**
+         * Set the behavior when a command is issued while the connection is disconnected and the buffer is full. Defaults to
+         * {@link DisconnectedBufferOverflow#REJECT}.
+         *
+         * @param disconnectedBufferOverflow the overflow behavior, must not be {@literal null}
+         * @return {@code this}
+         */
+        public Builder disconnectedBufferOverflow(DisconnectedBufferOverflow disconnectedBufferOverflow) {
+            checkArgument(disconnectedBufferOverflow != null, "disconnectedBufferOverflow must not be null");
+            this.disconnectedBufferOverflow = disconnectedBufferOverflow;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of commands that are queued per connection, either waiting to be written, buffered or
+         * awaiting their response. Commands issued beyond this limit fail with {@link RedisQueueFullException}. Defaults to
+         * {@link Integer#MAX_VALUE}.
+         *
+         * @param requestQueueSize maximum number of queued commands, must be greater {@literal 0}
+         * @return {@code this}
+         */
+        public Builder requestQueueSize(int requestQueueSize) {
+            checkArgument(requestQueueSize > 0, "requestQueueSize must be greater 0");
+            this.requestQueueSize = requestQueueSize;
+            return this;
+        }
+
+        /**
+         * Set the high and low water marks of the outbound buffer of the connection. The connection stops writing commands once
+         * more than {@code writeBufferHighWaterMark} bytes are pending and resumes writing when the pending bytes drop below
+         * {@code writeBufferLowWaterMark}. Defaults to {@literal 32 KB}/{@literal 8 KB}.
+         *
+         * @param writeBufferHighWaterMark high water mark in bytes, must be greater {@literal 0}
+         * @param writeBufferLowWaterMark low water mark in bytes, must not be negative or greater than
+         *        {@code writeBufferHighWaterMark}
+         * @return {@code this}
+         */
+        public Builder writeBufferWaterMarks(int writeBufferHighWaterMark, int writeBufferLowWaterMark) {
+            checkArgument(writeBufferHighWaterMark > 0, "writeBufferHighWaterMark must be greater 0");
+            checkArgument(writeBufferLowWaterMark >= 0 && writeBufferLowWaterMark <= writeBufferHighWaterMark,
+                    "writeBufferLowWaterMark must be between 0 and writeBufferHighWaterMark");
+            this.writeBufferHighWaterMark = writeBufferHighWaterMark;
+            this.writeBufferLowWaterMark = writeBufferLowWaterMark;
+            return this;
+        }
+
         /**
          * Create a new instance of {@link ClientOptions}
          * 
@@ -93,6 +216,15 @@ public class ClientOptions implements Serializable {
         cancelCommandsOnReconnectFailure = builder.cancelCommandsOnReconnectFailure;
         autoReconnect = builder.autoReconnect;
         suspendReconnectOnProtocolFailure = builder.suspendReconnectOnProtocolFailure;
+        consolidateFlush = builder.consolidateFlush;
+        consolidateFlushMaxCommands = builder.consolidateFlushMaxCommands;
+        consolidateFlushDelay = builder.consolidateFlushDelay;
+        consolidateFlushDelayUnit = builder.consolidateFlushDelayUnit;
+        disconnectedBufferSize = builder.disconnectedBufferSize;
+        disconnectedBufferOverflow = builder.disconnectedBufferOverflow;
+        requestQueueSize = builder.requestQueueSize;
+        writeBufferHighWaterMark = builder.writeBufferHighWaterMark;
+        writeBufferLowWaterMark = builder.writeBufferLowWaterMark;
     }
 
     protected ClientOptions(ClientOptions original) {
@@ -100,6 +232,15 @@ public class ClientOptions implements Serializable {
         this.autoReconnect = original.autoReconnect;
         this.cancelCommandsOnReconnectFailure = original.cancelCommandsOnReconnectFailure;
         this.suspendReconnectOnProtocolFailure = original.suspendReconnectOnProtocolFailure;
+        this.consolidateFlush = original.consolidateFlush;
+        this.consolidateFlushMaxCommands = original.consolidateFlushMaxCommands;
+        this.consolidateFlushDelay = original.consolidateFlushDelay;
+        this.consolidateFlushDelayUnit = original.consolidateFlushDelayUnit;
+        this.disconnectedBufferSize = original.disconnectedBufferSize;
+        this.disconnectedBufferOverflow = original.disconnectedBufferOverflow;
+        this.requestQueueSize = original.requestQueueSize;
+        this.writeBufferHighWaterMark = original.writeBufferHighWaterMark;
+        this.writeBufferLowWaterMark = original.writeBufferLowWaterMark;
     }
 
     protected ClientOptions() {
@@ -107,6 +248,15 @@ public class ClientOptions implements Serializable {
         autoReconnect = true;
         cancelCommandsOnReconnectFailure = false;
         suspendReconnectOnProtocolFailure = false;
+        consolidateFlush = false;
+        consolidateFlushMaxCommands = 128;
+        consolidateFlushDelay = 100;
+        consolidateFlushDelayUnit = TimeUnit.MICROSECONDS;
+        disconnectedBufferSize = Integer.MAX_VALUE;
+        disconnectedBufferOverflow = DisconnectedBufferOverflow.REJECT;
+        requestQueueSize = Integer.MAX_VALUE;
+        writeBufferHighWaterMark = 32 * 1024;
+        writeBufferLowWaterMark = 8 * 1024;
     }
 
     /**
@@ -152,4 +302,117 @@ public class ClientOptions implements Serializable {
     public boolean isSuspendReconnectOnProtocolFailure() {
         return suspendReconnectOnProtocolFailure;
     }
+
+    /**
+     * If this flag is {@literal true} commands written in auto-flush mode are flushed together after
+     * {@link #getConsolidateFlushDelay()} or as soon as {@link #getConsolidateFlushMaxCommands()} commands are pending.
+     * Otherwise the connection is flushed once per event loop iteration. Default is {@literal false}.
+     *
+     * @return {@literal true} if flush consolidation is enabled.
+     */
+    public boolean isConsolidateFlush() {
+        return consolidateFlush;
+    }
+
+    /**
+     * Maximum number of commands that are written before the connection is flushed. Defaults to {@literal 128}. Comes only
+     * into effect if {@link #isConsolidateFlush()} is {@literal true}.
+     *
+     * @return the maximum number of unflushed commands.
+     */
+    public int getConsolidateFlushMaxCommands() {
+        return consolidateFlushMaxCommands;
+    }
+
+    /**
+     * Maximum delay between writing a command and flushing the connection. Defaults to {@literal 100}. Comes only into
+     * effect if {@link #isConsolidateFlush()} is {@literal true}.
+     *
+     * @return the maximum flush delay.
+     */
+    public long getConsolidateFlushDelay() {
+        return consolidateFlushDelay;
+    }
+
+    /**
+     * Unit for the {@link #getConsolidateFlushDelay()}. Defaults to {@link TimeUnit#MICROSECONDS}.
+     *
+     * @return unit for the {@link #getConsolidateFlushDelay()}
+     */
+    public TimeUnit getConsolidateFlushDelayUnit() {
+        return consolidateFlushDelayUnit;
+    }
+
+    /**
+     * Maximum number of commands that are buffered while the connection is disconnected. Defaults to
+     * {@link Integer#MAX_VALUE}.
+     *
+     * @return the maximum number of buffered commands.
+     */
+    public int getDisconnectedBufferSize() {
+        return disconnectedBufferSize;
+    }
+
+    /**
+     * Behavior when a command is issued while the connection is disconnected and {@link #getDisconnectedBufferSize()}
+     * commands are already buffered. Defaults to {@link DisconnectedBufferOverflow#REJECT}.
+     *
+     * @return the overflow behavior.
+     */
+    public DisconnectedBufferOverflow getDisconnectedBufferOverflow() {
+        return disconnectedBufferOverflow;
+    }
+
+    /**
+     * Maximum number of commands that are queued per connection. Commands issued beyond this limit fail with
+     * {@link RedisQueueFullException}. Defaults to {@link Integer#MAX_VALUE}.
+     *
+     * @return the maximum number of queued commands.
+     */
+    public int getRequestQueueSize() {
+        return requestQueueSize;
+    }
+
+    /**
+     * High water mark of the outbound buffer in bytes. Commands are held back while more bytes are pending. Defaults to
+     * {@literal 32 KB}.
+     *
+     * @return the high water mark in bytes.
+     */
+    public int getWriteBufferHighWaterMark() {
+        return writeBufferHighWaterMark;
+    }
+
+    /**
+     * Low water mark of the outbound buffer in bytes. Writing resumes once the pending bytes drop below this mark. Defaults to
+     * {@literal 8 KB}.
+     *
+     * @return the low water mark in bytes.
+     */
+    public int getWriteBufferLowWaterMark() {
+        return writeBufferLowWaterMark;
+    }
+
+    /**
+     * Behavior when the buffer for commands issued while the connection is disconnected is full.
+     */
+    public enum DisconnectedBufferOverflow {
+
+        /**
+         * Complete the new command exceptionally.
+         */
+        REJECT,
+
+        /**
+         * Complete the oldest buffered command exceptionally and buffer the new command.
+         */
+        DROP_OLDEST,
+
+        /**
+         * Block the calling thread until the buffer has capacity, the connection is reconnected or closed. The wait is bounded
+         * by the command timeout, commands that time out are completed with a
+         * {@link com.lambdaworks.redis.RedisCommandTimeoutException}. Writes from the event loop fail immediately.
+         */
+        BLOCK;
+    }
 }
@@ -11,6 +11,7 @@ import com.google.common.collect.Lists;
 import com.lambdaworks.redis.protocol.CommandEncoder;
 import com.lambdaworks.redis.protocol.CommandHandler;
 import com.lambdaworks.redis.protocol.ConnectionWatchdog;
+import com.lambdaworks.redis.protocol.ReconnectionListener;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.ChannelHandler;
@@ -38,6 +39,7 @@ public class ConnectionBuilder {
     private Bootstrap bootstrap;
     private ClientOptions clientOptions;
     private EventExecutorGroup workerPool;
+    private ReconnectionListener reconnectionListener = ReconnectionListener.NO_OP;
     private long timeout;
     private TimeUnit timeUnit;
 
@@ -79,6 +81,11 @@ public class ConnectionBuilder {
         return this;
     }
 
+    public ConnectionBuilder reconnectionListener(ReconnectionListener reconnectionListener) {
+        this.reconnectionListener = reconnectionListener;
+        return this;
+    }
+
     public ConnectionBuilder connectionEvents(ConnectionEvents connectionEvents) {
         this.connectionEvents = connectionEvents;
         return this;
@@ -124,6 +131,7 @@ public class ConnectionBuilder {
                     socketAddressSupplier);
 
             watchdog.setListenOnChannelInactive(true);
+            watchdog.setReconnectionListener(reconnectionListener);
             handlers.add(watchdog);
         }
 
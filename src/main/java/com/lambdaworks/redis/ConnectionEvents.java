@@ -63,4 +63,26 @@ public class ConnectionEvents {
     public static class Activated {
     }
 
+    /**
+     * Internal event before a reconnect attempt.
+     *
+     * @since 3.4
+     */
+    public static class Reconnect {
+
+        private final int attempt;
+
+        public Reconnect(int attempt) {
+            this.attempt = attempt;
+        }
+
+        /**
+         *
+         * @return the reconnect attempt counter, starting with {@literal 1}.
+         */
+        public int getAttempt() {
+            return attempt;
+        }
+    }
+
 }
@@ -94,6 +94,10 @@ class FutureSyncInvocationHandler<K, V> extends AbstractInvocationHandler {
                 return awaitedResult;
             }
 
+            if (result instanceof RedisFuture) {
+                return awaitOrCancel((RedisFuture<?>) result);
+            }
+
             if (result instanceof RedisClusterAsyncConnection) {
                 return AbstractRedisClient.syncHandler((RedisChannelHandler<?, ?>) result, RedisConnection.class,
                         RedisClusterConnection.class);
@@ -107,6 +111,26 @@ class FutureSyncInvocationHandler<K, V> extends AbstractInvocationHandler {
 
     }
 
+    /*
+     * Await futures that combine the results of multiple commands.
+     */
+    private Object awaitOrCancel(RedisFuture<?> future) throws InterruptedException {
+
+        if (!future.await(timeout, unit)) {
+            future.cancel(true);
+            throw new RedisCommandTimeoutException();
+        }
+
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RedisException) {
+                throw (RedisException) e.getCause();
+            }
+            throw new RedisException(e.getCause());
+        }
+    }
+
     private void setTimeout(long timeout, TimeUnit unit) {
         this.timeout = timeout;
         this.unit = unit;
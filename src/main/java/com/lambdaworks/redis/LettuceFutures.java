@@ -1,21 +1,40 @@
 package com.lambdaworks.redis;
 
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.AbstractFuture;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.lambdaworks.redis.protocol.Command;
 import com.lambdaworks.redis.protocol.CommandOutput;
 import com.lambdaworks.redis.protocol.RedisCommand;
 
 /**
  * Utility to {@link #awaitAll(long, TimeUnit, Future[])} futures until they are done and to synchronize future execution using
- * {@link #awaitOrCancel(RedisCommand, long, TimeUnit)}.
+ * {@link #awaitOrCancel(RedisCommand, long, TimeUnit)}. Provides non-blocking callbacks, transformations and composition for
+ * {@link RedisFuture futures}.
  * 
  * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
  * @since 3.0
  */
 public class LettuceFutures {
 
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
     private LettuceFutures() {
 
     }
@@ -102,4 +121,316 @@ public class LettuceFutures {
         }
         return output.get();
     }
+
+    /**
+     * Register a callback that is notified once the future is done. The callback is invoked by the thread that completes the
+     * future, usually the I/O thread that decoded the reply, and must therefore not block. Callbacks of a done future are
+     * invoked immediately. A Redis error reply is reported as {@link RedisCommandExecutionException}, a cancellation as
+     * {@link CancellationException}.
+     * 
+     * @param future the future.
+     * @param callback the callback to notify.
+     * @param <V> Value type.
+     * @since 3.4
+     */
+    public static <V> void addCallback(RedisFuture<V> future, FutureCallback<? super V> callback) {
+        addCallback(future, callback, null);
+    }
+
+    /**
+     * Register a callback that is notified on the supplied {@link Executor} once the future is done.
+     * 
+     * @param future the future.
+     * @param callback the callback to notify.
+     * @param executor the executor to notify the callback on, {@literal null} to notify on the completing thread.
+     * @param <V> Value type.
+     * @since 3.4
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> void addCallback(final RedisFuture<V> future, final FutureCallback<? super V> callback,
+            Executor executor) {
+        if (future == null || callback == null) {
+            throw new NullPointerException("future and callback must not be null");
+        }
+
+        if (future instanceof Command) {
+            // commands invoke callbacks from their waiter stack without a wrapping listener
+            ((Command<?, ?, V>) future).addCallback(callback, executor);
+            return;
+        }
+
+        future.addListener(new Runnable() {
+            @Override
+            public void run() {
+                notifyCallback(future, callback);
+            }
+        }, executor != null ? executor : DIRECT_EXECUTOR);
+    }
+
+    /**
+     * Create a future that completes with the result of applying {@code function} to the result of {@code future}. The
+     * function is invoked by the thread that completes the future and must therefore not block. Failures and cancellation of
+     * the source future are propagated to the returned future, cancelling the returned future cancels the source future.
+     * 
+     * @param future the source future.
+     * @param function the function to apply.
+     * @param <I> Input type.
+     * @param <O> Output type.
+     * @return a new future holding the result of the function.
+     * @since 3.4
+     */
+    public static <I, O> RedisFuture<O> transform(RedisFuture<I> future, Function<? super I, ? extends O> function) {
+        return transform(future, function, null);
+    }
+
+    /**
+     * Create a future that completes with the result of applying {@code function} on the supplied {@link Executor} to the
+     * result of {@code future}.
+     * 
+     * @param future the source future.
+     * @param function the function to apply.
+     * @param executor the executor to apply the function on, {@literal null} to apply it on the completing thread.
+     * @param <I> Input type.
+     * @param <O> Output type.
+     * @return a new future holding the result of the function.
+     * @since 3.4
+     */
+    public static <I, O> RedisFuture<O> transform(RedisFuture<I> future, Function<? super I, ? extends O> function,
+            Executor executor) {
+        TransformedFuture<I, O> transformed = new TransformedFuture<I, O>(future, function);
+        addCallback(future, transformed, executor);
+        return transformed;
+    }
+
+    /**
+     * Create a future that completes with the result of the future returned by {@code function} for the result of
+     * {@code future}. Use this method to issue a command that depends on the result of another command without blocking. The
+     * function is invoked by the thread that completes the future and must therefore not block. Failures and cancellation of
+     * both futures are propagated to the returned future, cancelling the returned future cancels the pending future.
+     * 
+     * @param future the source future.
+     * @param function the function returning the future to continue with.
+     * @param <I> Input type.
+     * @param <O> Output type.
+     * @return a new future holding the result of the future returned by the function.
+     * @since 3.4
+     */
+    public static <I, O> RedisFuture<O> compose(RedisFuture<I> future, AsyncFunction<? super I, ? extends O> function) {
+        return compose(future, function, null);
+    }
+
+    /**
+     * Create a future that completes with the result of the future returned by {@code function}, applied on the supplied
+     * {@link Executor} to the result of {@code future}.
+     * 
+     * @param future the source future.
+     * @param function the function returning the future to continue with.
+     * @param executor the executor to apply the function on, {@literal null} to apply it on the completing thread.
+     * @param <I> Input type.
+     * @param <O> Output type.
+     * @return a new future holding the result of the future returned by the function.
+     * @since 3.4
+     */
+    public static <I, O> RedisFuture<O> compose(RedisFuture<I> future, AsyncFunction<? super I, ? extends O> function,
+            Executor executor) {
+        ComposedFuture<I, O> composed = new ComposedFuture<I, O>(future, function);
+        addCallback(future, composed, executor);
+        return composed;
+    }
+
+    private static <V> void notifyCallback(RedisFuture<V> future, FutureCallback<? super V> callback) {
+
+        V result;
+        try {
+            if (future.isCancelled()) {
+                callback.onFailure(new CancellationException());
+                return;
+            }
+
+            result = Uninterruptibles.getUninterruptibly(future);
+        } catch (ExecutionException e) {
+            callback.onFailure(e.getCause());
+            return;
+        } catch (RuntimeException e) {
+            callback.onFailure(e);
+            return;
+        }
+
+        String error = future.getError();
+        if (error != null) {
+            callback.onFailure(new RedisCommandExecutionException(error));
+            return;
+        }
+
+        callback.onSuccess(result);
+    }
+
+    /**
+     * Future completed by a callback on a source future. Cancelling the future cancels the source future.
+     * 
+     * @param <I> Input type.
+     * @param <O> Output type.
+     */
+    abstract static class ChainedFuture<I, O> extends AbstractFuture<O> implements RedisFuture<O>, FutureCallback<I> {
+
+        private final RedisFuture<I> source;
+
+        ChainedFuture(RedisFuture<I> source) {
+            this.source = source;
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            if (t instanceof CancellationException) {
+                cancel(false);
+            } else {
+                setException(t);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (super.cancel(mayInterruptIfRunning)) {
+                source.cancel(mayInterruptIfRunning);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public String getError() {
+            return null;
+        }
+
+        @Override
+        public boolean await(long timeout, TimeUnit unit) {
+            try {
+                get(timeout, unit);
+                return true;
+            } catch (TimeoutException e) {
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RedisCommandInterruptedException(e);
+            } catch (ExecutionException e) {
+                return true;
+            } catch (CancellationException e) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Future holding the result of a function applied to the result of another future. The future registers itself as callback
+     * on the source future and does not need an additional listener object.
+     * 
+     * @param <I> Input type.
+     * @param <O> Output type.
+     */
+    static class TransformedFuture<I, O> extends ChainedFuture<I, O> {
+
+        private final Function<? super I, ? extends O> function;
+
+        TransformedFuture(RedisFuture<I> source, Function<? super I, ? extends O> function) {
+            super(source);
+            if (function == null) {
+                throw new NullPointerException("function must not be null");
+            }
+            this.function = function;
+        }
+
+        @Override
+        public void onSuccess(I result) {
+            try {
+                set(function.apply(result));
+            } catch (RuntimeException e) {
+                setException(e);
+            } catch (Error e) {
+                setException(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Future holding the result of the future that a function returned for the result of another future.
+     * 
+     * @param <I> Input type.
+     * @param <O> Output type.
+     */
+    static class ComposedFuture<I, O> extends ChainedFuture<I, O> {
+
+        private final AsyncFunction<? super I, ? extends O> function;
+        private volatile Future<?> pending;
+
+        ComposedFuture(RedisFuture<I> source, AsyncFunction<? super I, ? extends O> function) {
+            super(source);
+            if (function == null) {
+                throw new NullPointerException("function must not be null");
+            }
+            this.function = function;
+        }
+
+        @Override
+        public void onSuccess(I result) {
+
+            ListenableFuture<? extends O> next;
+            try {
+                next = function.apply(result);
+            } catch (Exception e) {
+                setException(e);
+                return;
+            } catch (Error e) {
+                setException(e);
+                throw e;
+            }
+
+            if (next == null) {
+                setException(new NullPointerException("function must not return null"));
+                return;
+            }
+
+            pending = next;
+            if (isCancelled()) {
+                next.cancel(wasInterrupted());
+                return;
+            }
+
+            complete(next);
+        }
+
+        @SuppressWarnings("unchecked")
+        private <X extends O> void complete(ListenableFuture<X> next) {
+
+            FutureCallback<X> callback = new FutureCallback<X>() {
+                @Override
+                public void onSuccess(X result) {
+                    set(result);
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    ComposedFuture.this.onFailure(t);
+                }
+            };
+
+            if (next instanceof RedisFuture) {
+                addCallback((RedisFuture<X>) next, callback);
+            } else {
+                Futures.addCallback(next, callback);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (super.cancel(mayInterruptIfRunning)) {
+                Future<?> pending = this.pending;
+                if (pending != null) {
+                    pending.cancel(mayInterruptIfRunning);
+                }
+                return true;
+            }
+            return false;
+        }
+    }
 }
@@ -2,6 +2,7 @@
 
 package com.lambdaworks.redis;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.lambdaworks.redis.protocol.CommandType.EXEC;
 
 import java.security.MessageDigest;
@@ -65,6 +66,18 @@ public class RedisAsyncConnectionImpl<K, V> extends RedisChannelHandler<K, V> im
 
     }
 
+    /**
+     * Initialize a connection that dispatches its commands using the channel writer of {@code parent}.
+     * 
+     * @param parent the connection owning the channel writer
+     * @param codec Codec used to encode/decode keys and values.
+     */
+    protected RedisAsyncConnectionImpl(RedisAsyncConnectionImpl<?, ?> parent, RedisCodec<K, V> codec) {
+        super(parent);
+        this.codec = codec;
+        commandBuilder = new RedisCommandBuilder<K, V>(codec);
+    }
+
     @Override
     public RedisFuture<Long> append(K key, V value) {
         return dispatch(commandBuilder.append(key, value));
@@ -564,6 +577,11 @@ public class RedisAsyncConnectionImpl<K, V> extends RedisChannelHandler<K, V> im
         return dispatch(commandBuilder.mget(keys));
     }
 
+    @Override
+    public RedisFuture<long[]> mgetAsLongs(K... keys) {
+        return dispatch(commandBuilder.mgetAsLongs(keys));
+    }
+
     @Override
     public RedisFuture<Long> mget(ValueStreamingChannel<V> channel, K... keys) {
         return dispatch(commandBuilder.mget(channel, keys));
@@ -1062,6 +1080,11 @@ public class RedisAsyncConnectionImpl<K, V> extends RedisChannelHandler<K, V> im
         return dispatch(commandBuilder.zrangeWithScores(key, start, stop));
     }
 
+    @Override
+    public RedisFuture<ScoredValues<V>> zrangeAsScoredValues(K key, long start, long stop) {
+        return dispatch(commandBuilder.zrangeAsScoredValues(key, start, stop));
+    }
+
     @Override
     public RedisFuture<List<V>> zrangebyscore(K key, double min, double max) {
         return dispatch(commandBuilder.zrangebyscore(key, min, max));
@@ -1193,6 +1216,11 @@ public class RedisAsyncConnectionImpl<K, V> extends RedisChannelHandler<K, V> im
         return dispatch(commandBuilder.zrevrangeWithScores(key, start, stop));
     }
 
+    @Override
+    public RedisFuture<ScoredValues<V>> zrevrangeAsScoredValues(K key, long start, long stop) {
+        return dispatch(commandBuilder.zrevrangeAsScoredValues(key, start, stop));
+    }
+
     @Override
     public RedisFuture<List<V>> zrevrangebyscore(K key, double max, double min) {
         return dispatch(commandBuilder.zrevrangebyscore(key, max, min));
@@ -1692,6 +1720,22 @@ public class RedisAsyncConnectionImpl<K, V> extends RedisChannelHandler<K, V> im
         return multi != null;
     }
 
+    /**
+     * Obtain a view of this connection that encodes and decodes keys and values using {@code codec}. The view sends its
+     * commands over this connection, so connections using different codecs share one socket. Transaction state, the selected
+     * database and authentication are shared with this connection. Closing the view does not close the connection.
+     * 
+     * @param codec the codec of the view, must not be {@literal null}
+     * @param <K2> Key type of the view.
+     * @param <V2> Value type of the view.
+     * @return a connection view using {@code codec}
+     * @since 3.4
+     */
+    public <K2, V2> RedisAsyncConnectionImpl<K2, V2> withCodec(RedisCodec<K2, V2> codec) {
+        checkArgument(codec != null, "codec must not be null");
+        return new CodecView<K2, V2>(this, codec);
+    }
+
     @Override
     public void activated() {
 
@@ -1710,4 +1754,97 @@ public class RedisAsyncConnectionImpl<K, V> extends RedisChannelHandler<K, V> im
         }
     }
 
+    /**
+     * View of a connection using a different codec. Commands are dispatched by the parent connection, which keeps the
+     * transaction, authentication and database state.
+     * 
+     * @param <K> Key type.
+     * @param <V> Value type.
+     */
+    private static class CodecView<K, V> extends RedisAsyncConnectionImpl<K, V> {
+
+        private final RedisAsyncConnectionImpl<Object, Object> parent;
+
+        @SuppressWarnings("unchecked")
+        CodecView(RedisAsyncConnectionImpl<?, ?> parent, RedisCodec<K, V> codec) {
+            super(parent, codec);
+            this.parent = (RedisAsyncConnectionImpl<Object, Object>) parent;
+        }
+
+        @Override
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        public <T> RedisCommand<K, V, T> dispatch(RedisCommand<K, V, T> cmd) {
+            return (RedisCommand<K, V, T>) parent.dispatch((RedisCommand) cmd);
+        }
+
+        @Override
+        protected <T> RedisCommand<K, V, T> dispatch(CommandType type, CommandOutput<K, V, T> output,
+                CommandArgs<K, V> args) {
+            return dispatch(new Command<K, V, T>(type, output, args, parent.isMulti()));
+        }
+
+        @Override
+        public RedisFuture<String> multi() {
+            return parent.multi();
+        }
+
+        @Override
+        public RedisFuture<List<Object>> exec() {
+            return parent.exec();
+        }
+
+        @Override
+        public RedisFuture<String> discard() {
+            return parent.discard();
+        }
+
+        @Override
+        public String auth(String password) {
+            return parent.auth(password);
+        }
+
+        @Override
+        public String select(int db) {
+            return parent.select(db);
+        }
+
+        @Override
+        public String readOnly() {
+            return parent.readOnly();
+        }
+
+        @Override
+        public String readWrite() {
+            return parent.readWrite();
+        }
+
+        @Override
+        protected boolean isMulti() {
+            return parent.isMulti();
+        }
+
+        @Override
+        public <K2, V2> RedisAsyncConnectionImpl<K2, V2> withCodec(RedisCodec<K2, V2> codec) {
+            return parent.withCodec(codec);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return parent.isOpen();
+        }
+
+        @Override
+        public boolean isClosed() {
+            return parent.isClosed();
+        }
+
+        /**
+         * Closing a view does not close the connection.
+         */
+        @Override
+        public void close() {
+
+        }
+    }
+
 }
@@ -8,6 +8,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 
+import com.lambdaworks.redis.protocol.CommandHandler;
 import com.lambdaworks.redis.protocol.RedisCommand;
 
 import io.netty.channel.ChannelHandlerContext;
@@ -47,6 +48,19 @@ public abstract class RedisChannelHandler<K, V> extends ChannelInboundHandlerAda
         setTimeout(timeout, unit);
     }
 
+    /**
+     * Create a handler that dispatches to the channel writer of {@code parent}. The handler is not registered with the writer,
+     * so it does not receive connection lifecycle notifications.
+     *
+     * @param parent the handler owning the channel writer
+     */
+    @SuppressWarnings("unchecked")
+    protected RedisChannelHandler(RedisChannelHandler<?, ?> parent) {
+        this.channelWriter = (RedisChannelWriter<K, V>) parent.getChannelWriter();
+        this.clientOptions = parent.getOptions();
+        setTimeout(parent.getTimeout(), parent.getTimeoutUnit());
+    }
+
     @Override
     public void channelRegistered(ChannelHandlerContext ctx) throws Exception {
         closed = false;
@@ -198,6 +212,20 @@ public abstract class RedisChannelHandler<K, V> extends ChannelInboundHandlerAda
         return unit;
     }
 
+    /**
+     * Returns the number of commands of this connection that are waiting to be written, buffered or awaiting their response.
+     * Cluster connections route commands to the connections of the cluster nodes, use the node connections to inspect their
+     * queues.
+     * 
+     * @return the number of queued commands or {@literal -1} if the channel writer does not track its queued commands.
+     */
+    public int getQueueSize() {
+        if (channelWriter instanceof CommandHandler) {
+            return ((CommandHandler<K, V>) channelWriter).getQueueSize();
+        }
+        return -1;
+    }
+
     public void setAutoFlushCommands(boolean autoFlush) {
         getChannelWriter().setAutoFlushCommands(autoFlush);
     }
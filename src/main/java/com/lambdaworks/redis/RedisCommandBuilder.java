@@ -28,10 +28,12 @@ import com.lambdaworks.redis.output.KeyValueOutput;
 import com.lambdaworks.redis.output.KeyValueScanStreamingOutput;
 import com.lambdaworks.redis.output.KeyValueStreamingChannel;
 import com.lambdaworks.redis.output.KeyValueStreamingOutput;
+import com.lambdaworks.redis.output.LongArrayOutput;
 import com.lambdaworks.redis.output.MapOutput;
 import com.lambdaworks.redis.output.MapScanOutput;
 import com.lambdaworks.redis.output.NestedMultiOutput;
 import com.lambdaworks.redis.output.ScoredValueListOutput;
+import com.lambdaworks.redis.output.ScoredValuesOutput;
 import com.lambdaworks.redis.output.ScoredValueScanOutput;
 import com.lambdaworks.redis.output.ScoredValueScanStreamingOutput;
 import com.lambdaworks.redis.output.ScoredValueStreamingChannel;
@@ -562,6 +564,13 @@ class RedisCommandBuilder<K, V> extends BaseRedisCommandBuilder<K, V> {
         return createCommand(MGET, new ValueListOutput<K, V>(codec), args);
     }
 
+    public Command<K, V, long[]> mgetAsLongs(K... keys) {
+        assertNotEmpty(keys, "keys " + MUST_NOT_BE_EMPTY);
+
+        CommandArgs<K, V> args = new CommandArgs<K, V>(codec).addKeys(keys);
+        return createCommand(MGET, new LongArrayOutput<K, V>(codec, 0), args);
+    }
+
     public Command<K, V, Long> mget(ValueStreamingChannel<V> channel, K... keys) {
         assertNotEmpty(keys, "keys " + MUST_NOT_BE_EMPTY);
 
@@ -1075,6 +1084,12 @@ class RedisCommandBuilder<K, V> extends BaseRedisCommandBuilder<K, V> {
         return createCommand(ZRANGE, new ScoredValueListOutput<K, V>(codec), args);
     }
 
+    public Command<K, V, ScoredValues<V>> zrangeAsScoredValues(K key, long start, long stop) {
+        CommandArgs<K, V> args = new CommandArgs<K, V>(codec);
+        args.addKey(key).add(start).add(stop).add(WITHSCORES);
+        return createCommand(ZRANGE, new ScoredValuesOutput<K, V>(codec), args);
+    }
+
     public Command<K, V, List<V>> zrangebyscore(K key, double min, double max) {
         return zrangebyscore(key, string(min), string(max));
     }
@@ -1203,6 +1218,12 @@ class RedisCommandBuilder<K, V> extends BaseRedisCommandBuilder<K, V> {
         return createCommand(ZREVRANGE, new ScoredValueListOutput<K, V>(codec), args);
     }
 
+    public Command<K, V, ScoredValues<V>> zrevrangeAsScoredValues(K key, long start, long stop) {
+        CommandArgs<K, V> args = new CommandArgs<K, V>(codec);
+        args.addKey(key).add(start).add(stop).add(WITHSCORES);
+        return createCommand(ZREVRANGE, new ScoredValuesOutput<K, V>(codec), args);
+    }
+
     public Command<K, V, List<V>> zrevrangebyscore(K key, double max, double min) {
         return zrevrangebyscore(key, string(max), string(min));
     }
@@ -0,0 +1,15 @@
+package com.lambdaworks.redis;
+
+/**
+ * Exception thrown when a command is issued while the number of queued commands exceeds
+ * {@link ClientOptions#getRequestQueueSize()}.
+ * 
+ * @author Mark Paluch
+ */
+@SuppressWarnings("serial")
+public class RedisQueueFullException extends RedisException {
+
+    public RedisQueueFullException(int requestQueueSize) {
+        super("Request queue size exceeded: " + requestQueueSize + ". Commands are not accepted until the queue is processed.");
+    }
+}
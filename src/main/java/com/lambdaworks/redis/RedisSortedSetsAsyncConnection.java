@@ -162,6 +162,17 @@ public interface RedisSortedSetsAsyncConnection<K, V> {
      */
     RedisFuture<List<ScoredValue<V>>> zrangeWithScores(K key, long start, long stop);
 
+    /**
+     * Return a range of members with scores in a sorted set, by index. Members and primitive scores are returned in
+     * parallel arrays instead of a {@link ScoredValue} per member.
+     * 
+     * @param key the key
+     * @param start the start
+     * @param stop the stop
+     * @return RedisFuture&lt;ScoredValues&lt;V&gt;&gt; array-reply elements in the specified range.
+     */
+    RedisFuture<ScoredValues<V>> zrangeAsScoredValues(K key, long start, long stop);
+
     /**
      * Return a range of members in a sorted set, by score.
      *
@@ -441,6 +452,17 @@ public interface RedisSortedSetsAsyncConnection<K, V> {
      */
     RedisFuture<List<ScoredValue<V>>> zrevrangeWithScores(K key, long start, long stop);
 
+    /**
+     * Return a range of members with scores in a sorted set, by index, with scores ordered from high to low. Members and
+     * primitive scores are returned in parallel arrays instead of a {@link ScoredValue} per member.
+     * 
+     * @param key the key
+     * @param start the start
+     * @param stop the stop
+     * @return RedisFuture&lt;ScoredValues&lt;V&gt;&gt; array-reply elements in the specified range.
+     */
+    RedisFuture<ScoredValues<V>> zrevrangeAsScoredValues(K key, long start, long stop);
+
     /**
      * Return a range of members in a sorted set, by score, with scores ordered from high to low.
      * 
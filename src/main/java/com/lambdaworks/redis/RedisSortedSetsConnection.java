@@ -160,6 +160,17 @@ public interface RedisSortedSetsConnection<K, V> {
      */
     List<ScoredValue<V>> zrangeWithScores(K key, long start, long stop);
 
+    /**
+     * Return a range of members with scores in a sorted set, by index. Members and primitive scores are returned in
+     * parallel arrays instead of a {@link ScoredValue} per member.
+     * 
+     * @param key the key
+     * @param start the start
+     * @param stop the stop
+     * @return ScoredValues&lt;V&gt; array-reply elements in the specified range.
+     */
+    ScoredValues<V> zrangeAsScoredValues(K key, long start, long stop);
+
     /**
      * Return a range of members in a sorted set, by score.
      * 
@@ -437,6 +448,17 @@ public interface RedisSortedSetsConnection<K, V> {
      */
     List<ScoredValue<V>> zrevrangeWithScores(K key, long start, long stop);
 
+    /**
+     * Return a range of members with scores in a sorted set, by index, with scores ordered from high to low. Members and
+     * primitive scores are returned in parallel arrays instead of a {@link ScoredValue} per member.
+     * 
+     * @param key the key
+     * @param start the start
+     * @param stop the stop
+     * @return ScoredValues&lt;V&gt; array-reply elements in the specified range.
+     */
+    ScoredValues<V> zrevrangeAsScoredValues(K key, long start, long stop);
+
     /**
      * Return a range of members in a sorted set, by score, with scores ordered from high to low.
      * 
@@ -224,6 +224,15 @@ public interface RedisStringsAsyncConnection<K, V> {
      */
     RedisFuture<List<V>> mget(K... keys);
 
+    /**
+     * Get the values of all the given keys as integers. Values are parsed from the reply without boxing, keys that do not
+     * exist are reported as {@literal 0}.
+     * 
+     * @param keys the key
+     * @return RedisFuture&lt;long[]&gt; array-reply values at the specified keys.
+     */
+    RedisFuture<long[]> mgetAsLongs(K... keys);
+
     /**
      * Stream the values of all the given keys.
      * 
@@ -220,6 +220,15 @@ public interface RedisStringsConnection<K, V> {
      */
     List<V> mget(K... keys);
 
+    /**
+     * Get the values of all the given keys as integers. Values are parsed from the reply without boxing, keys that do not
+     * exist are reported as {@literal 0}.
+     * 
+     * @param keys the key
+     * @return long[] array-reply values at the specified keys.
+     */
+    long[] mgetAsLongs(K... keys);
+
     /**
      * Stream over the values of all the given keys.
      * 
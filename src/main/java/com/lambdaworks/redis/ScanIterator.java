@@ -0,0 +1,416 @@
+package com.lambdaworks.redis;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.lambdaworks.redis.cluster.RedisAdvancedClusterAsyncConnection;
+import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
+
+/**
+ * {@link Iterator} over all elements of a SCAN, SSCAN, HSCAN or ZSCAN. The iterator drives the cursor and requests the next
+ * page as soon as a page is taken, so the next page is transferred while the elements of the current page are consumed. At most
+ * two pages are held in memory per scanned node.
+ *
+ * <p>
+ * {@link #scan(RedisAdvancedClusterAsyncConnection, ScanArgs)} scans all master nodes of a cluster in parallel and returns the
+ * keys of whichever node responded first. Scanning a cluster uses the node connections of the cluster connection.
+ * </p>
+ *
+ * <p>
+ * The iterator is not thread-safe. Keys might be returned more than once, see the SCAN documentation for the guarantees of a
+ * full iteration.
+ * </p>
+ *
+ * @param <T> Element type.
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+public abstract class ScanIterator<T> implements Iterator<T> {
+
+    private static final long DEFAULT_TIMEOUT_SECONDS = 60;
+
+    ScanIterator() {
+    }
+
+    /**
+     * Iterate over all keys of the keyspace.
+     *
+     * @param connection the connection
+     * @param <K> Key type.
+     * @return iterator over all keys.
+     */
+    public static <K> ScanIterator<K> scan(RedisKeysAsyncConnection<K, ?> connection) {
+        return scan(connection, null);
+    }
+
+    /**
+     * Iterate over all keys of the keyspace.
+     *
+     * @param connection the connection
+     * @param scanArgs scan arguments, may be {@literal null}
+     * @param <K> Key type.
+     * @return iterator over all keys.
+     */
+    public static <K> ScanIterator<K> scan(RedisKeysAsyncConnection<K, ?> connection, ScanArgs scanArgs) {
+        checkArgument(connection != null, "connection must not be null");
+        return keyScan(connection, scanArgs);
+    }
+
+    private static <K> CursorScanIterator<KeyScanCursor<K>, K> keyScan(final RedisKeysAsyncConnection<K, ?> connection,
+            final ScanArgs scanArgs) {
+        return new CursorScanIterator<KeyScanCursor<K>, K>(connection) {
+            @Override
+            RedisFuture<KeyScanCursor<K>> requestPage(ScanCursor cursor) {
+                return cursor == null ? connection.scan(scanArgs) : connection.scan(cursor, scanArgs);
+            }
+
+            @Override
+            List<K> elements(KeyScanCursor<K> cursor) {
+                return cursor.getKeys();
+            }
+        }.start();
+    }
+
+    /**
+     * Iterate over all keys of all master nodes of a cluster. The master nodes are scanned in parallel.
+     *
+     * @param connection the cluster connection
+     * @param <K> Key type.
+     * @return iterator over all keys.
+     */
+    public static <K> ScanIterator<K> scan(RedisAdvancedClusterAsyncConnection<K, ?> connection) {
+        return scan(connection, null);
+    }
+
+    /**
+     * Iterate over all keys of all master nodes of a cluster. The master nodes are scanned in parallel.
+     *
+     * @param connection the cluster connection
+     * @param scanArgs scan arguments, may be {@literal null}
+     * @param <K> Key type.
+     * @return iterator over all keys.
+     */
+    public static <K> ScanIterator<K> scan(RedisAdvancedClusterAsyncConnection<K, ?> connection, ScanArgs scanArgs) {
+        checkArgument(connection != null, "connection must not be null");
+
+        List<CursorScanIterator<?, K>> nodes = new ArrayList<CursorScanIterator<?, K>>();
+        for (RedisClusterNode node : connection.getPartitions()) {
+            if (node.getFlags().contains(RedisClusterNode.NodeFlag.MASTER)) {
+                nodes.add(keyScan(connection.getConnection(node.getNodeId()), scanArgs));
+            }
+        }
+
+        return new ClusterScanIterator<K>(nodes);
+    }
+
+    /**
+     * Iterate over all members of a set.
+     *
+     * @param connection the connection
+     * @param key the key
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return iterator over all members.
+     */
+    public static <K, V> ScanIterator<V> sscan(RedisSetsAsyncConnection<K, V> connection, K key) {
+        return sscan(connection, key, null);
+    }
+
+    /**
+     * Iterate over all members of a set.
+     *
+     * @param connection the connection
+     * @param key the key
+     * @param scanArgs scan arguments, may be {@literal null}
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return iterator over all members.
+     */
+    public static <K, V> ScanIterator<V> sscan(final RedisSetsAsyncConnection<K, V> connection, final K key,
+            final ScanArgs scanArgs) {
+        checkArgument(connection != null, "connection must not be null");
+        return new CursorScanIterator<ValueScanCursor<V>, V>(connection) {
+            @Override
+            RedisFuture<ValueScanCursor<V>> requestPage(ScanCursor cursor) {
+                return cursor == null ? connection.sscan(key, scanArgs) : connection.sscan(key, cursor, scanArgs);
+            }
+
+            @Override
+            List<V> elements(ValueScanCursor<V> cursor) {
+                return cursor.getValues();
+            }
+        }.start();
+    }
+
+    /**
+     * Iterate over all fields and values of a hash.
+     *
+     * @param connection the connection
+     * @param key the key
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return iterator over all fields and values.
+     */
+    public static <K, V> ScanIterator<KeyValue<K, V>> hscan(RedisHashesAsyncConnection<K, V> connection, K key) {
+        return hscan(connection, key, null);
+    }
+
+    /**
+     * Iterate over all fields and values of a hash.
+     *
+     * @param connection the connection
+     * @param key the key
+     * @param scanArgs scan arguments, may be {@literal null}
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return iterator over all fields and values.
+     */
+    public static <K, V> ScanIterator<KeyValue<K, V>> hscan(final RedisHashesAsyncConnection<K, V> connection, final K key,
+            final ScanArgs scanArgs) {
+        checkArgument(connection != null, "connection must not be null");
+        return new CursorScanIterator<MapScanCursor<K, V>, KeyValue<K, V>>(connection) {
+            @Override
+            RedisFuture<MapScanCursor<K, V>> requestPage(ScanCursor cursor) {
+                return cursor == null ? connection.hscan(key, scanArgs) : connection.hscan(key, cursor, scanArgs);
+            }
+
+            @Override
+            List<KeyValue<K, V>> elements(MapScanCursor<K, V> cursor) {
+                List<KeyValue<K, V>> elements = new ArrayList<KeyValue<K, V>>(cursor.getMap().size());
+                for (Map.Entry<K, V> entry : cursor.getMap().entrySet()) {
+                    elements.add(new KeyValue<K, V>(entry.getKey(), entry.getValue()));
+                }
+                return elements;
+            }
+        }.start();
+    }
+
+    /**
+     * Iterate over all members with scores of a sorted set.
+     *
+     * @param connection the connection
+     * @param key the key
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return iterator over all members with scores.
+     */
+    public static <K, V> ScanIterator<ScoredValue<V>> zscan(RedisSortedSetsAsyncConnection<K, V> connection, K key) {
+        return zscan(connection, key, null);
+    }
+
+    /**
+     * Iterate over all members with scores of a sorted set.
+     *
+     * @param connection the connection
+     * @param key the key
+     * @param scanArgs scan arguments, may be {@literal null}
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return iterator over all members with scores.
+     */
+    public static <K, V> ScanIterator<ScoredValue<V>> zscan(final RedisSortedSetsAsyncConnection<K, V> connection, final K key,
+            final ScanArgs scanArgs) {
+        checkArgument(connection != null, "connection must not be null");
+        return new CursorScanIterator<ScoredValueScanCursor<V>, ScoredValue<V>>(connection) {
+            @Override
+            RedisFuture<ScoredValueScanCursor<V>> requestPage(ScanCursor cursor) {
+                return cursor == null ? connection.zscan(key, scanArgs) : connection.zscan(key, cursor, scanArgs);
+            }
+
+            @Override
+            List<ScoredValue<V>> elements(ScoredValueScanCursor<V> cursor) {
+                return cursor.getValues();
+            }
+        }.start();
+    }
+
+    /**
+     * Elements cannot be removed.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+
+    /**
+     * Iterator over the pages of a single cursor. The first page is requested by {@link #start()}.
+     *
+     * @param <C> Cursor type.
+     * @param <T> Element type.
+     */
+    abstract static class CursorScanIterator<C extends ScanCursor, T> extends ScanIterator<T> {
+
+        private final long timeout;
+        private final TimeUnit unit;
+        private RedisFuture<C> pending;
+        private Iterator<T> page = Collections.<T> emptyList().iterator();
+
+        CursorScanIterator(Object connection) {
+            if (connection instanceof RedisChannelHandler) {
+                RedisChannelHandler<?, ?> handler = (RedisChannelHandler<?, ?>) connection;
+                this.timeout = handler.getTimeout();
+                this.unit = handler.getTimeoutUnit();
+            } else {
+                this.timeout = DEFAULT_TIMEOUT_SECONDS;
+                this.unit = TimeUnit.SECONDS;
+            }
+        }
+
+        /**
+         * Request the first page.
+         *
+         * @return this iterator.
+         */
+        CursorScanIterator<C, T> start() {
+            pending = requestPage(null);
+            return this;
+        }
+
+        /**
+         * Request a page.
+         *
+         * @param cursor the cursor of the previous page, {@literal null} to request the first page
+         * @return the future of the page.
+         */
+        abstract RedisFuture<C> requestPage(ScanCursor cursor);
+
+        /**
+         *
+         * @param cursor the page
+         * @return the elements of the page.
+         */
+        abstract List<T> elements(C cursor);
+
+        @Override
+        public boolean hasNext() {
+            while (!page.hasNext()) {
+                if (pending == null) {
+                    return false;
+                }
+                takePage();
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.next();
+        }
+
+        boolean hasPageElements() {
+            return page.hasNext();
+        }
+
+        boolean isExhausted() {
+            return pending == null && !page.hasNext();
+        }
+
+        boolean isPageReady() {
+            return pending != null && pending.isDone();
+        }
+
+        /**
+         * Wait for the requested page, request the following page and make the elements of the page available.
+         */
+        void takePage() {
+            C cursor = await(pending);
+            pending = cursor.isFinished() ? null : requestPage(cursor);
+            page = elements(cursor).iterator();
+        }
+
+        private C await(RedisFuture<C> future) {
+            C cursor;
+            try {
+                cursor = future.get(timeout, unit);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                throw new RedisCommandTimeoutException();
+            } catch (ExecutionException e) {
+                throw new RedisException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RedisCommandInterruptedException(e);
+            }
+
+            if (future.getError() != null) {
+                throw new RedisCommandExecutionException(future.getError());
+            }
+            return cursor;
+        }
+    }
+
+    /**
+     * Iterator over the keys of multiple nodes. Every node keeps a page request in flight, pages are consumed in the order they
+     * arrive.
+     *
+     * @param <K> Key type.
+     */
+    static class ClusterScanIterator<K> extends ScanIterator<K> {
+
+        private final List<CursorScanIterator<?, K>> nodes;
+        private CursorScanIterator<?, K> current;
+
+        ClusterScanIterator(List<CursorScanIterator<?, K>> nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        public boolean hasNext() {
+            for (;;) {
+                if (current != null && current.hasPageElements()) {
+                    return true;
+                }
+
+                current = null;
+                CursorScanIterator<?, K> candidate = null;
+                for (Iterator<CursorScanIterator<?, K>> iterator = nodes.iterator(); iterator.hasNext();) {
+                    CursorScanIterator<?, K> node = iterator.next();
+                    if (node.isExhausted()) {
+                        iterator.remove();
+                        continue;
+                    }
+
+                    if (node.hasPageElements()) {
+                        candidate = node;
+                        break;
+                    }
+
+                    if (candidate == null || (node.isPageReady() && !candidate.isPageReady())) {
+                        candidate = node;
+                    }
+                }
+
+                if (candidate == null) {
+                    return false;
+                }
+
+                if (!candidate.hasPageElements()) {
+                    candidate.takePage();
+                }
+                current = candidate;
+            }
+        }
+
+        @Override
+        public K next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+    }
+}
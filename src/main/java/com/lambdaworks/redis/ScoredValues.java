@@ -0,0 +1,97 @@
+package com.lambdaworks.redis;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Values and their associated scores from a ZSET, held in parallel arrays instead of a {@link ScoredValue} per element. The
+ * scores are kept as primitive {@code double} values.
+ *
+ * @param <V> Value type.
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+public class ScoredValues<V> {
+
+    private final Object[] values;
+    private final double[] scores;
+
+    /**
+     * Create new {@link ScoredValues} backed by {@code values} and {@code scores}. The arrays are not copied.
+     *
+     * @param values the values
+     * @param scores the scores, must have the same length as {@code values}
+     */
+    public ScoredValues(Object[] values, double[] scores) {
+        if (values.length != scores.length) {
+            throw new IllegalArgumentException("values and scores must have the same length");
+        }
+        this.values = values;
+        this.scores = scores;
+    }
+
+    /**
+     *
+     * @return the number of elements.
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     *
+     * @param index index of the element
+     * @return the value at {@code index}.
+     */
+    @SuppressWarnings("unchecked")
+    public V getValue(int index) {
+        return (V) values[index];
+    }
+
+    /**
+     *
+     * @param index index of the element
+     * @return the score at {@code index}.
+     */
+    public double getScore(int index) {
+        return scores[index];
+    }
+
+    /**
+     *
+     * @return the scores. The array is not copied.
+     */
+    public double[] getScores() {
+        return scores;
+    }
+
+    /**
+     *
+     * @return read-only list view of the values.
+     */
+    public List<V> getValues() {
+        return new AbstractList<V>() {
+            @Override
+            public V get(int index) {
+                return getValue(index);
+            }
+
+            @Override
+            public int size() {
+                return values.length;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < values.length; i++) {
+            if (i != 0) {
+                sb.append(", ");
+            }
+            sb.append(String.format("(%f, %s)", scores[i], values[i]));
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -15,6 +15,11 @@ public class ClusterClientOptions extends ClientOptions {
     private final TimeUnit refreshPeriodUnit;
     private final boolean closeStaleConnections;
     private final boolean validateClusterNodeMembership;
+    private final boolean adaptiveRefresh;
+    private final long adaptiveRefreshTimeout;
+    private final TimeUnit adaptiveRefreshTimeoutUnit;
+    private final int refreshTriggersReconnectAttempts;
+    private final int refreshTriggersAskRedirections;
 
     /**
      * Create a copy of {@literal options}.
@@ -36,6 +41,11 @@ public class ClusterClientOptions extends ClientOptions {
         private TimeUnit refreshPeriodUnit = TimeUnit.SECONDS;
         private boolean closeStaleConnections = true;
         private boolean validateClusterNodeMembership = true;
+        private boolean adaptiveRefresh = false;
+        private long adaptiveRefreshTimeout = 30;
+        private TimeUnit adaptiveRefreshTimeoutUnit = TimeUnit.SECONDS;
+        private int refreshTriggersReconnectAttempts = 5;
+        private int refreshTriggersAskRedirections = 5;
 
         /**
          * Enable regular cluster topology updates. The client starts updating the cluster topology in the intervals of
@@ -86,6 +96,63 @@ public class ClusterClientOptions extends ClientOptions {
             return this;
         }
 
+        /**
+         * Enable adaptive cluster topology updates. {@literal MOVED} redirections,
+         * {@link #refreshTriggersAskRedirections(int) repeated ASK redirections} and
+         * {@link #refreshTriggersReconnectAttempts(int) repeated reconnect attempts} trigger a topology update, at most once
+         * per {@link #adaptiveRefreshTimeout(long, TimeUnit) adaptive refresh timeout}. Works independently of
+         * {@link #refreshClusterView(boolean) regular updates}. Defaults to {@literal false}.
+         *
+         * @param adaptiveRefresh {@literal true} to enable adaptive topology updates
+         * @return {@code this}
+         * @since 3.4
+         */
+        public Builder adaptiveRefresh(boolean adaptiveRefresh) {
+            this.adaptiveRefresh = adaptiveRefresh;
+            return this;
+        }
+
+        /**
+         * Set the minimal time between two adaptive topology updates. Defaults to {@literal 30 SECONDS}.
+         *
+         * @param timeout minimal time between adaptive topology updates
+         * @param unit unit for {@code timeout}
+         * @return {@code this}
+         * @since 3.4
+         */
+        public Builder adaptiveRefreshTimeout(long timeout, TimeUnit unit) {
+            this.adaptiveRefreshTimeout = timeout;
+            this.adaptiveRefreshTimeoutUnit = unit;
+            return this;
+        }
+
+        /**
+         * Set the number of reconnect attempts of a connection after which an adaptive topology update is triggered. Defaults
+         * to {@literal 5}.
+         *
+         * @param refreshTriggersReconnectAttempts number of reconnect attempts
+         * @return {@code this}
+         * @since 3.4
+         */
+        public Builder refreshTriggersReconnectAttempts(int refreshTriggersReconnectAttempts) {
+            this.refreshTriggersReconnectAttempts = refreshTriggersReconnectAttempts;
+            return this;
+        }
+
+        /**
+         * Set the number of {@literal ASK} redirections within one {@link #adaptiveRefreshTimeout(long, TimeUnit) adaptive
+         * refresh timeout} after which an adaptive topology update is triggered. A single {@literal ASK} redirection is
+         * expected while a slot is migrated and does not indicate a changed topology. Defaults to {@literal 5}.
+         *
+         * @param refreshTriggersAskRedirections number of {@literal ASK} redirections
+         * @return {@code this}
+         * @since 3.4
+         */
+        public Builder refreshTriggersAskRedirections(int refreshTriggersAskRedirections) {
+            this.refreshTriggersAskRedirections = refreshTriggersAskRedirections;
+            return this;
+        }
+
         /**
          * Create a new instance of {@link ClusterClientOptions}
          *
@@ -103,6 +170,11 @@ public class ClusterClientOptions extends ClientOptions {
         this.refreshPeriodUnit = builder.refreshPeriodUnit;
         this.closeStaleConnections = builder.closeStaleConnections;
         this.validateClusterNodeMembership = builder.validateClusterNodeMembership;
+        this.adaptiveRefresh = builder.adaptiveRefresh;
+        this.adaptiveRefreshTimeout = builder.adaptiveRefreshTimeout;
+        this.adaptiveRefreshTimeoutUnit = builder.adaptiveRefreshTimeoutUnit;
+        this.refreshTriggersReconnectAttempts = builder.refreshTriggersReconnectAttempts;
+        this.refreshTriggersAskRedirections = builder.refreshTriggersAskRedirections;
     }
 
     protected ClusterClientOptions(ClusterClientOptions original) {
@@ -112,6 +184,11 @@ public class ClusterClientOptions extends ClientOptions {
         this.refreshPeriodUnit = original.refreshPeriodUnit;
         this.closeStaleConnections = original.closeStaleConnections;
         this.validateClusterNodeMembership = original.validateClusterNodeMembership;
+        this.adaptiveRefresh = original.adaptiveRefresh;
+        this.adaptiveRefreshTimeout = original.adaptiveRefreshTimeout;
+        this.adaptiveRefreshTimeoutUnit = original.adaptiveRefreshTimeoutUnit;
+        this.refreshTriggersReconnectAttempts = original.refreshTriggersReconnectAttempts;
+        this.refreshTriggersAskRedirections = original.refreshTriggersAskRedirections;
     }
 
     protected ClusterClientOptions() {
@@ -120,6 +197,11 @@ public class ClusterClientOptions extends ClientOptions {
         this.refreshPeriodUnit = TimeUnit.SECONDS;
         this.closeStaleConnections = true;
         this.validateClusterNodeMembership = true;
+        this.adaptiveRefresh = false;
+        this.adaptiveRefreshTimeout = 30;
+        this.adaptiveRefreshTimeoutUnit = TimeUnit.SECONDS;
+        this.refreshTriggersReconnectAttempts = 5;
+        this.refreshTriggersAskRedirections = 5;
     }
 
     /**
@@ -168,4 +250,58 @@ public class ClusterClientOptions extends ClientOptions {
     public boolean isValidateClusterNodeMembership() {
         return validateClusterNodeMembership;
     }
+
+    /**
+     * Flag, whether adaptive cluster topology updates are enabled. {@literal MOVED} redirections, repeated {@literal ASK}
+     * redirections and repeated reconnect attempts trigger a topology update, at most once per
+     * {@link #getAdaptiveRefreshTimeout()}. Defaults to {@literal false}.
+     *
+     * @return {@literal true} if adaptive topology updates are enabled
+     * @since 3.4
+     */
+    public boolean isAdaptiveRefresh() {
+        return adaptiveRefresh;
+    }
+
+    /**
+     * Minimal time between two adaptive topology updates. Defaults to {@literal 30}.
+     *
+     * @return the minimal time between two adaptive topology updates
+     * @since 3.4
+     */
+    public long getAdaptiveRefreshTimeout() {
+        return adaptiveRefreshTimeout;
+    }
+
+    /**
+     * Unit for the {@link #getAdaptiveRefreshTimeout()}. Defaults to {@link TimeUnit#SECONDS}.
+     *
+     * @return unit for the {@link #getAdaptiveRefreshTimeout()}
+     * @since 3.4
+     */
+    public TimeUnit getAdaptiveRefreshTimeoutUnit() {
+        return adaptiveRefreshTimeoutUnit;
+    }
+
+    /**
+     * Number of reconnect attempts of a connection after which an adaptive topology update is triggered. Defaults to
+     * {@literal 5}.
+     *
+     * @return number of reconnect attempts
+     * @since 3.4
+     */
+    public int getRefreshTriggersReconnectAttempts() {
+        return refreshTriggersReconnectAttempts;
+    }
+
+    /**
+     * Number of {@literal ASK} redirections within one {@link #getAdaptiveRefreshTimeout()} after which an adaptive topology
+     * update is triggered. Defaults to {@literal 5}.
+     *
+     * @return number of {@literal ASK} redirections
+     * @since 3.4
+     */
+    public int getRefreshTriggersAskRedirections() {
+        return refreshTriggersAskRedirections;
+    }
 }
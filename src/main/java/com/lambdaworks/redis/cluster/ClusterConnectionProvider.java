@@ -15,7 +15,8 @@ import com.lambdaworks.redis.cluster.models.partitions.Partitions;
 interface ClusterConnectionProvider extends Closeable {
     /**
      * Provide a connection for the intent and cluster slot. The underlying connection is bound to the nodeId. If the slot
-     * responsibility changes, the connection will not point to the updated nodeId.
+     * responsibility changes, the connection will not point to the updated nodeId. Connections for the {@literal READ} intent
+     * are selected according to the {@link #setReadFrom(ReadFrom) read setting}.
      * 
      * @param intent Connection intent {@literal READ} or {@literal WRITE}
      * @param slot the slot-hash of the key, see {@link SlotHash}
@@ -87,6 +88,29 @@ interface ClusterConnectionProvider extends Closeable {
      */
     void flushCommands();
 
+    /**
+     * Route the slot to the node at {@code host} and {@code port} after a {@literal MOVED} redirection. The change is kept
+     * until the partitions are reloaded. Nodes that are not part of the partitions are ignored.
+     *
+     * @param slot the slot
+     * @param host the host of the node serving the slot
+     * @param port the port of the node serving the slot
+     */
+    void updateSlot(int slot, String host, int port);
+
+    /**
+     * Set from which nodes connections for the {@literal READ} intent are provided.
+     *
+     * @param readFrom the read setting, must not be {@literal null}
+     */
+    void setReadFrom(ReadFrom readFrom);
+
+    /**
+     *
+     * @return the read setting.
+     */
+    ReadFrom getReadFrom();
+
     public static enum Intent {
         READ, WRITE;
     }
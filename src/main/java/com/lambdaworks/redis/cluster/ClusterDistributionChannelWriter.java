@@ -28,6 +28,7 @@ class ClusterDistributionChannelWriter<K, V> implements RedisChannelWriter<K, V>
 
     private RedisChannelWriter<K, V> defaultWriter;
     private ClusterConnectionProvider clusterConnectionProvider;
+    private ClusterEventListener clusterEventListener = ClusterEventListener.NO_OP;
     private boolean closed = false;
     private int executionLimit = 5;
 
@@ -55,8 +56,15 @@ class ClusterDistributionChannelWriter<K, V> implements RedisChannelWriter<K, V>
             ClusterCommand<K, V, T> clusterCommand = (ClusterCommand<K, V, T>) commandToSend;
             if (!clusterCommand.isDone()) {
                 if (clusterCommand.isMoved()) {
-                    HostAndPort moveTarget = getMoveTarget(clusterCommand.getError());
+                    List<String> movedMessageParts = getMovedMessageParts(clusterCommand.getError());
+                    HostAndPort moveTarget = HostAndPort.fromString(movedMessageParts.get(2));
                     commandToSend.getOutput().setError((String) null);
+
+                    // route further commands for the slot to the new node until the topology is reloaded
+                    clusterConnectionProvider.updateSlot(Integer.parseInt(movedMessageParts.get(1)),
+                            moveTarget.getHostText(), moveTarget.getPort());
+                    clusterEventListener.onMovedRedirection();
+
                     RedisAsyncConnectionImpl<K, V> connection = clusterConnectionProvider.getConnection(
                             ClusterConnectionProvider.Intent.WRITE, moveTarget.getHostText(), moveTarget.getPort());
                     channelWriter = connection.getChannelWriter();
@@ -71,6 +79,7 @@ class ClusterDistributionChannelWriter<K, V> implements RedisChannelWriter<K, V>
 
                     // set asking bit
                     connection.asking();
+                    clusterEventListener.onAskRedirection();
                 }
             }
         }
@@ -78,8 +87,7 @@ class ClusterDistributionChannelWriter<K, V> implements RedisChannelWriter<K, V>
         byte encodedKey[] = args.getEncodedKey();
         if (channelWriter == null && args != null && encodedKey != null) {
             int hash = getHash(encodedKey);
-            RedisAsyncConnectionImpl<K, V> connection = clusterConnectionProvider.getConnection(
-                    ClusterConnectionProvider.Intent.WRITE, hash);
+            RedisAsyncConnectionImpl<K, V> connection = clusterConnectionProvider.getConnection(getIntent(command), hash);
             channelWriter = connection.getChannelWriter();
         }
 
@@ -95,7 +103,22 @@ class ClusterDistributionChannelWriter<K, V> implements RedisChannelWriter<K, V>
         return defaultWriter.write(commandToSend);
     }
 
-    private HostAndPort getMoveTarget(String errorMessage) {
+    /**
+     * Read-only commands outside of transactions can be served by slaves, all other commands are sent to the master.
+     */
+    private ClusterConnectionProvider.Intent getIntent(RedisCommand<K, V, ?> command) {
+
+        if (command instanceof Command) {
+            Command<K, V, ?> singleCommand = (Command<K, V, ?>) command;
+            if (!singleCommand.isMulti() && ReadOnlyCommands.isReadOnlyCommand(singleCommand.getType())) {
+                return ClusterConnectionProvider.Intent.READ;
+            }
+        }
+
+        return ClusterConnectionProvider.Intent.WRITE;
+    }
+
+    private List<String> getMovedMessageParts(String errorMessage) {
 
         checkArgument(LettuceStrings.isNotEmpty(errorMessage), "errorMessage must not be empty");
         checkArgument(errorMessage.startsWith(CommandKeyword.MOVED.name()), "errorMessage must start with "
@@ -104,7 +127,7 @@ class ClusterDistributionChannelWriter<K, V> implements RedisChannelWriter<K, V>
         List<String> movedMessageParts = Splitter.on(' ').splitToList(errorMessage);
         checkArgument(movedMessageParts.size() >= 3, "errorMessage must consist of 3 tokens (" + movedMessageParts + ")");
 
-        return HostAndPort.fromString(movedMessageParts.get(2));
+        return movedMessageParts;
     }
 
     private HostAndPort getAskTarget(String errorMessage) {
@@ -171,4 +194,9 @@ class ClusterDistributionChannelWriter<K, V> implements RedisChannelWriter<K, V>
     public void setClusterConnectionProvider(ClusterConnectionProvider clusterConnectionProvider) {
         this.clusterConnectionProvider = clusterConnectionProvider;
     }
+
+    public void setClusterEventListener(ClusterEventListener clusterEventListener) {
+        checkArgument(clusterEventListener != null, "clusterEventListener must not be null");
+        this.clusterEventListener = clusterEventListener;
+    }
 }
@@ -0,0 +1,33 @@
+package com.lambdaworks.redis.cluster;
+
+/**
+ * Listener for cluster events that indicate a changed cluster topology.
+ *
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+interface ClusterEventListener {
+
+    /**
+     * Listener that ignores all events.
+     */
+    ClusterEventListener NO_OP = new ClusterEventListener() {
+        @Override
+        public void onAskRedirection() {
+        }
+
+        @Override
+        public void onMovedRedirection() {
+        }
+    };
+
+    /**
+     * A command was redirected with {@literal ASK} because its slot is migrating.
+     */
+    void onAskRedirection();
+
+    /**
+     * A command was redirected with {@literal MOVED} because its slot is served by another node.
+     */
+    void onMovedRedirection();
+}
@@ -1,13 +1,21 @@
 package com.lambdaworks.redis.cluster;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.lambdaworks.redis.RedisAsyncConnectionImpl;
 import com.lambdaworks.redis.RedisCommandInterruptedException;
 import com.lambdaworks.redis.RedisFuture;
@@ -29,6 +37,12 @@ class ClusterTopologyRefresh {
     private static final InternalLogger logger = InternalLoggerFactory.getInstance(ClusterTopologyRefresh.class);
     private RedisClusterClient client;
 
+    /**
+     * Connections used only by the refresh, reused across refreshes. They are closed on client shutdown.
+     */
+    private final Map<RedisURI, RedisAsyncConnectionImpl<?, ?>> refreshConnections = Maps
+            .newTreeMap(RedisUriComparator.INSTANCE);
+
     public ClusterTopologyRefresh(RedisClusterClient client) {
         this.client = client;
     }
@@ -98,41 +112,114 @@ class ClusterTopologyRefresh {
     }
 
     /**
-     * Load partition views from a collection of {@link RedisURI}s and return the view per {@link RedisURI}
+     * Load partition views from a collection of {@link RedisURI}s and return the view per {@link RedisURI}. The nodes of each
+     * view are ordered by the latency of their {@literal CLUSTER NODES} response, nearest first. Connections of previous
+     * refreshes are reused, other nodes are connected concurrently. Connections that are handed out to users are never used
+     * so the refresh cannot interfere with their transactions or blocking commands.
      *
      * @param seed collection of {@link RedisURI}s
      * @return mapping between {@link RedisURI} and {@link Partitions}
      */
     public Map<RedisURI, Partitions> loadViews(Collection<RedisURI> seed) {
 
-        Map<RedisURI, RedisAsyncConnectionImpl<String, String>> connections = getConnections(seed);
-        Map<RedisURI, RedisFuture<String>> rawViews = requestViews(connections);
-        Map<RedisURI, Partitions> nodeSpecificViews = getNodeSpecificViews(rawViews);
-        close(connections);
+        Map<RedisURI, Long> latencies = Maps.newTreeMap(RedisUriComparator.INSTANCE);
+        latencies = Collections.synchronizedMap(latencies);
+
+        Map<RedisURI, Partitions> nodeSpecificViews;
+        synchronized (refreshConnections) {
+            Map<RedisURI, RedisAsyncConnectionImpl<?, ?>> connections = getRefreshConnections(seed);
+            Map<RedisURI, RedisFuture<String>> rawViews = requestViews(connections, latencies);
+            nodeSpecificViews = getNodeSpecificViews(rawViews);
+            evictUnresponsive(rawViews);
+        }
+
+        for (Partitions partitions : nodeSpecificViews.values()) {
+            sortByLatency(partitions, latencies);
+        }
 
         return nodeSpecificViews;
     }
 
+    /*
+     * Retain the open refresh connections to the seed nodes and connect the remaining nodes. Connections to nodes that are no
+     * longer part of the seed are closed. Must be called while holding the refreshConnections lock.
+     */
+    protected Map<RedisURI, RedisAsyncConnectionImpl<?, ?>> getRefreshConnections(Collection<RedisURI> seed) {
+
+        Map<RedisURI, RedisAsyncConnectionImpl<?, ?>> connections = Maps.newTreeMap(RedisUriComparator.INSTANCE);
+        for (RedisURI redisURI : seed) {
+            RedisAsyncConnectionImpl<?, ?> connection = refreshConnections.get(redisURI);
+            if (connection != null && connection.isOpen()) {
+                connections.put(redisURI, connection);
+            }
+        }
+
+        Map<RedisURI, RedisAsyncConnectionImpl<?, ?>> stale = Maps.newTreeMap(RedisUriComparator.INSTANCE);
+        stale.putAll(refreshConnections);
+        stale.keySet().removeAll(connections.keySet());
+        close(stale);
+
+        List<RedisURI> unconnected = Lists.newArrayList();
+        for (RedisURI redisURI : seed) {
+            if (!connections.containsKey(redisURI)) {
+                unconnected.add(redisURI);
+            }
+        }
+        connections.putAll(getConnections(unconnected));
+
+        refreshConnections.clear();
+        refreshConnections.putAll(connections);
+        return connections;
+    }
+
+    /**
+     * Order the nodes by their latency. Nodes without a measured latency are moved to the end.
+     *
+     * @param partitions the partitions
+     * @param latencies latency in nanoseconds per {@link RedisURI}
+     */
+    protected void sortByLatency(Partitions partitions, final Map<RedisURI, Long> latencies) {
+
+        Collections.sort(partitions.getPartitions(), new Comparator<RedisClusterNode>() {
+            @Override
+            public int compare(RedisClusterNode o1, RedisClusterNode o2) {
+                Long l1 = o1.getUri() != null ? latencies.get(o1.getUri()) : null;
+                Long l2 = o2.getUri() != null ? latencies.get(o2.getUri()) : null;
+
+                if (l1 == null || l2 == null) {
+                    return l1 == null ? (l2 == null ? 0 : 1) : -1;
+                }
+                return l1.compareTo(l2);
+            }
+        });
+    }
+
+    /**
+     * Parse the views that complete until a deadline shared by all views. Views that completed are collected even after the
+     * deadline passed.
+     *
+     * @param rawViews the {@literal CLUSTER NODES} responses per {@link RedisURI}
+     * @return mapping between {@link RedisURI} and {@link Partitions}
+     */
     protected Map<RedisURI, Partitions> getNodeSpecificViews(Map<RedisURI, RedisFuture<String>> rawViews) {
         Map<RedisURI, Partitions> nodeSpecificViews = Maps.newTreeMap(RedisUriComparator.INSTANCE);
-        long timeout = client.getFirstUri().getUnit().toNanos(client.getFirstUri().getTimeout());
-        long waitTime = 0;
+        long deadline = System.nanoTime() + client.getFirstUri().getUnit().toNanos(client.getFirstUri().getTimeout());
         for (Map.Entry<RedisURI, RedisFuture<String>> entry : rawViews.entrySet()) {
-            long timeoutLeft = timeout - waitTime;
-
-            if (timeoutLeft <= 0) {
-                break;
-            }
 
-            long startWait = System.nanoTime();
             RedisFuture<String> future = entry.getValue();
 
             try {
 
-                if (!future.await(timeoutLeft, TimeUnit.NANOSECONDS)) {
-                    break;
+                long timeoutLeft = deadline - System.nanoTime();
+                if (!future.isDone() && (timeoutLeft <= 0 || !future.await(timeoutLeft, TimeUnit.NANOSECONDS))) {
+                    logger.warn("Cannot retrieve partition view from " + entry.getKey() + " within the timeout");
+                    continue;
+                }
+
+                if (future.getError() != null) {
+                    logger.warn("Cannot retrieve partition view from " + entry.getKey() + ": " + future.getError());
+                    continue;
                 }
-                waitTime += System.nanoTime() - startWait;
 
                 String raw = future.get();
                 Partitions partitions = ClusterPartitionParser.parse(raw);
@@ -155,44 +242,121 @@ class ClusterTopologyRefresh {
     }
 
     /*
-     * Async request of views.
+     * Close the refresh connections of nodes that did not respond to CLUSTER NODES in time. A half-open or stuck connection
+     * would otherwise delay every following refresh by the full timeout. Must be called while holding the refreshConnections
+     * lock.
      */
-    protected Map<RedisURI, RedisFuture<String>> requestViews(
-            Map<RedisURI, RedisAsyncConnectionImpl<String, String>> connections) {
+    private void evictUnresponsive(Map<RedisURI, RedisFuture<String>> rawViews) {
+
+        for (Map.Entry<RedisURI, RedisFuture<String>> entry : rawViews.entrySet()) {
+            if (entry.getValue().isDone()) {
+                continue;
+            }
+
+            RedisAsyncConnectionImpl<?, ?> connection = refreshConnections.remove(entry.getKey());
+            if (connection != null && !connection.isClosed()) {
+                connection.close();
+            }
+        }
+    }
+
+    /*
+     * Async request of views. The latency of each successful response is put into latencies.
+     */
+    protected Map<RedisURI, RedisFuture<String>> requestViews(Map<RedisURI, RedisAsyncConnectionImpl<?, ?>> connections,
+            final Map<RedisURI, Long> latencies) {
         Map<RedisURI, RedisFuture<String>> rawViews = Maps.newTreeMap(RedisUriComparator.INSTANCE);
-        for (Map.Entry<RedisURI, RedisAsyncConnectionImpl<String, String>> entry : connections.entrySet()) {
-            rawViews.put(entry.getKey(), entry.getValue().clusterNodes());
+        for (Map.Entry<RedisURI, RedisAsyncConnectionImpl<?, ?>> entry : connections.entrySet()) {
+
+            final RedisURI redisURI = entry.getKey();
+            final long start = System.nanoTime();
+            final RedisFuture<String> future;
+
+            try {
+                future = entry.getValue().clusterNodes();
+            } catch (RuntimeException e) {
+                logger.warn("Cannot request partition view from " + redisURI, e);
+                continue;
+            }
+
+            future.addListener(new Runnable() {
+                @Override
+                public void run() {
+                    if (future.getError() == null) {
+                        latencies.put(redisURI, System.nanoTime() - start);
+                    }
+                }
+            }, MoreExecutors.sameThreadExecutor());
+
+            rawViews.put(redisURI, future);
         }
         return rawViews;
     }
 
-    protected void close(Map<RedisURI, RedisAsyncConnectionImpl<String, String>> connections) {
-        for (RedisAsyncConnectionImpl<String, String> connection : connections.values()) {
-            connection.close();
+    protected void close(Map<RedisURI, RedisAsyncConnectionImpl<?, ?>> connections) {
+        for (RedisAsyncConnectionImpl<?, ?> connection : connections.values()) {
+            if (!connection.isClosed()) {
+                connection.close();
+            }
         }
     }
 
     /*
-     * Open connections where an address can be resolved.
+     * Open connections where an address can be resolved. All connections are opened concurrently and awaited until a deadline
+     * shared by all connections, connections that are established after the deadline are closed.
      */
-    protected Map<RedisURI, RedisAsyncConnectionImpl<String, String>> getConnections(Collection<RedisURI> seed) {
-        Map<RedisURI, RedisAsyncConnectionImpl<String, String>> connections = Maps.newTreeMap(RedisUriComparator.INSTANCE);
+    protected Map<RedisURI, RedisAsyncConnectionImpl<?, ?>> getConnections(Collection<RedisURI> seed) {
 
+        Map<RedisURI, ListenableFuture<RedisAsyncConnectionImpl<String, String>>> futures = Maps
+                .newTreeMap(RedisUriComparator.INSTANCE);
         for (RedisURI redisURI : seed) {
             if (redisURI.getResolvedAddress() == null) {
                 continue;
             }
 
             try {
-                RedisAsyncConnectionImpl<String, String> connection = client.connectAsyncImpl(redisURI.getResolvedAddress());
-                connections.put(redisURI, connection);
+                futures.put(redisURI, client.connectNodeAsync(redisURI.getResolvedAddress()));
             } catch (RuntimeException e) {
                 logger.warn("Cannot connect to " + redisURI, e);
             }
         }
+
+        Map<RedisURI, RedisAsyncConnectionImpl<?, ?>> connections = Maps.newTreeMap(RedisUriComparator.INSTANCE);
+        long deadline = System.nanoTime() + client.getFirstUri().getUnit().toNanos(client.getFirstUri().getTimeout());
+
+        for (Map.Entry<RedisURI, ListenableFuture<RedisAsyncConnectionImpl<String, String>>> entry : futures.entrySet()) {
+            try {
+                long timeoutLeft = Math.max(0, deadline - System.nanoTime());
+                connections.put(entry.getKey(), entry.getValue().get(timeoutLeft, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                logger.warn("Cannot connect to " + entry.getKey() + " within the timeout");
+                closeWhenConnected(entry.getValue());
+            } catch (ExecutionException e) {
+                logger.warn("Cannot connect to " + entry.getKey(), e.getCause());
+            } catch (InterruptedException e) {
+                for (ListenableFuture<RedisAsyncConnectionImpl<String, String>> future : futures.values()) {
+                    closeWhenConnected(future);
+                }
+                Thread.currentThread().interrupt();
+                throw new RedisCommandInterruptedException(e);
+            }
+        }
         return connections;
     }
 
+    private void closeWhenConnected(ListenableFuture<RedisAsyncConnectionImpl<String, String>> future) {
+        Futures.addCallback(future, new FutureCallback<RedisAsyncConnectionImpl<String, String>>() {
+            @Override
+            public void onSuccess(RedisAsyncConnectionImpl<String, String> connection) {
+                connection.close();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+            }
+        });
+    }
+
     /**
      * Resolve a {@link RedisURI} from a map of cluster views by {@link Partitions} as key
      *
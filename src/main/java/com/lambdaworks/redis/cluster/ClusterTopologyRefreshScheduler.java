@@ -0,0 +1,116 @@
+package com.lambdaworks.redis.cluster;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.base.Supplier;
+import com.lambdaworks.redis.ConnectionEvents;
+import com.lambdaworks.redis.protocol.ReconnectionListener;
+
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+/**
+ * Scheduler for adaptive cluster topology updates. {@literal MOVED} redirections, repeated {@literal ASK} redirections and
+ * repeated reconnect attempts indicate a changed topology and trigger a topology update if
+ * {@link ClusterClientOptions#isAdaptiveRefresh() adaptive refresh} is enabled. Updates are
+ * triggered at most once per {@link ClusterClientOptions#getAdaptiveRefreshTimeout() adaptive refresh timeout}, further
+ * signals within the timeout are dropped.
+ *
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+class ClusterTopologyRefreshScheduler implements ClusterEventListener, ReconnectionListener {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(ClusterTopologyRefreshScheduler.class);
+
+    private final Supplier<ClusterClientOptions> clientOptions;
+    private final Runnable refreshTask;
+
+    /**
+     * {@link System#nanoTime()} of the last triggered update, {@literal 0} if no update was triggered yet.
+     */
+    private final AtomicLong lastRefresh = new AtomicLong();
+
+    /**
+     * Number of {@literal ASK} redirections since {@link #askWindowStart}, the {@link System#nanoTime()} the counting started.
+     */
+    private final AtomicInteger askRedirections = new AtomicInteger();
+    private final AtomicLong askWindowStart = new AtomicLong();
+
+    /**
+     * Initialize a new scheduler.
+     *
+     * @param clientOptions supplier for the current client options
+     * @param refreshTask task that schedules the topology update
+     */
+    ClusterTopologyRefreshScheduler(Supplier<ClusterClientOptions> clientOptions, Runnable refreshTask) {
+        this.clientOptions = clientOptions;
+        this.refreshTask = refreshTask;
+    }
+
+    @Override
+    public void onAskRedirection() {
+
+        ClusterClientOptions options = clientOptions.get();
+        if (options == null || !options.isAdaptiveRefresh()) {
+            return;
+        }
+
+        long window = options.getAdaptiveRefreshTimeoutUnit().toNanos(options.getAdaptiveRefreshTimeout());
+        long now = System.nanoTime();
+        long start = askWindowStart.get();
+
+        if ((start == 0 || now - start >= window) && askWindowStart.compareAndSet(start, now)) {
+            askRedirections.set(0);
+        }
+
+        if (askRedirections.incrementAndGet() >= options.getRefreshTriggersAskRedirections()) {
+            askRedirections.set(0);
+            indicateTopologyRefreshSignal();
+        }
+    }
+
+    @Override
+    public void onMovedRedirection() {
+        indicateTopologyRefreshSignal();
+    }
+
+    @Override
+    public void onReconnect(ConnectionEvents.Reconnect reconnect) {
+
+        ClusterClientOptions options = clientOptions.get();
+        if (options != null && reconnect.getAttempt() >= options.getRefreshTriggersReconnectAttempts()) {
+            indicateTopologyRefreshSignal();
+        }
+    }
+
+    /**
+     * Trigger a topology update unless adaptive refresh is disabled or an update was triggered within the timeout.
+     *
+     * @return {@literal true} if a topology update was triggered.
+     */
+    boolean indicateTopologyRefreshSignal() {
+
+        ClusterClientOptions options = clientOptions.get();
+        if (options == null || !options.isAdaptiveRefresh()) {
+            return false;
+        }
+
+        long timeout = options.getAdaptiveRefreshTimeoutUnit().toNanos(options.getAdaptiveRefreshTimeout());
+        long now = System.nanoTime();
+        long last = lastRefresh.get();
+
+        if (last != 0 && now - last < timeout) {
+            return false;
+        }
+
+        if (!lastRefresh.compareAndSet(last, now)) {
+            return false;
+        }
+
+        logger.debug("Triggering adaptive cluster topology refresh");
+        refreshTask.run();
+        return true;
+    }
+}
@@ -0,0 +1,128 @@
+package com.lambdaworks.redis.cluster;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.AbstractFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.lambdaworks.redis.RedisCommandInterruptedException;
+import com.lambdaworks.redis.RedisFuture;
+
+/**
+ * Future combining the results of a command that was split into one command per slot. The future completes once all commands
+ * completed, with the result of the {@code aggregation} of the per-slot results, or with the first exception or cancellation of
+ * a command. If a command received an error reply, the future completes with a {@literal null} result and reports the first
+ * error through {@link #getError()}, the same way a single command does. Cancelling the future cancels all commands.
+ *
+ * @param <R> Result type of the per-slot commands.
+ * @param <T> Result type.
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+class MultiSlotFuture<R, T> extends AbstractFuture<T> implements RedisFuture<T> {
+
+    private final Map<Integer, RedisFuture<R>> executions;
+    private final Function<Map<Integer, R>, T> aggregation;
+    private final AtomicInteger pending;
+    private volatile String error;
+
+    /**
+     * Initialize a new future.
+     *
+     * @param executions the commands per slot
+     * @param aggregation function to combine the results per slot
+     */
+    MultiSlotFuture(Map<Integer, RedisFuture<R>> executions, Function<Map<Integer, R>, T> aggregation) {
+        this.executions = executions;
+        this.aggregation = aggregation;
+        this.pending = new AtomicInteger(executions.size());
+
+        Runnable listener = new Runnable() {
+            @Override
+            public void run() {
+                if (pending.decrementAndGet() == 0) {
+                    complete();
+                }
+            }
+        };
+
+        for (RedisFuture<R> future : executions.values()) {
+            future.addListener(listener, MoreExecutors.sameThreadExecutor());
+        }
+    }
+
+    private void complete() {
+
+        Map<Integer, R> results = new LinkedHashMap<Integer, R>();
+        for (Map.Entry<Integer, RedisFuture<R>> entry : executions.entrySet()) {
+            RedisFuture<R> future = entry.getValue();
+
+            if (future.isCancelled()) {
+                cancel(false);
+                return;
+            }
+
+            try {
+                results.put(entry.getKey(), Uninterruptibles.getUninterruptibly(future));
+            } catch (ExecutionException e) {
+                setException(e.getCause());
+                return;
+            }
+
+            if (future.getError() != null && error == null) {
+                error = future.getError();
+            }
+        }
+
+        if (error != null) {
+            set(null);
+            return;
+        }
+
+        try {
+            set(aggregation.apply(results));
+        } catch (RuntimeException e) {
+            setException(e);
+        }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        if (super.cancel(mayInterruptIfRunning)) {
+            for (RedisFuture<R> future : executions.values()) {
+                future.cancel(mayInterruptIfRunning);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public boolean await(long timeout, TimeUnit unit) {
+        try {
+            get(timeout, unit);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RedisCommandInterruptedException(e);
+        } catch (ExecutionException e) {
+            return true;
+        } catch (CancellationException e) {
+            return true;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.lambdaworks.redis.cluster;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -39,8 +43,10 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
     private final LoadingCache<ConnectionKey, RedisAsyncConnectionImpl<K, V>> connections;
     private final boolean debugEnabled;
     private final RedisAsyncConnectionImpl<K, V> writers[] = new RedisAsyncConnectionImpl[SlotHash.SLOT_COUNT];
+    private final RedisAsyncConnectionImpl<K, V> readers[] = new RedisAsyncConnectionImpl[SlotHash.SLOT_COUNT];
     private final RedisClusterClient redisClusterClient;
     private Partitions partitions;
+    private ReadFrom readFrom = ReadFrom.MASTER;
 
     private boolean autoFlushCommands = true;
     private Object stateLock = new Object();
@@ -60,10 +66,16 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
         }
 
         RedisAsyncConnectionImpl<K, V> writer;
+        ReadFrom readFrom;
 
         // avoid races when reconfiguring partitions.
         synchronized (stateLock) {
             writer = writers[slot];
+            readFrom = this.readFrom;
+        }
+
+        if (intent == Intent.READ && readFrom != ReadFrom.MASTER) {
+            return getReadConnection(slot, readFrom);
         }
 
         if (writer == null) {
@@ -73,7 +85,7 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
             }
 
             try {
-                ConnectionKey key = new ConnectionKey(intent, partition.getNodeId());
+                ConnectionKey key = new ConnectionKey(Intent.WRITE, partition.getNodeId());
                 return writers[slot] = connections.get(key);
             } catch (UncheckedExecutionException e) {
                 throw new RedisException(e.getCause());
@@ -84,6 +96,68 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
         return writer;
     }
 
+    /**
+     * Provide a connection to the first node selected by {@code readFrom} from the master of the slot and its slaves. Slaves
+     * are connected with the {@literal READ} intent, masters share the connection for the {@literal WRITE} intent.
+     */
+    private RedisAsyncConnectionImpl<K, V> getReadConnection(int slot, ReadFrom readFrom) {
+
+        RedisAsyncConnectionImpl<K, V> reader;
+        synchronized (stateLock) {
+            reader = readers[slot];
+        }
+
+        if (reader != null) {
+            return reader;
+        }
+
+        RedisClusterNode master = partitions.getPartitionBySlot(slot);
+        if (master == null) {
+            throw new RedisException("Cannot determine a partition for slot " + slot + " (Partitions: " + partitions + ")");
+        }
+
+        List<RedisClusterNode> selection = readFrom.select(getReadCandidates(master));
+        if (selection.isEmpty()) {
+            throw new RedisException("Cannot determine a partition to read slot " + slot + " from using " + readFrom
+                    + " (Partitions: " + partitions + ")");
+        }
+
+        RedisClusterNode node = selection.get(0);
+        Intent intent = node.getFlags().contains(RedisClusterNode.NodeFlag.SLAVE) ? Intent.READ : Intent.WRITE;
+
+        try {
+            ConnectionKey key = new ConnectionKey(intent, node.getNodeId());
+            return readers[slot] = connections.get(key);
+        } catch (UncheckedExecutionException e) {
+            throw new RedisException(e.getCause());
+        } catch (Exception e) {
+            throw new RedisException(e);
+        }
+    }
+
+    /**
+     * Collect the master and its slaves that are not failing in the order of the partitions.
+     */
+    private List<RedisClusterNode> getReadCandidates(RedisClusterNode master) {
+
+        List<RedisClusterNode> candidates = new ArrayList<RedisClusterNode>();
+        for (RedisClusterNode node : partitions) {
+
+            if (!node.equals(master) && !master.getNodeId().equals(node.getSlaveOf())) {
+                continue;
+            }
+
+            Set<RedisClusterNode.NodeFlag> flags = node.getFlags();
+            if (flags.contains(RedisClusterNode.NodeFlag.FAIL) || flags.contains(RedisClusterNode.NodeFlag.EVENTUAL_FAIL)
+                    || flags.contains(RedisClusterNode.NodeFlag.NOADDR)) {
+                continue;
+            }
+
+            candidates.add(node);
+        }
+        return candidates;
+    }
+
     @Override
     public RedisAsyncConnectionImpl<K, V> getConnection(Intent intent, String nodeId) {
         if (debugEnabled) {
@@ -124,6 +198,21 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
         }
     }
 
+    @Override
+    public void updateSlot(int slot, String host, int port) {
+
+        synchronized (stateLock) {
+            RedisClusterNode partition = getPartition(host, port);
+            if (partition == null) {
+                return;
+            }
+
+            partitions.setPartitionBySlot(slot, partition);
+            writers[slot] = null;
+            readers[slot] = null;
+        }
+    }
+
     private RedisClusterNode getPartition(String host, int port) {
         for (RedisClusterNode partition : partitions) {
             RedisURI uri = partition.getUri();
@@ -252,6 +341,29 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
         }
     }
 
+    /**
+     * Set the read setting. Synchronize on {@code stateLock} to initiate a happens-before relation and clear the thread caches
+     * of other threads.
+     *
+     * @param readFrom the read setting.
+     */
+    @Override
+    public void setReadFrom(ReadFrom readFrom) {
+        checkArgument(readFrom != null, "readFrom must not be null");
+
+        synchronized (stateLock) {
+            this.readFrom = readFrom;
+            Arrays.fill(readers, null);
+        }
+    }
+
+    @Override
+    public ReadFrom getReadFrom() {
+        synchronized (stateLock) {
+            return readFrom;
+        }
+    }
+
     /**
      *
      * @return number of connections.
@@ -268,6 +380,7 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
     protected void resetWriterCache() {
         synchronized (stateLock) {
             Arrays.fill(writers, null);
+            Arrays.fill(readers, null);
         }
     }
 
@@ -395,6 +508,11 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
                         getSocketAddressSupplier(key));
             }
 
+            if (key.intent == Intent.READ) {
+                // slaves redirect reads to their master unless the connection is in read-only mode
+                connection.readOnly();
+            }
+
             synchronized (stateLock) {
                 connection.getChannelWriter().setAutoFlushCommands(autoFlushCommands);
             }
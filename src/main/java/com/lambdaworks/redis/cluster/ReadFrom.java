@@ -0,0 +1,108 @@
+package com.lambdaworks.redis.cluster;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
+
+/**
+ * Defines from which cluster nodes read-only commands with a key are served. The master of the slot and its slaves are
+ * candidates for reads. Commands within a transaction and commands that change data are always sent to the master.
+ *
+ * <p>
+ * Reading from slaves can return stale data because replication is asynchronous. Connections to slaves are switched to
+ * {@literal READONLY} mode.
+ * </p>
+ *
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+public abstract class ReadFrom {
+
+    /**
+     * Read from the master of the slot. This is the default.
+     */
+    public static final ReadFrom MASTER = new ReadFrom("MASTER") {
+        @Override
+        public List<RedisClusterNode> select(List<RedisClusterNode> nodes) {
+            return filter(nodes, RedisClusterNode.NodeFlag.MASTER);
+        }
+    };
+
+    /**
+     * Read from the master of the slot and fall back to its slaves if the master is not available.
+     */
+    public static final ReadFrom MASTER_PREFERRED = new ReadFrom("MASTER_PREFERRED") {
+        @Override
+        public List<RedisClusterNode> select(List<RedisClusterNode> nodes) {
+            List<RedisClusterNode> result = filter(nodes, RedisClusterNode.NodeFlag.MASTER);
+            result.addAll(filter(nodes, RedisClusterNode.NodeFlag.SLAVE));
+            return result;
+        }
+    };
+
+    /**
+     * Read from the slaves of the slot only.
+     */
+    public static final ReadFrom SLAVE = new ReadFrom("SLAVE") {
+        @Override
+        public List<RedisClusterNode> select(List<RedisClusterNode> nodes) {
+            return filter(nodes, RedisClusterNode.NodeFlag.SLAVE);
+        }
+    };
+
+    /**
+     * Read from the node of the slot with the lowest latency, either the master or one of its slaves.
+     */
+    public static final ReadFrom NEAREST = new ReadFrom("NEAREST") {
+        @Override
+        public List<RedisClusterNode> select(List<RedisClusterNode> nodes) {
+            return new ArrayList<RedisClusterNode>(nodes);
+        }
+    };
+
+    private final String name;
+
+    /**
+     * Create a new read setting.
+     *
+     * @param name the name of the setting
+     */
+    protected ReadFrom(String name) {
+        checkArgument(name != null, "name must not be null");
+        this.name = name;
+    }
+
+    /**
+     * Select the nodes to read from in the order of preference. Commands are sent to the first selected node.
+     *
+     * @param nodes the available master and slaves of a slot ordered by their latency, nearest first
+     * @return the nodes to read from, must not be {@literal null}
+     */
+    public abstract List<RedisClusterNode> select(List<RedisClusterNode> nodes);
+
+    /**
+     *
+     * @return the name of the setting.
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private static List<RedisClusterNode> filter(List<RedisClusterNode> nodes, RedisClusterNode.NodeFlag flag) {
+        List<RedisClusterNode> result = new ArrayList<RedisClusterNode>(nodes.size());
+        for (RedisClusterNode node : nodes) {
+            if (node.getFlags() != null && node.getFlags().contains(flag)) {
+                result.add(node);
+            }
+        }
+        return result;
+    }
+}
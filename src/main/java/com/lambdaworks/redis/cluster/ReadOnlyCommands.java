@@ -0,0 +1,44 @@
+package com.lambdaworks.redis.cluster;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.lambdaworks.redis.protocol.CommandType;
+import com.lambdaworks.redis.protocol.ProtocolKeyword;
+
+/**
+ * Commands with keys that only read data and can be served by slaves. Commands with an optional {@literal STORE} argument such
+ * as {@literal SORT} and {@literal GEORADIUS} are not read-only.
+ *
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+class ReadOnlyCommands {
+
+    private static final Set<CommandType> READ_ONLY_COMMANDS = EnumSet.of(CommandType.BITCOUNT, CommandType.BITPOS,
+            CommandType.DUMP, CommandType.EXISTS, CommandType.GEODIST, CommandType.GEOPOS, CommandType.GET,
+            CommandType.GETBIT, CommandType.GETRANGE, CommandType.HEXISTS, CommandType.HGET, CommandType.HGETALL,
+            CommandType.HKEYS, CommandType.HLEN, CommandType.HMGET, CommandType.HSCAN, CommandType.HSTRLEN, CommandType.HVALS,
+            CommandType.LINDEX, CommandType.LLEN, CommandType.LRANGE, CommandType.MGET, CommandType.PFCOUNT,
+            CommandType.PTTL, CommandType.SCARD, CommandType.SDIFF, CommandType.SINTER, CommandType.SISMEMBER,
+            CommandType.SMEMBERS, CommandType.SRANDMEMBER, CommandType.SSCAN, CommandType.STRLEN, CommandType.SUNION,
+            CommandType.TTL, CommandType.TYPE, CommandType.ZCARD, CommandType.ZCOUNT, CommandType.ZLEXCOUNT,
+            CommandType.ZRANGE, CommandType.ZRANGEBYLEX, CommandType.ZRANGEBYSCORE, CommandType.ZRANK,
+            CommandType.ZREVRANGE, CommandType.ZREVRANGEBYSCORE, CommandType.ZREVRANK, CommandType.ZSCAN, CommandType.ZSCORE);
+
+    /**
+     * Utility constructor.
+     */
+    private ReadOnlyCommands() {
+
+    }
+
+    /**
+     *
+     * @param type the command type
+     * @return {@literal true} if the command only reads data.
+     */
+    static boolean isReadOnlyCommand(ProtocolKeyword type) {
+        return type instanceof CommandType && READ_ONLY_COMMANDS.contains(type);
+    }
+}
@@ -2,6 +2,7 @@ package com.lambdaworks.redis.cluster;
 
 import com.lambdaworks.redis.RedisClusterAsyncConnection;
 import com.lambdaworks.redis.RedisException;
+import com.lambdaworks.redis.cluster.models.partitions.Partitions;
 
 /**
  * Advanced asynchronous cluster API.
@@ -47,4 +48,26 @@ public interface RedisAdvancedClusterAsyncConnection<K, V> extends RedisClusterA
      * @throws RedisException if the requested node identified by {@code host} and {@code port} is not part of the cluster
      */
     RedisClusterAsyncConnection<K, V> getConnection(String host, int port);
+
+    /**
+     * 
+     * @return the current topology view of the cluster.
+     * @since 3.4
+     */
+    Partitions getPartitions();
+
+    /**
+     * Set from which nodes read-only commands with a key are served. Defaults to {@link ReadFrom#MASTER}.
+     *
+     * @param readFrom the read setting, must not be {@literal null}
+     * @since 3.4
+     */
+    void setReadFrom(ReadFrom readFrom);
+
+    /**
+     * 
+     * @return the read setting.
+     * @since 3.4
+     */
+    ReadFrom getReadFrom();
 }
@@ -1,19 +1,33 @@
 package com.lambdaworks.redis.cluster;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import com.google.common.base.Function;
 import com.lambdaworks.redis.RedisAsyncConnectionImpl;
 import com.lambdaworks.redis.RedisChannelWriter;
 import com.lambdaworks.redis.RedisClusterAsyncConnection;
 import com.lambdaworks.redis.RedisException;
+import com.lambdaworks.redis.RedisFuture;
 import com.lambdaworks.redis.RedisURI;
 import com.lambdaworks.redis.cluster.models.partitions.Partitions;
 import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
 import com.lambdaworks.redis.codec.RedisCodec;
+import com.lambdaworks.redis.output.ValueStreamingChannel;
 import io.netty.channel.ChannelHandler;
 
 /**
- * Advanced asynchronous Cluster connection.
+ * Advanced asynchronous Cluster connection. Multi-key commands ({@literal DEL}, {@literal EXISTS}, {@literal MGET} including
+ * its numeric and streaming variants, and {@literal MSET}) with keys in different slots are split into one command per slot
+ * outside of transactions. The commands are sent to their nodes without waiting for each other and their results are combined
+ * in the order of the keys. A split {@literal MSET} is not atomic: other clients can observe the keys of one slot being set
+ * before the keys of another slot, and a failing command leaves the keys of the other slots set.
  * 
  * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
  * @since 3.3
@@ -22,6 +36,17 @@ import io.netty.channel.ChannelHandler;
 public class RedisAdvancedClusterAsyncConnectionImpl<K, V> extends RedisAsyncConnectionImpl<K, V> implements
         RedisAdvancedClusterAsyncConnection<K, V> {
 
+    private static final Function<Map<Integer, Long>, Long> SUM = new Function<Map<Integer, Long>, Long>() {
+        @Override
+        public Long apply(Map<Integer, Long> results) {
+            long sum = 0;
+            for (Long result : results.values()) {
+                sum += result;
+            }
+            return sum;
+        }
+    };
+
     private Partitions partitions;
 
     /**
@@ -42,6 +67,169 @@ public class RedisAdvancedClusterAsyncConnectionImpl<K, V> extends RedisAsyncCon
         return (ClusterDistributionChannelWriter<K, V>) super.getChannelWriter();
     }
 
+    @Override
+    public RedisFuture<Long> del(K... keys) {
+
+        Map<Integer, List<K>> partitioned = SlotHash.partition(codec, Arrays.asList(keys));
+        if (isMulti() || partitioned.size() < 2) {
+            return super.del(keys);
+        }
+
+        Map<Integer, RedisFuture<Long>> executions = new LinkedHashMap<Integer, RedisFuture<Long>>();
+        for (Map.Entry<Integer, List<K>> entry : partitioned.entrySet()) {
+            executions.put(entry.getKey(), super.del(toArray(entry.getValue())));
+        }
+        return new MultiSlotFuture<Long, Long>(executions, SUM);
+    }
+
+    @Override
+    public RedisFuture<Long> exists(K... keys) {
+
+        Map<Integer, List<K>> partitioned = SlotHash.partition(codec, Arrays.asList(keys));
+        if (isMulti() || partitioned.size() < 2) {
+            return super.exists(keys);
+        }
+
+        Map<Integer, RedisFuture<Long>> executions = new LinkedHashMap<Integer, RedisFuture<Long>>();
+        for (Map.Entry<Integer, List<K>> entry : partitioned.entrySet()) {
+            executions.put(entry.getKey(), super.exists(toArray(entry.getValue())));
+        }
+        return new MultiSlotFuture<Long, Long>(executions, SUM);
+    }
+
+    @Override
+    public RedisFuture<List<V>> mget(K... keys) {
+
+        final int[] slots = new int[keys.length];
+        Map<Integer, List<K>> partitioned = SlotHash.partition(codec, Arrays.asList(keys), slots);
+        if (isMulti() || partitioned.size() < 2) {
+            return super.mget(keys);
+        }
+
+        Map<Integer, RedisFuture<List<V>>> executions = new LinkedHashMap<Integer, RedisFuture<List<V>>>();
+        for (Map.Entry<Integer, List<K>> entry : partitioned.entrySet()) {
+            executions.put(entry.getKey(), super.mget(toArray(entry.getValue())));
+        }
+
+        return new MultiSlotFuture<List<V>, List<V>>(executions, new Function<Map<Integer, List<V>>, List<V>>() {
+            @Override
+            public List<V> apply(Map<Integer, List<V>> results) {
+                return inKeyOrder(results, slots);
+            }
+        });
+    }
+
+    @Override
+    public RedisFuture<long[]> mgetAsLongs(K... keys) {
+
+        final int[] slots = new int[keys.length];
+        Map<Integer, List<K>> partitioned = SlotHash.partition(codec, Arrays.asList(keys), slots);
+        if (isMulti() || partitioned.size() < 2) {
+            return super.mgetAsLongs(keys);
+        }
+
+        Map<Integer, RedisFuture<long[]>> executions = new LinkedHashMap<Integer, RedisFuture<long[]>>();
+        for (Map.Entry<Integer, List<K>> entry : partitioned.entrySet()) {
+            executions.put(entry.getKey(), super.mgetAsLongs(toArray(entry.getValue())));
+        }
+
+        return new MultiSlotFuture<long[], long[]>(executions, new Function<Map<Integer, long[]>, long[]>() {
+            @Override
+            public long[] apply(Map<Integer, long[]> results) {
+
+                // keys of a slot are in the order of their occurrence, so each slot result is consumed front to back
+                Map<Integer, Integer> positions = new HashMap<Integer, Integer>();
+                long[] values = new long[slots.length];
+                for (int i = 0; i < slots.length; i++) {
+                    Integer position = positions.get(slots[i]);
+                    int index = position == null ? 0 : position;
+                    values[i] = results.get(slots[i])[index];
+                    positions.put(slots[i], index + 1);
+                }
+                return values;
+            }
+        });
+    }
+
+    /**
+     * Stream the values of {@code keys}. Keys in different slots are fetched with one command per slot. The values are
+     * collected until all commands completed and then streamed in the order of the keys.
+     */
+    @Override
+    public RedisFuture<Long> mget(final ValueStreamingChannel<V> channel, K... keys) {
+
+        final int[] slots = new int[keys.length];
+        Map<Integer, List<K>> partitioned = SlotHash.partition(codec, Arrays.asList(keys), slots);
+        if (isMulti() || partitioned.size() < 2) {
+            return super.mget(channel, keys);
+        }
+
+        Map<Integer, RedisFuture<List<V>>> executions = new LinkedHashMap<Integer, RedisFuture<List<V>>>();
+        for (Map.Entry<Integer, List<K>> entry : partitioned.entrySet()) {
+            executions.put(entry.getKey(), super.mget(toArray(entry.getValue())));
+        }
+
+        return new MultiSlotFuture<List<V>, Long>(executions, new Function<Map<Integer, List<V>>, Long>() {
+            @Override
+            public Long apply(Map<Integer, List<V>> results) {
+
+                List<V> values = inKeyOrder(results, slots);
+                for (V value : values) {
+                    channel.onValue(value);
+                }
+                return (long) values.size();
+            }
+        });
+    }
+
+    @Override
+    public RedisFuture<String> mset(Map<K, V> map) {
+
+        Map<Integer, List<K>> partitioned = SlotHash.partition(codec, map.keySet());
+        if (isMulti() || partitioned.size() < 2) {
+            return super.mset(map);
+        }
+
+        Map<Integer, RedisFuture<String>> executions = new LinkedHashMap<Integer, RedisFuture<String>>();
+        for (Map.Entry<Integer, List<K>> entry : partitioned.entrySet()) {
+            Map<K, V> slotMap = new LinkedHashMap<K, V>();
+            for (K key : entry.getValue()) {
+                slotMap.put(key, map.get(key));
+            }
+            executions.put(entry.getKey(), super.mset(slotMap));
+        }
+
+        return new MultiSlotFuture<String, String>(executions, new Function<Map<Integer, String>, String>() {
+            @Override
+            public String apply(Map<Integer, String> results) {
+                return results.values().iterator().next();
+            }
+        });
+    }
+
+    /*
+     * Reassemble the results per slot in the order of the keys. Keys of a slot are in the order of their occurrence, so each
+     * slot result is consumed front to back.
+     */
+    private static <T> List<T> inKeyOrder(Map<Integer, List<T>> results, int[] slots) {
+
+        Map<Integer, Iterator<T>> iterators = new HashMap<Integer, Iterator<T>>();
+        for (Map.Entry<Integer, List<T>> entry : results.entrySet()) {
+            iterators.put(entry.getKey(), entry.getValue().iterator());
+        }
+
+        List<T> values = new ArrayList<T>(slots.length);
+        for (int slot : slots) {
+            values.add(iterators.get(slot).next());
+        }
+        return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private K[] toArray(List<K> keys) {
+        return keys.toArray((K[]) new Object[keys.size()]);
+    }
+
     @Override
     public RedisClusterAsyncConnection<K, V> getConnection(String nodeId) {
 
@@ -74,4 +262,19 @@ public class RedisAdvancedClusterAsyncConnectionImpl<K, V> extends RedisAsyncCon
         this.partitions = partitions;
     }
 
+    @Override
+    public Partitions getPartitions() {
+        return partitions;
+    }
+
+    @Override
+    public void setReadFrom(ReadFrom readFrom) {
+        getWriter().getClusterConnectionProvider().setReadFrom(readFrom);
+    }
+
+    @Override
+    public ReadFrom getReadFrom() {
+        return getWriter().getClusterConnectionProvider().getReadFrom();
+    }
+
 }
@@ -45,4 +45,19 @@ public interface RedisAdvancedClusterConnection<K, V> extends RedisClusterConnec
      * @throws RedisException if the requested node identified by {@code host} and {@code port} is not part of the cluster
      */
     RedisClusterConnection<K, V> getConnection(String host, int port);
+
+    /**
+     * Set from which nodes read-only commands with a key are served. Defaults to {@link ReadFrom#MASTER}.
+     *
+     * @param readFrom the read setting, must not be {@literal null}
+     * @since 3.4
+     */
+    void setReadFrom(ReadFrom readFrom);
+
+    /**
+     * 
+     * @return the read setting.
+     * @since 3.4
+     */
+    ReadFrom getReadFrom();
 }
@@ -19,8 +19,11 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import com.google.common.base.Predicate;
 import com.google.common.base.Supplier;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.lambdaworks.redis.AbstractRedisClient;
+import com.lambdaworks.redis.ConnectionBuilder;
 import com.lambdaworks.redis.RedisAsyncConnectionImpl;
+import com.lambdaworks.redis.RedisChannelHandler;
 import com.lambdaworks.redis.RedisChannelWriter;
 import com.lambdaworks.redis.RedisClusterConnection;
 import com.lambdaworks.redis.RedisException;
@@ -52,6 +55,21 @@ public class RedisClusterClient extends AbstractRedisClient {
     protected AtomicBoolean clusterTopologyRefreshActivated = new AtomicBoolean(false);
 
     private ClusterTopologyRefresh refresh = new ClusterTopologyRefresh(this);
+    private final Object refreshLock = new Object();
+    private final ClusterTopologyRefreshScheduler topologyRefreshScheduler = new ClusterTopologyRefreshScheduler(
+            new Supplier<ClusterClientOptions>() {
+                @Override
+                public ClusterClientOptions get() {
+                    return getClusterClientOptions();
+                }
+            }, new Runnable() {
+                @Override
+                public void run() {
+                    if (isEventLoopActive()) {
+                        genericWorkerPool.submit(new AdaptiveTopologyRefreshTask());
+                    }
+                }
+            });
     private Partitions partitions;
     private List<RedisURI> initialUris = Lists.newArrayList();
 
@@ -166,6 +184,36 @@ public class RedisClusterClient extends AbstractRedisClient {
         return connection;
     }
 
+    /**
+     * Create a connection to a redis socket address without blocking the calling thread. The connection does not follow
+     * cluster redirections.
+     *
+     * @param socketAddress the socket address
+     * @return future for the new connection
+     */
+    ListenableFuture<RedisAsyncConnectionImpl<String, String>> connectNodeAsync(final SocketAddress socketAddress) {
+
+        logger.debug("connectNodeAsync(" + socketAddress + ")");
+        Queue<RedisCommand<String, String, ?>> queue = new ArrayDeque<RedisCommand<String, String, ?>>();
+
+        ClusterNodeCommandHandler<String, String> handler = new ClusterNodeCommandHandler<String, String>(clientOptions, queue,
+                null);
+        RedisAsyncConnectionImpl<String, String> connection = newRedisAsyncConnectionImpl(handler, newStringStringCodec(),
+                timeout, unit);
+
+        ConnectionBuilder connectionBuilder = ConnectionBuilder.connectionBuilder();
+        connectionBuilder.clientOptions(clientOptions);
+        connectionBuilder(handler, connection, new Supplier<SocketAddress>() {
+            @Override
+            public SocketAddress get() {
+                return socketAddress;
+            }
+        }, connectionBuilder, null);
+        channelType(connectionBuilder, null);
+
+        return this.<String, String, RedisAsyncConnectionImpl<String, String>> initializeChannelAsync(connectionBuilder);
+    }
+
     <K, V> RedisAsyncConnectionImpl<K, V> connectClusterAsyncImpl(RedisCodec<K, V> codec) {
         return connectClusterAsyncImpl(codec, getSocketAddressSupplier());
     }
@@ -198,6 +246,7 @@ public class RedisClusterClient extends AbstractRedisClient {
                 clusterWriter, codec);
 
         clusterWriter.setClusterConnectionProvider(pooledClusterConnectionProvider);
+        clusterWriter.setClusterEventListener(topologyRefreshScheduler);
 
         RedisAdvancedClusterAsyncConnectionImpl<K, V> connection = newRedisAdvancedClusterAsyncConnectionImpl(clusterWriter,
                 codec, timeout, unit);
@@ -304,6 +353,13 @@ public class RedisClusterClient extends AbstractRedisClient {
         }
     }
 
+    @Override
+    protected void connectionBuilder(CommandHandler<?, ?> handler, RedisChannelHandler<?, ?> connection,
+            Supplier<SocketAddress> socketAddressSupplier, ConnectionBuilder connectionBuilder, RedisURI redisURI) {
+        super.connectionBuilder(handler, connection, socketAddressSupplier, connectionBuilder, redisURI);
+        connectionBuilder.reconnectionListener(topologyRefreshScheduler);
+    }
+
     /**
      * Check if the {@link #genericWorkerPool} is active
      *
@@ -453,6 +509,27 @@ public class RedisClusterClient extends AbstractRedisClient {
                 return;
             }
 
+            refreshTopology();
+        }
+    }
+
+    private class AdaptiveTopologyRefreshTask implements Runnable {
+
+        @Override
+        public void run() {
+            logger.debug("AdaptiveTopologyRefreshTask.run()");
+            if (isEventLoopActive()) {
+                refreshTopology();
+            }
+        }
+    }
+
+    /**
+     * Load the topology from the known nodes and apply it if it changed. Periodic and adaptive updates are serialized.
+     */
+    private void refreshTopology() {
+
+        synchronized (refreshLock) {
             List<RedisURI> seed;
             if (partitions == null || partitions.size() == 0) {
                 seed = RedisClusterClient.this.initialUris;
@@ -463,7 +540,7 @@ public class RedisClusterClient extends AbstractRedisClient {
                 }
             }
 
-            logger.debug("ClusterTopologyRefreshTask requesting partitions from {}", seed);
+            logger.debug("Requesting partitions from {}", seed);
             Map<RedisURI, Partitions> partitions = refresh.loadViews(seed);
             List<Partitions> values = Lists.newArrayList(partitions.values());
             if (!values.isEmpty() && refresh.isChanged(getPartitions(), values.get(0))) {
@@ -1,7 +1,17 @@
 package com.lambdaworks.redis.cluster;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import com.google.common.primitives.Chars;
 import com.lambdaworks.codec.CRC16;
+import com.lambdaworks.redis.codec.RedisCodec;
+import com.lambdaworks.redis.protocol.LettuceCharsets;
+
+import io.netty.buffer.ByteBuf;
 
 /**
  * Utility to calculate the slot from a key.
@@ -31,13 +41,13 @@ public class SlotHash {
     }
 
     /**
-     * Calculate the slot from the given key.
+     * Calculate the slot from the given key. The key is encoded using UTF-8.
      * 
      * @param key the key
      * @return slot
      */
     public static final int getSlot(String key) {
-        return getSlot(key.getBytes());
+        return getSlot(key.getBytes(LettuceCharsets.UTF8));
     }
 
     /**
@@ -47,26 +57,121 @@ public class SlotHash {
      * @return slot
      */
     public static final int getSlot(byte[] key) {
-        byte[] finalKey = key;
-        int start = indexOf(key, SUBKEY_START);
+        return getSlot(key, 0, key.length);
+    }
+
+    /**
+     * Calculate the slot from {@code length} bytes of the key starting at {@code offset}.
+     *
+     * @param key the key
+     * @param offset index of the first byte
+     * @param length number of bytes
+     * @return slot
+     * @since 3.4
+     */
+    public static final int getSlot(byte[] key, int offset, int length) {
+        int end = offset + length;
+        int start = indexOf(key, offset, end, SUBKEY_START);
+        if (start != -1) {
+            int subkeyEnd = indexOf(key, start + 1, end, SUBKEY_END);
+            if (subkeyEnd != -1 && subkeyEnd != start + 1) {
+                return CRC16.crc16(key, start + 1, subkeyEnd - (start + 1)) % SLOT_COUNT;
+            }
+        }
+        return CRC16.crc16(key, offset, length) % SLOT_COUNT;
+    }
+
+    /**
+     * Calculate the slot from the readable bytes of the key. The indexes of the buffer are not changed.
+     *
+     * @param key the key
+     * @return slot
+     * @since 3.4
+     */
+    public static final int getSlot(ByteBuf key) {
+        int offset = key.readerIndex();
+        int end = key.writerIndex();
+        int start = key.indexOf(offset, end, SUBKEY_START);
         if (start != -1) {
-            int end = indexOf(key, start + 1, SUBKEY_END);
-            if (end != -1 && end != start + 1) {
+            int subkeyEnd = key.indexOf(start + 1, end, SUBKEY_END);
+            if (subkeyEnd != -1 && subkeyEnd != start + 1) {
+                return CRC16.crc16(key, start + 1, subkeyEnd - (start + 1)) % SLOT_COUNT;
+            }
+        }
+        return CRC16.crc16(key, offset, end - offset) % SLOT_COUNT;
+    }
+
+    /**
+     * Calculate the slot from the remaining bytes of the key. The position of the buffer is not changed.
+     *
+     * @param key the key
+     * @return slot
+     * @since 3.4
+     */
+    public static final int getSlot(ByteBuffer key) {
+        if (key.hasArray()) {
+            return getSlot(key.array(), key.arrayOffset() + key.position(), key.remaining());
+        }
 
-                finalKey = new byte[end - (start + 1)];
-                System.arraycopy(key, start + 1, finalKey, 0, finalKey.length);
+        int offset = key.position();
+        int end = key.limit();
+        int start = indexOf(key, offset, end, SUBKEY_START);
+        if (start != -1) {
+            int subkeyEnd = indexOf(key, start + 1, end, SUBKEY_END);
+            if (subkeyEnd != -1 && subkeyEnd != start + 1) {
+                return CRC16.crc16(key, start + 1, subkeyEnd - (start + 1)) % SLOT_COUNT;
             }
         }
-        return CRC16.crc16(finalKey) % SLOT_COUNT;
+        return CRC16.crc16(key, offset, end - offset) % SLOT_COUNT;
+    }
+
+    /**
+     * Partition keys by their slot. Slots are ordered by their first occurrence and keys keep their order within a slot.
+     *
+     * @param codec codec to encode the keys
+     * @param keys the keys
+     * @param <K> Key type.
+     * @return the keys per slot
+     * @since 3.4
+     */
+    public static <K> Map<Integer, List<K>> partition(RedisCodec<K, ?> codec, Iterable<K> keys) {
+        return partition(codec, keys, null);
     }
 
-    private static int indexOf(byte[] haystack, byte needle) {
-        return indexOf(haystack, 0, needle);
+    /**
+     * Partition keys by their slot and record the slot of each key. Slots are ordered by their first occurrence and keys keep
+     * their order within a slot.
+     *
+     * @param codec codec to encode the keys
+     * @param keys the keys
+     * @param slots array receiving the slot of each key in the order of {@code keys}, may be {@literal null}
+     * @param <K> Key type.
+     * @return the keys per slot
+     * @since 3.4
+     */
+    public static <K> Map<Integer, List<K>> partition(RedisCodec<K, ?> codec, Iterable<K> keys, int[] slots) {
+
+        Map<Integer, List<K>> partitioned = new LinkedHashMap<Integer, List<K>>();
+        int index = 0;
+        for (K key : keys) {
+            int slot = getSlot(codec.encodeKey(key));
+            if (slots != null) {
+                slots[index++] = slot;
+            }
+
+            List<K> slotKeys = partitioned.get(slot);
+            if (slotKeys == null) {
+                slotKeys = new ArrayList<K>();
+                partitioned.put(slot, slotKeys);
+            }
+            slotKeys.add(key);
+        }
+        return partitioned;
     }
 
-    private static int indexOf(byte[] haystack, int start, byte needle) {
+    private static int indexOf(byte[] haystack, int start, int end, byte needle) {
 
-        for (int i = start; i < haystack.length; i++) {
+        for (int i = start; i < end; i++) {
 
             if (haystack[i] == needle) {
                 return i;
@@ -75,4 +180,16 @@ public class SlotHash {
 
         return -1;
     }
+
+    private static int indexOf(ByteBuffer haystack, int start, int end, byte needle) {
+
+        for (int i = start; i < end; i++) {
+
+            if (haystack.get(i) == needle) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
 }
@@ -24,6 +24,20 @@ public class Partitions extends AbstractCollection<RedisClusterNode> implements
         return slotCache[slot];
     }
 
+    /**
+     * Route a single slot to {@code partition} until the next {@link #updateCache() cache update}. Used to apply a
+     * {@literal MOVED} redirection before the topology is reloaded.
+     *
+     * @param slot the slot
+     * @param partition the node serving the slot
+     * @since 3.4
+     */
+    public synchronized void setPartitionBySlot(int slot, RedisClusterNode partition) {
+        if (slotCache != null) {
+            slotCache[slot] = partition;
+        }
+    }
+
     /**
      * Retrieve a {@link RedisClusterNode} by its node id.
      *
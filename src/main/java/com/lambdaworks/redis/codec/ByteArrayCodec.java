@@ -2,6 +2,8 @@ package com.lambdaworks.redis.codec;
 
 import java.nio.ByteBuffer;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * A {@link RedisCodec} that uses plain byte arrays.
  * 
@@ -10,6 +12,13 @@ import java.nio.ByteBuffer;
  */
 public class ByteArrayCodec extends RedisCodec<byte[], byte[]> {
 
+    /**
+     * Create a new {@link ByteArrayCodec}.
+     */
+    public ByteArrayCodec() {
+        enableByteBufCoding(ByteArrayCodec.class);
+    }
+
     @Override
     public byte[] decodeKey(ByteBuffer bytes) {
         return getBytes(bytes);
@@ -20,6 +29,16 @@ public class ByteArrayCodec extends RedisCodec<byte[], byte[]> {
         return getBytes(bytes);
     }
 
+    @Override
+    protected byte[] decodeKeyBytes(ByteBuf buffer, int offset, int length) {
+        return getBytes(buffer, offset, length);
+    }
+
+    @Override
+    protected byte[] decodeValueBytes(ByteBuf buffer, int offset, int length) {
+        return getBytes(buffer, offset, length);
+    }
+
     @Override
     public byte[] encodeKey(byte[] key) {
         return key;
@@ -35,4 +54,10 @@ public class ByteArrayCodec extends RedisCodec<byte[], byte[]> {
         buffer.get(b);
         return b;
     }
+
+    private static byte[] getBytes(ByteBuf buffer, int offset, int length) {
+        byte[] b = new byte[length];
+        buffer.getBytes(offset, b);
+        return b;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.lambdaworks.redis.codec;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compression algorithm used by {@link CompressionCodec}. An algorithm wraps streams to compress and decompress values and is
+ * identified by an id that is stored with each compressed value. {@link #DEFLATE} and {@link #GZIP} are provided by the JDK,
+ * other algorithms such as LZ4 or Snappy can be plugged in by subclassing and wrapping the streams of the compression library.
+ *
+ * <p>
+ * Ids {@literal 1} to {@literal 15} are reserved for algorithms provided by lettuce. The id must not change once values were
+ * stored with an algorithm.
+ * </p>
+ *
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+public abstract class CompressionAlgorithm {
+
+    /**
+     * DEFLATE compression in the zlib format (RFC 1950) using {@link Deflater#DEFAULT_COMPRESSION}.
+     */
+    public static final CompressionAlgorithm DEFLATE = new CompressionAlgorithm(1, "DEFLATE") {
+        @Override
+        public OutputStream compress(OutputStream target) throws IOException {
+            return new DeflaterOutputStream(target);
+        }
+
+        @Override
+        public InputStream decompress(InputStream source) throws IOException {
+            return new InflaterInputStream(source);
+        }
+    };
+
+    /**
+     * GZIP compression.
+     */
+    public static final CompressionAlgorithm GZIP = new CompressionAlgorithm(2, "GZIP") {
+        @Override
+        public OutputStream compress(OutputStream target) throws IOException {
+            return new GZIPOutputStream(target);
+        }
+
+        @Override
+        public InputStream decompress(InputStream source) throws IOException {
+            return new GZIPInputStream(source);
+        }
+    };
+
+    private final byte id;
+    private final String name;
+
+    /**
+     * Create a new compression algorithm.
+     *
+     * @param id the id stored with compressed values, between {@literal 1} and {@literal 127}
+     * @param name the name of the algorithm
+     */
+    protected CompressionAlgorithm(int id, String name) {
+        checkArgument(id > 0 && id <= Byte.MAX_VALUE, "id must be between 1 and 127");
+        checkArgument(name != null, "name must not be null");
+        this.id = (byte) id;
+        this.name = name;
+    }
+
+    /**
+     * Wrap {@code target} with a stream that compresses the bytes written to it. Closing the returned stream must finish the
+     * compression and close {@code target}.
+     *
+     * @param target the stream receiving the compressed bytes
+     * @return the compressing stream
+     * @throws IOException if the stream cannot be created
+     */
+    public abstract OutputStream compress(OutputStream target) throws IOException;
+
+    /**
+     * Wrap {@code source} with a stream that decompresses the bytes read from it.
+     *
+     * @param source the stream providing the compressed bytes
+     * @return the decompressing stream
+     * @throws IOException if the stream cannot be created
+     */
+    public abstract InputStream decompress(InputStream source) throws IOException;
+
+    /**
+     *
+     * @return the id stored with compressed values.
+     */
+    public byte getId() {
+        return id;
+    }
+
+    /**
+     *
+     * @return the name of the algorithm.
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
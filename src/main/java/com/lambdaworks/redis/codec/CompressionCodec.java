@@ -0,0 +1,309 @@
+package com.lambdaworks.redis.codec;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.lambdaworks.redis.RedisException;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * A {@link RedisCodec} decorator that compresses values of at least {@link #getThreshold() threshold} bytes encoded by the
+ * delegate codec. Keys are not compressed.
+ *
+ * <p>
+ * Compressed values start with a header of {@value #HEADER_SIZE} bytes: the marker {@code 0xC1 0x5A}, the
+ * {@link CompressionAlgorithm#getId() algorithm id} and the uncompressed length as 32 bit big-endian integer. Values without
+ * the header are passed to the delegate as they are, so compressed and uncompressed values can coexist, and values that were
+ * stored before compression was enabled remain readable. {@code 0xC1} never occurs in UTF-8 encoded text. Uncompressed values
+ * that start with the marker are stored with a header and the algorithm id {@literal 0} to keep them unambiguous.
+ * </p>
+ *
+ * <p>
+ * Values compressed with {@link CompressionAlgorithm#DEFLATE} and {@link CompressionAlgorithm#GZIP} are decompressed
+ * regardless of the algorithm used for compression. Decompression reads from the {@link ByteBuffer} of the response without
+ * copying the compressed bytes. The uncompressed length of the header is not trusted for allocation, the output grows while
+ * decompressing. Values with a header that do not decompress to the uncompressed length are passed to the delegate as they
+ * are.
+ * </p>
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+public class CompressionCodec<K, V> extends RedisCodec<K, V> {
+
+    /**
+     * Default minimal size of an encoded value to be compressed.
+     */
+    public static final int DEFAULT_THRESHOLD = 1024;
+
+    static final int HEADER_SIZE = 7;
+    static final byte MARKER = (byte) 0xC1;
+    static final byte MAGIC = 0x5A;
+    static final byte STORED = 0;
+
+    private final RedisCodec<K, V> delegate;
+    private final CompressionAlgorithm algorithm;
+    private final int threshold;
+
+    /**
+     * Create a new codec compressing values of at least {@link #DEFAULT_THRESHOLD} bytes.
+     *
+     * @param delegate the codec to encode and decode keys and values, must not be {@literal null}
+     * @param algorithm the compression algorithm, must not be {@literal null}
+     */
+    public CompressionCodec(RedisCodec<K, V> delegate, CompressionAlgorithm algorithm) {
+        this(delegate, algorithm, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Create a new codec compressing values of at least {@code threshold} bytes.
+     *
+     * @param delegate the codec to encode and decode keys and values, must not be {@literal null}
+     * @param algorithm the compression algorithm, must not be {@literal null}
+     * @param threshold minimal size of an encoded value to be compressed, must not be negative
+     */
+    public CompressionCodec(RedisCodec<K, V> delegate, CompressionAlgorithm algorithm, int threshold) {
+        checkArgument(delegate != null, "delegate must not be null");
+        checkArgument(algorithm != null, "algorithm must not be null");
+        checkArgument(threshold >= 0, "threshold must not be negative");
+        this.delegate = delegate;
+        this.algorithm = algorithm;
+        this.threshold = threshold;
+        enableByteBufCoding(CompressionCodec.class);
+    }
+
+    @Override
+    public K decodeKey(ByteBuffer bytes) {
+        return delegate.decodeKey(bytes);
+    }
+
+    @Override
+    protected K decodeKeyBytes(ByteBuf buffer, int offset, int length) {
+        return delegate.decodeKey(buffer, offset, length);
+    }
+
+    @Override
+    public V decodeValue(ByteBuffer bytes) {
+        int position = bytes.position();
+        if (bytes.remaining() < HEADER_SIZE || !isHeader(bytes.get(position), bytes.get(position + 1))) {
+            return delegate.decodeValue(bytes);
+        }
+
+        byte id = bytes.get(position + 2);
+        int length = (bytes.get(position + 3) & 0xff) << 24 | (bytes.get(position + 4) & 0xff) << 16
+                | (bytes.get(position + 5) & 0xff) << 8 | bytes.get(position + 6) & 0xff;
+
+        if (id == STORED) {
+            bytes.position(position + HEADER_SIZE);
+            return delegate.decodeValue(bytes);
+        }
+
+        CompressionAlgorithm decompression = getAlgorithm(id);
+        if (decompression == null || length < 0) {
+            return delegate.decodeValue(bytes);
+        }
+
+        bytes.position(position + HEADER_SIZE);
+        byte[] decompressed = decompress(decompression, bytes, length);
+        if (decompressed == null) {
+            bytes.position(position);
+            return delegate.decodeValue(bytes);
+        }
+
+        bytes.position(bytes.limit());
+        return delegate.decodeValue(ByteBuffer.wrap(decompressed));
+    }
+
+    @Override
+    protected V decodeValueBytes(ByteBuf buffer, int offset, int length) {
+        if (length >= HEADER_SIZE && isHeader(buffer.getByte(offset), buffer.getByte(offset + 1))) {
+            return super.decodeValueBytes(buffer, offset, length);
+        }
+        return delegate.decodeValue(buffer, offset, length);
+    }
+
+    @Override
+    public byte[] encodeKey(K key) {
+        return delegate.encodeKey(key);
+    }
+
+    @Override
+    public byte[] encodeValue(V value) {
+        byte[] bytes = delegate.encodeValue(value);
+        if (bytes == null) {
+            return null;
+        }
+
+        if (bytes.length >= threshold) {
+            byte[] compressed = compress(bytes);
+            if (compressed.length < bytes.length) {
+                return compressed;
+            }
+        }
+
+        if (bytes.length >= HEADER_SIZE && isHeader(bytes[0], bytes[1])) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(HEADER_SIZE + bytes.length);
+            writeHeader(out, STORED, bytes.length);
+            out.write(bytes, 0, bytes.length);
+            return out.toByteArray();
+        }
+
+        return bytes;
+    }
+
+    /**
+     *
+     * @return the codec to encode and decode keys and values.
+     */
+    public RedisCodec<K, V> getDelegate() {
+        return delegate;
+    }
+
+    /**
+     *
+     * @return the compression algorithm.
+     */
+    public CompressionAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     *
+     * @return the minimal size of an encoded value to be compressed.
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    private byte[] compress(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(HEADER_SIZE + bytes.length / 2);
+        writeHeader(out, algorithm.getId(), bytes.length);
+
+        try {
+            OutputStream compressing = algorithm.compress(out);
+            compressing.write(bytes);
+            compressing.close();
+        } catch (IOException e) {
+            throw new RedisException("Cannot compress value using " + algorithm, e);
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Decompress the remaining bytes to exactly {@code length} bytes. The output starts at a size derived from the compressed
+     * size and grows up to {@code length} while decompressing, so a forged header cannot force a large allocation.
+     *
+     * @return the decompressed bytes or {@literal null} if the bytes cannot be decompressed to {@code length} bytes.
+     */
+    private static byte[] decompress(CompressionAlgorithm algorithm, ByteBuffer bytes, int length) {
+        byte[] result = new byte[(int) Math.min(length, Math.max(256L, bytes.remaining() * 4L))];
+
+        try {
+            InputStream decompressing = algorithm.decompress(new ByteBufferInputStream(bytes));
+            try {
+                int read = 0;
+                while (read < length) {
+                    if (read == result.length) {
+                        result = Arrays.copyOf(result, (int) Math.min(length, result.length * 2L));
+                    }
+
+                    int count = decompressing.read(result, read, result.length - read);
+                    if (count == -1) {
+                        return null;
+                    }
+                    read += count;
+                }
+
+                if (decompressing.read() != -1) {
+                    return null;
+                }
+            } finally {
+                decompressing.close();
+            }
+        } catch (IOException e) {
+            return null;
+        }
+
+        return result;
+    }
+
+    private CompressionAlgorithm getAlgorithm(byte id) {
+        if (id == algorithm.getId()) {
+            return algorithm;
+        }
+
+        if (id == CompressionAlgorithm.DEFLATE.getId()) {
+            return CompressionAlgorithm.DEFLATE;
+        }
+
+        if (id == CompressionAlgorithm.GZIP.getId()) {
+            return CompressionAlgorithm.GZIP;
+        }
+
+        return null;
+    }
+
+    private static boolean isHeader(byte first, byte second) {
+        return first == MARKER && second == MAGIC;
+    }
+
+    private static void writeHeader(ByteArrayOutputStream out, byte id, int length) {
+        out.write(MARKER);
+        out.write(MAGIC);
+        out.write(id);
+        out.write(length >>> 24);
+        out.write(length >>> 16);
+        out.write(length >>> 8);
+        out.write(length);
+    }
+
+    /**
+     * {@link InputStream} reading the remaining bytes of a {@link ByteBuffer}.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            return buffer.get() & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.lambdaworks.redis.codec;
+
+import java.nio.ByteBuffer;
+
+import com.lambdaworks.redis.protocol.AsciiNumbers;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * A {@link RedisCodec} for UTF-8 encoded keys and 64 bit integer values such as counters and ids. Values are parsed
+ * from the bytes of the reply without creating an intermediate {@link String}.
+ *
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+public class LongCodec extends RedisCodec<String, Long> {
+
+    private final Utf8StringCodec keyCodec = new Utf8StringCodec();
+
+    /**
+     * Create a new {@link LongCodec}.
+     */
+    public LongCodec() {
+        enableByteBufCoding(LongCodec.class);
+    }
+
+    @Override
+    public String decodeKey(ByteBuffer bytes) {
+        return keyCodec.decodeKey(bytes);
+    }
+
+    @Override
+    protected String decodeKeyBytes(ByteBuf buffer, int offset, int length) {
+        return keyCodec.decodeKey(buffer, offset, length);
+    }
+
+    @Override
+    public Long decodeValue(ByteBuffer bytes) {
+        Long value = AsciiNumbers.parseLong(bytes);
+        bytes.position(bytes.limit());
+        return value;
+    }
+
+    @Override
+    protected Long decodeValueBytes(ByteBuf buffer, int offset, int length) {
+        return AsciiNumbers.parseLong(buffer, offset, length);
+    }
+
+    @Override
+    public byte[] encodeKey(String key) {
+        return keyCodec.encodeKey(key);
+    }
+
+    @Override
+    public byte[] encodeValue(Long value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        return AsciiNumbers.toBytes(value.longValue());
+    }
+}
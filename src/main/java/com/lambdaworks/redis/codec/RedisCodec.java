@@ -4,6 +4,8 @@ package com.lambdaworks.redis.codec;
 
 import java.nio.ByteBuffer;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * A RedisCodec encodes keys and values sent to redis, and decodes keys and values in the command output.
  *
@@ -15,6 +17,9 @@ import java.nio.ByteBuffer;
  * @author Will Glozer
  */
 public abstract class RedisCodec<K, V> {
+
+    private boolean byteBufCoding;
+
     /**
      * Decode the key output by redis.
      *
@@ -33,6 +38,70 @@ public abstract class RedisCodec<K, V> {
      */
     public abstract V decodeValue(ByteBuffer bytes);
 
+    /**
+     * Decode the key output by redis from {@code length} bytes starting at {@code offset} within {@code buffer}. The buffer
+     * indexes must not be changed. Passes the bytes to {@link #decodeKeyBytes(ByteBuf, int, int)} if
+     * {@link #enableByteBufCoding(Class) enabled}, otherwise to {@link #decodeKey(ByteBuffer)}.
+     *
+     * @param buffer Buffer containing the raw bytes of the key.
+     * @param offset Index of the first byte.
+     * @param length Number of bytes.
+     *
+     * @return The decoded key.
+     */
+    public final K decodeKey(ByteBuf buffer, int offset, int length) {
+        if (byteBufCoding) {
+            return decodeKeyBytes(buffer, offset, length);
+        }
+        return decodeKey(buffer.nioBuffer(offset, length));
+    }
+
+    /**
+     * Decode the value output by redis from {@code length} bytes starting at {@code offset} within {@code buffer}. The buffer
+     * indexes must not be changed. Passes the bytes to {@link #decodeValueBytes(ByteBuf, int, int)} if
+     * {@link #enableByteBufCoding(Class) enabled}, otherwise to {@link #decodeValue(ByteBuffer)}.
+     *
+     * @param buffer Buffer containing the raw bytes of the value.
+     * @param offset Index of the first byte.
+     * @param length Number of bytes.
+     *
+     * @return The decoded value.
+     */
+    public final V decodeValue(ByteBuf buffer, int offset, int length) {
+        if (byteBufCoding) {
+            return decodeValueBytes(buffer, offset, length);
+        }
+        return decodeValue(buffer.nioBuffer(offset, length));
+    }
+
+    /**
+     * Decode the key output by redis without creating a {@link ByteBuffer} view. Only called if
+     * {@link #enableByteBufCoding(Class) enabled}. The default implementation adapts to {@link #decodeKey(ByteBuffer)}.
+     *
+     * @param buffer Buffer containing the raw bytes of the key.
+     * @param offset Index of the first byte.
+     * @param length Number of bytes.
+     *
+     * @return The decoded key.
+     */
+    protected K decodeKeyBytes(ByteBuf buffer, int offset, int length) {
+        return decodeKey(buffer.nioBuffer(offset, length));
+    }
+
+    /**
+     * Decode the value output by redis without creating a {@link ByteBuffer} view. Only called if
+     * {@link #enableByteBufCoding(Class) enabled}. The default implementation adapts to {@link #decodeValue(ByteBuffer)}.
+     *
+     * @param buffer Buffer containing the raw bytes of the value.
+     * @param offset Index of the first byte.
+     * @param length Number of bytes.
+     *
+     * @return The decoded value.
+     */
+    protected V decodeValueBytes(ByteBuf buffer, int offset, int length) {
+        return decodeValue(buffer.nioBuffer(offset, length));
+    }
+
     /**
      * Encode the key for output to redis.
      *
@@ -50,4 +119,27 @@ public abstract class RedisCodec<K, V> {
      * @return The encoded value.
      */
     public abstract byte[] encodeValue(V value);
+
+    /**
+     * Enable {@link #decodeKeyBytes(ByteBuf, int, int)}, {@link #decodeValueBytes(ByteBuf, int, int)} and encoding into the
+     * command buffer if the codec implements {@link ToByteBufEncoder} for codecs that are exactly of {@code codecType}.
+     * Subclasses of {@code codecType} decode through {@link #decodeKey(ByteBuffer)} and {@link #decodeValue(ByteBuffer)} and
+     * encode through {@link #encodeKey(Object)} and {@link #encodeValue(Object)} so their overrides are not bypassed, unless
+     * they enable {@link ByteBuf} coding for their own type.
+     *
+     * @param codecType the type implementing the {@link ByteBuf} based methods
+     */
+    protected final void enableByteBufCoding(Class<?> codecType) {
+        if (getClass() == codecType) {
+            byteBufCoding = true;
+        }
+    }
+
+    /**
+     *
+     * @return {@literal true} if {@link #enableByteBufCoding(Class) ByteBuf coding} is enabled.
+     */
+    protected final boolean isByteBufCoding() {
+        return byteBufCoding;
+    }
 }
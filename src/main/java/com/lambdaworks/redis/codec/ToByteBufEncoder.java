@@ -0,0 +1,59 @@
+package com.lambdaworks.redis.codec;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Optional interface of a {@link RedisCodec} that encodes keys and values directly into the {@link ByteBuf} of the outgoing
+ * command instead of returning a {@code byte[]} per key and value. {@link com.lambdaworks.redis.protocol.CommandArgs} uses
+ * this interface if the codec implements it.
+ *
+ * <p>
+ * The encoded size is requested before encoding to write the length prefix and to size the command buffer once. Encoders that
+ * cannot tell the size up front, such as streaming serializers, return {@literal -1}. Their output is written into a pooled
+ * scratch buffer first and copied behind the length prefix.
+ * </p>
+ *
+ * <p>
+ * The methods will be called by multiple threads and must be thread-safe. Encoding happens on the I/O thread, so keys and
+ * values must not be modified after they were passed to a command.
+ * </p>
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+public interface ToByteBufEncoder<K, V> {
+
+    /**
+     * Return the number of bytes {@link #encodeKey(Object, ByteBuf)} will write for {@code key}.
+     *
+     * @param key the key, may be {@literal null}
+     * @return the exact encoded size in bytes or {@literal -1} if the size is not known before encoding.
+     */
+    int getEncodedKeySize(K key);
+
+    /**
+     * Encode the key for output to redis.
+     *
+     * @param key the key, may be {@literal null}
+     * @param target the buffer to write the encoded key to
+     */
+    void encodeKey(K key, ByteBuf target);
+
+    /**
+     * Return the number of bytes {@link #encodeValue(Object, ByteBuf)} will write for {@code value}.
+     *
+     * @param value the value, may be {@literal null}
+     * @return the exact encoded size in bytes or {@literal -1} if the size is not known before encoding.
+     */
+    int getEncodedValueSize(V value);
+
+    /**
+     * Encode the value for output to redis.
+     *
+     * @param value the value, may be {@literal null}
+     * @param target the buffer to write the encoded value to
+     */
+    void encodeValue(V value, ByteBuf target);
+}
@@ -2,32 +2,50 @@
 
 package com.lambdaworks.redis.codec;
 
-import static java.nio.charset.CoderResult.OVERFLOW;
-
 import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
 import java.nio.charset.Charset;
-import java.nio.charset.CharsetDecoder;
 
 import com.lambdaworks.redis.protocol.LettuceCharsets;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.util.concurrent.FastThreadLocal;
+
 /**
  * A {@link RedisCodec} that handles UTF-8 encoded keys and values.
+ *
+ * <p>
+ * Decoding holds no state in the codec instance, so one codec can be shared by connections running on different event loops
+ * without contention. ASCII content is copied to the {@link String} without charset decoding. Content of direct buffers is
+ * copied to a thread-local scratch array unless it exceeds {@value #MAX_SCRATCH_SIZE} bytes.
+ * </p>
+ *
+ * <p>
+ * Keys and values are encoded directly into the command buffer as {@link ToByteBufEncoder}. Subclasses encode through
+ * {@link #encodeKey(String)} and {@link #encodeValue(String)} unless they {@link #enableByteBufCoding(Class) enable}
+ * {@link ByteBuf} coding for their own type.
+ * </p>
  * 
  * @author Will Glozer
  */
-public class Utf8StringCodec extends RedisCodec<String, String> {
-    private Charset charset;
-    private CharsetDecoder decoder;
-    private CharBuffer chars;
+public class Utf8StringCodec extends RedisCodec<String, String> implements ToByteBufEncoder<String, String> {
+
+    static final int MAX_SCRATCH_SIZE = 8192;
+
+    private static final FastThreadLocal<byte[]> SCRATCH = new FastThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() throws Exception {
+            return new byte[MAX_SCRATCH_SIZE];
+        }
+    };
+
+    private final Charset charset;
 
     /**
      * Initialize a new instance that encodes and decodes strings using the UTF-8 charset;
      */
     public Utf8StringCodec() {
         charset = LettuceCharsets.UTF8;
-        decoder = charset.newDecoder();
-        chars = CharBuffer.allocate(1024);
+        enableByteBufCoding(Utf8StringCodec.class);
     }
 
     @Override
@@ -40,6 +58,16 @@ public class Utf8StringCodec extends RedisCodec<String, String> {
         return decode(bytes);
     }
 
+    @Override
+    protected String decodeKeyBytes(ByteBuf buffer, int offset, int length) {
+        return decode(buffer, offset, length);
+    }
+
+    @Override
+    protected String decodeValueBytes(ByteBuf buffer, int offset, int length) {
+        return decode(buffer, offset, length);
+    }
+
     @Override
     public byte[] encodeKey(String key) {
         return encode(key);
@@ -50,17 +78,149 @@ public class Utf8StringCodec extends RedisCodec<String, String> {
         return encode(value);
     }
 
-    private synchronized String decode(ByteBuffer bytes) {
-        chars.clear();
-        bytes.mark();
+    @Override
+    public int getEncodedKeySize(String key) {
+        return isByteBufCoding() ? utf8Length(key) : -1;
+    }
+
+    @Override
+    public void encodeKey(String key, ByteBuf target) {
+        if (!isByteBufCoding()) {
+            target.writeBytes(encodeKey(key));
+            return;
+        }
+        writeUtf8(key, target);
+    }
+
+    @Override
+    public int getEncodedValueSize(String value) {
+        return isByteBufCoding() ? utf8Length(value) : -1;
+    }
+
+    @Override
+    public void encodeValue(String value, ByteBuf target) {
+        if (!isByteBufCoding()) {
+            target.writeBytes(encodeValue(value));
+            return;
+        }
+        writeUtf8(value, target);
+    }
+
+    private String decode(ByteBuffer bytes) {
+        int length = bytes.remaining();
+        String result;
+
+        if (bytes.hasArray()) {
+            result = decode(bytes.array(), bytes.arrayOffset() + bytes.position(), length);
+        } else {
+            byte[] array = scratch(length);
+            bytes.duplicate().get(array, 0, length);
+            result = decode(array, 0, length);
+        }
+
+        bytes.position(bytes.limit());
+        return result;
+    }
+
+    private String decode(ByteBuf buffer, int offset, int length) {
+        if (buffer.hasArray()) {
+            return decode(buffer.array(), buffer.arrayOffset() + offset, length);
+        }
+
+        byte[] array = scratch(length);
+        buffer.getBytes(offset, array, 0, length);
+        return decode(array, 0, length);
+    }
+
+    @SuppressWarnings("deprecation")
+    private String decode(byte[] bytes, int offset, int length) {
+        if (length == 0) {
+            return "";
+        }
 
-        decoder.reset();
-        while (decoder.decode(bytes, chars, true) == OVERFLOW || decoder.flush(chars) == OVERFLOW) {
-            chars = CharBuffer.allocate(chars.capacity() * 2);
-            bytes.reset();
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] < 0) {
+                return new String(bytes, offset, length, charset);
+            }
         }
 
-        return chars.flip().toString();
+        // ASCII only: every byte is a char, no decoder required
+        return new String(bytes, 0, offset, length);
+    }
+
+    private static byte[] scratch(int length) {
+        if (length > MAX_SCRATCH_SIZE) {
+            return new byte[length];
+        }
+        return SCRATCH.get();
+    }
+
+    /**
+     * Compute the length of {@code string} encoded as UTF-8 the way {@link String#getBytes(Charset)} does, replacing unpaired
+     * surrogates with {@literal ?}.
+     */
+    private static int utf8Length(String string) {
+        if (string == null) {
+            return 0;
+        }
+
+        int length = string.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+
+            if (c < 0x800) {
+                bytes += 1;
+            } else if (isSurrogatePair(string, i)) {
+                bytes += 2;
+                i++;
+            } else if (!isSurrogate(c)) {
+                bytes += 2;
+            }
+        }
+        return bytes;
+    }
+
+    private static void writeUtf8(String string, ByteBuf target) {
+        if (string == null) {
+            return;
+        }
+
+        int length = string.length();
+        target.ensureWritable(length);
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            if (c < 0x80) {
+                target.writeByte(c);
+            } else if (c < 0x800) {
+                target.writeByte(0xc0 | (c >> 6));
+                target.writeByte(0x80 | (c & 0x3f));
+            } else if (isSurrogatePair(string, i)) {
+                int codePoint = Character.toCodePoint(c, string.charAt(++i));
+                target.writeByte(0xf0 | (codePoint >> 18));
+                target.writeByte(0x80 | ((codePoint >> 12) & 0x3f));
+                target.writeByte(0x80 | ((codePoint >> 6) & 0x3f));
+                target.writeByte(0x80 | (codePoint & 0x3f));
+            } else if (isSurrogate(c)) {
+                target.writeByte('?');
+            } else {
+                target.writeByte(0xe0 | (c >> 12));
+                target.writeByte(0x80 | ((c >> 6) & 0x3f));
+                target.writeByte(0x80 | (c & 0x3f));
+            }
+        }
+    }
+
+    private static boolean isSurrogatePair(String string, int index) {
+        return Character.isHighSurrogate(string.charAt(index)) && index + 1 < string.length()
+                && Character.isLowSurrogate(string.charAt(index + 1));
+    }
+
+    private static boolean isSurrogate(char c) {
+        return c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE;
     }
 
     private byte[] encode(String string) {
@@ -5,9 +5,10 @@ package com.lambdaworks.redis.output;
 import java.nio.ByteBuffer;
 
 import com.lambdaworks.redis.codec.RedisCodec;
+import com.lambdaworks.redis.protocol.AsciiNumbers;
 import com.lambdaworks.redis.protocol.CommandOutput;
 
-import static java.lang.Double.parseDouble;
+import io.netty.buffer.ByteBuf;
 
 /**
  * Double output, may be null.
@@ -18,11 +19,16 @@ import static java.lang.Double.parseDouble;
  */
 public class DoubleOutput<K, V> extends CommandOutput<K, V, Double> {
     public DoubleOutput(RedisCodec<K, V> codec) {
-        super(codec, null);
+        super(codec, null, DoubleOutput.class);
     }
 
     @Override
     public void set(ByteBuffer bytes) {
-        output = (bytes == null) ? null : parseDouble(decodeAscii(bytes));
+        output = (bytes == null) ? null : AsciiNumbers.parseDouble(bytes);
+    }
+
+    @Override
+    protected void setBytes(ByteBuf buffer, int offset, int length) {
+        output = AsciiNumbers.parseDouble(buffer, offset, length);
     }
 }
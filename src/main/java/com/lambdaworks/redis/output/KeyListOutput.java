@@ -9,6 +9,8 @@ import java.util.List;
 import com.lambdaworks.redis.codec.RedisCodec;
 import com.lambdaworks.redis.protocol.CommandOutput;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * {@link List} of keys output.
  * 
@@ -19,11 +21,16 @@ import com.lambdaworks.redis.protocol.CommandOutput;
  */
 public class KeyListOutput<K, V> extends CommandOutput<K, V, List<K>> {
     public KeyListOutput(RedisCodec<K, V> codec) {
-        super(codec, new ArrayList<K>());
+        super(codec, new ArrayList<K>(), KeyListOutput.class);
     }
 
     @Override
     public void set(ByteBuffer bytes) {
         output.add(codec.decodeKey(bytes));
     }
+
+    @Override
+    protected void setBytes(ByteBuf buffer, int offset, int length) {
+        output.add(codec.decodeKey(buffer, offset, length));
+    }
 }
@@ -7,6 +7,8 @@ import java.nio.ByteBuffer;
 import com.lambdaworks.redis.codec.RedisCodec;
 import com.lambdaworks.redis.protocol.CommandOutput;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * Key output.
  * 
@@ -17,11 +19,16 @@ import com.lambdaworks.redis.protocol.CommandOutput;
  */
 public class KeyOutput<K, V> extends CommandOutput<K, V, K> {
     public KeyOutput(RedisCodec<K, V> codec) {
-        super(codec, null);
+        super(codec, null, KeyOutput.class);
     }
 
     @Override
     public void set(ByteBuffer bytes) {
         output = (bytes == null) ? null : codec.decodeKey(bytes);
     }
+
+    @Override
+    protected void setBytes(ByteBuf buffer, int offset, int length) {
+        output = codec.decodeKey(buffer, offset, length);
+    }
 }
@@ -5,6 +5,8 @@ import java.nio.ByteBuffer;
 import com.lambdaworks.redis.codec.RedisCodec;
 import com.lambdaworks.redis.protocol.CommandOutput;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * Streaming-Output of Keys. Returns the count of all keys (including null).
  * 
@@ -17,7 +19,7 @@ public class KeyStreamingOutput<K, V> extends CommandOutput<K, V, Long> {
     private final KeyStreamingChannel<K> channel;
 
     public KeyStreamingOutput(RedisCodec<K, V> codec, KeyStreamingChannel<K> channel) {
-        super(codec, Long.valueOf(0));
+        super(codec, Long.valueOf(0), KeyStreamingOutput.class);
         this.channel = channel;
     }
 
@@ -28,4 +30,11 @@ public class KeyStreamingOutput<K, V> extends CommandOutput<K, V, Long> {
         output = output.longValue() + 1;
     }
 
+    @Override
+    protected void setBytes(ByteBuf buffer, int offset, int length) {
+
+        channel.onKey(codec.decodeKey(buffer, offset, length));
+        output = output.longValue() + 1;
+    }
+
 }
@@ -0,0 +1,66 @@
+package com.lambdaworks.redis.output;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.lambdaworks.redis.codec.RedisCodec;
+import com.lambdaworks.redis.protocol.AsciiNumbers;
+import com.lambdaworks.redis.protocol.CommandOutput;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * {@code long[]} output of integers or ASCII encoded integers. Values are parsed from the reply without boxing and without
+ * using the codec. Null values are reported as {@code nilValue}.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+public class LongArrayOutput<K, V> extends CommandOutput<K, V, long[]> {
+
+    private final long nilValue;
+    private int index;
+
+    public LongArrayOutput(RedisCodec<K, V> codec, long nilValue) {
+        super(codec, new long[0], LongArrayOutput.class);
+        this.nilValue = nilValue;
+    }
+
+    @Override
+    public void set(ByteBuffer bytes) {
+        add(bytes == null ? nilValue : AsciiNumbers.parseLong(bytes));
+    }
+
+    @Override
+    protected void setBytes(ByteBuf buffer, int offset, int length) {
+        add(AsciiNumbers.parseLong(buffer, offset, length));
+    }
+
+    @Override
+    public void set(long integer) {
+        add(integer);
+    }
+
+    @Override
+    public void multi(int count) {
+        if (index == 0 && output.length < count) {
+            output = new long[count];
+        }
+    }
+
+    @Override
+    public void complete(int depth) {
+        if (depth == 0 && index != output.length) {
+            output = Arrays.copyOf(output, index);
+        }
+    }
+
+    private void add(long value) {
+        if (index == output.length) {
+            output = Arrays.copyOf(output, Math.max(8, index * 2));
+        }
+        output[index++] = value;
+    }
+}
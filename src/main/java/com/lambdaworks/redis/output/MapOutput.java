@@ -9,6 +9,8 @@ import java.util.Map;
 import com.lambdaworks.redis.codec.RedisCodec;
 import com.lambdaworks.redis.protocol.CommandOutput;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * {@link Map} of keys and values output.
  *
@@ -21,7 +23,7 @@ public class MapOutput<K, V> extends CommandOutput<K, V, Map<K, V>> {
     private K key;
 
     public MapOutput(RedisCodec<K, V> codec) {
-        super(codec, new HashMap<K, V>());
+        super(codec, new HashMap<K, V>(), MapOutput.class);
     }
 
     @Override
@@ -36,6 +38,17 @@ public class MapOutput<K, V> extends CommandOutput<K, V, Map<K, V>> {
         key = null;
     }
 
+    @Override
+    protected void setBytes(ByteBuf buffer, int offset, int length) {
+        if (key == null) {
+            key = codec.decodeKey(buffer, offset, length);
+            return;
+        }
+
+        output.put(key, codec.decodeValue(buffer, offset, length));
+        key = null;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public void set(long integer) {
@@ -13,6 +13,8 @@ import com.lambdaworks.redis.codec.RedisCodec;
 import com.lambdaworks.redis.protocol.CommandOutput;
 import com.lambdaworks.redis.protocol.RedisCommand;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * Output of all commands within a MULTI block.
  * 
@@ -24,7 +26,7 @@ public class MultiOutput<K, V> extends CommandOutput<K, V, List<Object>> {
     private final Queue<RedisCommand<K, V, ?>> queue;
 
     public MultiOutput(RedisCodec<K, V> codec) {
-        super(codec, new ArrayList<Object>());
+        super(codec, new ArrayList<Object>(), MultiOutput.class);
         queue = new LinkedList<RedisCommand<K, V, ?>>();
     }
 
@@ -54,6 +56,14 @@ public class MultiOutput<K, V> extends CommandOutput<K, V, List<Object>> {
         }
     }
 
+    @Override
+    protected void setBytes(ByteBuf buffer, int offset, int length) {
+        RedisCommand<K, V, ?> command = queue.peek();
+        if (command != null && command.getOutput() != null) {
+            command.getOutput().set(buffer, offset, length);
+        }
+    }
+
     @Override
     public void setError(ByteBuffer error) {
         CommandOutput<K, V, ?> output = queue.isEmpty() ? this : queue.peek().getOutput();
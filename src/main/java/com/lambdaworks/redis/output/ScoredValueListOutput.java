@@ -8,8 +8,11 @@ import java.util.List;
 
 import com.lambdaworks.redis.ScoredValue;
 import com.lambdaworks.redis.codec.RedisCodec;
+import com.lambdaworks.redis.protocol.AsciiNumbers;
 import com.lambdaworks.redis.protocol.CommandOutput;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * {@link List} of values and their associated scores.
  * 
@@ -22,7 +25,7 @@ public class ScoredValueListOutput<K, V> extends CommandOutput<K, V, List<Scored
     private V value;
 
     public ScoredValueListOutput(RedisCodec<K, V> codec) {
-        super(codec, new ArrayList<ScoredValue<V>>());
+        super(codec, new ArrayList<ScoredValue<V>>(), ScoredValueListOutput.class);
     }
 
     @Override
@@ -32,7 +35,19 @@ public class ScoredValueListOutput<K, V> extends CommandOutput<K, V, List<Scored
             return;
         }
 
-        double score = Double.parseDouble(decodeAscii(bytes));
+        double score = AsciiNumbers.parseDouble(bytes);
+        output.add(new ScoredValue<V>(score, value));
+        value = null;
+    }
+
+    @Override
+    protected void setBytes(ByteBuf buffer, int offset, int length) {
+        if (value == null) {
+            value = codec.decodeValue(buffer, offset, length);
+            return;
+        }
+
+        double score = AsciiNumbers.parseDouble(buffer, offset, length);
         output.add(new ScoredValue<V>(score, value));
         value = null;
     }
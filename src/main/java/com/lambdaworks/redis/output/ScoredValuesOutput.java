@@ -0,0 +1,60 @@
+package com.lambdaworks.redis.output;
+
+import java.nio.ByteBuffer;
+
+import com.lambdaworks.redis.ScoredValues;
+import com.lambdaworks.redis.codec.RedisCodec;
+import com.lambdaworks.redis.protocol.AsciiNumbers;
+import com.lambdaworks.redis.protocol.CommandOutput;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * {@link ScoredValues} output of values and their associated scores. Collects values and primitive scores in parallel arrays
+ * sized by the reply, without a {@link com.lambdaworks.redis.ScoredValue} per element.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+public class ScoredValuesOutput<K, V> extends CommandOutput<K, V, ScoredValues<V>> {
+
+    private Object[] values = new Object[0];
+    private double[] scores = new double[0];
+    private int index;
+    private boolean score;
+
+    public ScoredValuesOutput(RedisCodec<K, V> codec) {
+        super(codec, new ScoredValues<V>(new Object[0], new double[0]), ScoredValuesOutput.class);
+    }
+
+    @Override
+    public void set(ByteBuffer bytes) {
+        if (!score) {
+            values[index] = codec.decodeValue(bytes);
+        } else {
+            scores[index++] = AsciiNumbers.parseDouble(bytes);
+        }
+        score = !score;
+    }
+
+    @Override
+    protected void setBytes(ByteBuf buffer, int offset, int length) {
+        if (!score) {
+            values[index] = codec.decodeValue(buffer, offset, length);
+        } else {
+            scores[index++] = AsciiNumbers.parseDouble(buffer, offset, length);
+        }
+        score = !score;
+    }
+
+    @Override
+    public void multi(int count) {
+        if (index == 0 && !score) {
+            values = new Object[count / 2];
+            scores = new double[count / 2];
+            output = new ScoredValues<V>(values, scores);
+        }
+    }
+}
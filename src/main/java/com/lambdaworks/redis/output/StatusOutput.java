@@ -7,6 +7,8 @@ import java.nio.ByteBuffer;
 import com.lambdaworks.redis.codec.RedisCodec;
 import com.lambdaworks.redis.protocol.CommandOutput;
 
+import io.netty.buffer.ByteBuf;
+
 import static com.lambdaworks.redis.protocol.LettuceCharsets.buffer;
 
 /**
@@ -20,11 +22,20 @@ public class StatusOutput<K, V> extends CommandOutput<K, V, String> {
     private static final ByteBuffer OK = buffer("OK");
 
     public StatusOutput(RedisCodec<K, V> codec) {
-        super(codec, null);
+        super(codec, null, StatusOutput.class);
     }
 
     @Override
     public void set(ByteBuffer bytes) {
         output = OK.equals(bytes) ? "OK" : decodeAscii(bytes);
     }
+
+    @Override
+    protected void setBytes(ByteBuf buffer, int offset, int length) {
+        if (length == 2 && buffer.getByte(offset) == 'O' && buffer.getByte(offset + 1) == 'K') {
+            output = "OK";
+            return;
+        }
+        output = decodeAscii(buffer, offset, length);
+    }
 }
@@ -9,6 +9,8 @@ import java.util.List;
 import com.lambdaworks.redis.codec.RedisCodec;
 import com.lambdaworks.redis.protocol.CommandOutput;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * {@link List} of values output.
  * 
@@ -19,11 +21,16 @@ import com.lambdaworks.redis.protocol.CommandOutput;
  */
 public class ValueListOutput<K, V> extends CommandOutput<K, V, List<V>> {
     public ValueListOutput(RedisCodec<K, V> codec) {
-        super(codec, new ArrayList<V>());
+        super(codec, new ArrayList<V>(), ValueListOutput.class);
     }
 
     @Override
     public void set(ByteBuffer bytes) {
         output.add(bytes == null ? null : codec.decodeValue(bytes));
     }
+
+    @Override
+    protected void setBytes(ByteBuf buffer, int offset, int length) {
+        output.add(codec.decodeValue(buffer, offset, length));
+    }
 }
@@ -7,6 +7,8 @@ import java.nio.ByteBuffer;
 import com.lambdaworks.redis.codec.RedisCodec;
 import com.lambdaworks.redis.protocol.CommandOutput;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * Value output.
  * 
@@ -17,11 +19,16 @@ import com.lambdaworks.redis.protocol.CommandOutput;
  */
 public class ValueOutput<K, V> extends CommandOutput<K, V, V> {
     public ValueOutput(RedisCodec<K, V> codec) {
-        super(codec, null);
+        super(codec, null, ValueOutput.class);
     }
 
     @Override
     public void set(ByteBuffer bytes) {
         output = (bytes == null) ? null : codec.decodeValue(bytes);
     }
+
+    @Override
+    protected void setBytes(ByteBuf buffer, int offset, int length) {
+        output = codec.decodeValue(buffer, offset, length);
+    }
 }
@@ -9,6 +9,8 @@ import java.util.Set;
 import com.lambdaworks.redis.codec.RedisCodec;
 import com.lambdaworks.redis.protocol.CommandOutput;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * {@link Set} of value output.
  * 
@@ -19,11 +21,16 @@ import com.lambdaworks.redis.protocol.CommandOutput;
  */
 public class ValueSetOutput<K, V> extends CommandOutput<K, V, Set<V>> {
     public ValueSetOutput(RedisCodec<K, V> codec) {
-        super(codec, new HashSet<V>());
+        super(codec, new HashSet<V>(), ValueSetOutput.class);
     }
 
     @Override
     public void set(ByteBuffer bytes) {
         output.add(bytes == null ? null : codec.decodeValue(bytes));
     }
+
+    @Override
+    protected void setBytes(ByteBuf buffer, int offset, int length) {
+        output.add(codec.decodeValue(buffer, offset, length));
+    }
 }
@@ -5,6 +5,8 @@ import java.nio.ByteBuffer;
 import com.lambdaworks.redis.codec.RedisCodec;
 import com.lambdaworks.redis.protocol.CommandOutput;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * Streaming-Output of Values. Returns the count of all values (including null).
  * 
@@ -16,7 +18,7 @@ public class ValueStreamingOutput<K, V> extends CommandOutput<K, V, Long> {
     private final ValueStreamingChannel<V> channel;
 
     public ValueStreamingOutput(RedisCodec<K, V> codec, ValueStreamingChannel<V> channel) {
-        super(codec, Long.valueOf(0));
+        super(codec, Long.valueOf(0), ValueStreamingOutput.class);
         this.channel = channel;
     }
 
@@ -27,4 +29,11 @@ public class ValueStreamingOutput<K, V> extends CommandOutput<K, V, Long> {
         output = output.longValue() + 1;
     }
 
+    @Override
+    protected void setBytes(ByteBuf buffer, int offset, int length) {
+
+        channel.onValue(codec.decodeValue(buffer, offset, length));
+        output = output.longValue() + 1;
+    }
+
 }
@@ -0,0 +1,275 @@
+package com.lambdaworks.redis.protocol;
+
+import java.nio.ByteBuffer;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Parsing and formatting of ASCII encoded numbers as used by Redis replies, without creating intermediate {@link String
+ * strings}. Doubles with up to 15 significant digits and a decimal exponent of at most 22 are parsed exactly from the bytes,
+ * other doubles are parsed by {@link Double#parseDouble(String)}. {@literal inf}, {@literal +inf} and {@literal -inf} are
+ * parsed to infinity.
+ *
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+public class AsciiNumbers {
+
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes(LettuceCharsets.ASCII);
+
+    private static final long MULTIPLY_MIN = Long.MIN_VALUE / 10;
+
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13,
+            1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    /**
+     * Utility constructor.
+     */
+    private AsciiNumbers() {
+
+    }
+
+    /**
+     * Parse a signed 64 bit integer from {@code length} bytes starting at {@code offset} within {@code buffer}.
+     *
+     * @param buffer the buffer
+     * @param offset index of the first byte
+     * @param length number of bytes
+     * @return the parsed value
+     * @throws NumberFormatException if the bytes are not a valid integer
+     */
+    public static long parseLong(ByteBuf buffer, int offset, int length) {
+        if (length == 0) {
+            throw new NumberFormatException("Empty value");
+        }
+
+        byte sign = buffer.getByte(offset);
+        boolean negative = sign == '-';
+        int index = negative || sign == '+' ? 1 : 0;
+        if (index == length) {
+            throw new NumberFormatException(invalid(buffer, offset, length, "integer"));
+        }
+
+        // accumulate negatively to cover Long.MIN_VALUE
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long value = 0;
+        for (; index < length; index++) {
+            int digit = buffer.getByte(offset + index) - '0';
+            if (digit < 0 || digit > 9 || value < MULTIPLY_MIN) {
+                throw new NumberFormatException(invalid(buffer, offset, length, "integer"));
+            }
+
+            value *= 10;
+            if (value < limit + digit) {
+                throw new NumberFormatException(invalid(buffer, offset, length, "integer"));
+            }
+            value -= digit;
+        }
+
+        return negative ? value : -value;
+    }
+
+    /**
+     * Parse a signed 64 bit integer from the remaining bytes of {@code bytes}. The buffer position is not changed.
+     *
+     * @param bytes the bytes
+     * @return the parsed value
+     * @throws NumberFormatException if the bytes are not a valid integer
+     */
+    public static long parseLong(ByteBuffer bytes) {
+        return parseLong(Unpooled.wrappedBuffer(bytes), 0, bytes.remaining());
+    }
+
+    /**
+     * Parse a double from {@code length} bytes starting at {@code offset} within {@code buffer}.
+     *
+     * @param buffer the buffer
+     * @param offset index of the first byte
+     * @param length number of bytes
+     * @return the parsed value
+     * @throws NumberFormatException if the bytes are not a valid number
+     */
+    public static double parseDouble(ByteBuf buffer, int offset, int length) {
+        if (length == 0) {
+            throw new NumberFormatException("Empty value");
+        }
+
+        int index = 0;
+        byte sign = buffer.getByte(offset);
+        boolean negative = sign == '-';
+        if (negative || sign == '+') {
+            index++;
+        }
+
+        if (isInfinity(buffer, offset + index, length - index)) {
+            return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean fraction = false;
+        boolean anyDigit = false;
+
+        for (; index < length; index++) {
+            byte b = buffer.getByte(offset + index);
+            if (b >= '0' && b <= '9') {
+                anyDigit = true;
+                if (mantissa == 0 && b == '0') {
+                    if (fraction) {
+                        exponent--;
+                    }
+                    continue;
+                }
+
+                if (++digits > MAX_EXACT_DIGITS) {
+                    return slowParseDouble(buffer, offset, length);
+                }
+
+                mantissa = mantissa * 10 + (b - '0');
+                if (fraction) {
+                    exponent--;
+                }
+            } else if (b == '.' && !fraction) {
+                fraction = true;
+            } else if ((b == 'e' || b == 'E') && anyDigit) {
+                break;
+            } else {
+                throw new NumberFormatException(invalid(buffer, offset, length, "number"));
+            }
+        }
+
+        if (!anyDigit) {
+            throw new NumberFormatException(invalid(buffer, offset, length, "number"));
+        }
+
+        if (index < length) {
+            exponent += parseExponent(buffer, offset, length, index + 1);
+        }
+
+        // mantissa and power of ten are exact, so a single multiplication or division rounds correctly
+        double value;
+        if (mantissa == 0) {
+            value = 0;
+        } else if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+            value = (double) mantissa * POWERS_OF_TEN[exponent];
+        } else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+            value = (double) mantissa / POWERS_OF_TEN[-exponent];
+        } else {
+            return slowParseDouble(buffer, offset, length);
+        }
+
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parse a double from the remaining bytes of {@code bytes}. The buffer position is not changed.
+     *
+     * @param bytes the bytes
+     * @return the parsed value
+     * @throws NumberFormatException if the bytes are not a valid number
+     */
+    public static double parseDouble(ByteBuffer bytes) {
+        return parseDouble(Unpooled.wrappedBuffer(bytes), 0, bytes.remaining());
+    }
+
+    /**
+     * Format a signed 64 bit integer as ASCII bytes.
+     *
+     * @param value the value
+     * @return the ASCII bytes
+     */
+    public static byte[] toBytes(long value) {
+        if (value == Long.MIN_VALUE) {
+            return MIN_LONG.clone();
+        }
+
+        boolean negative = value < 0;
+        long remaining = negative ? -value : value;
+
+        int length = negative ? 2 : 1;
+        for (long rest = remaining; rest >= 10; rest /= 10) {
+            length++;
+        }
+
+        byte[] bytes = new byte[length];
+        for (int i = length - 1; i >= (negative ? 1 : 0); i--) {
+            bytes[i] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+
+        if (negative) {
+            bytes[0] = '-';
+        }
+        return bytes;
+    }
+
+    /**
+     * Format a double as ASCII bytes. Infinity is formatted as {@literal inf} and {@literal -inf}.
+     *
+     * @param value the value
+     * @return the ASCII bytes
+     */
+    public static byte[] toBytes(double value) {
+        if (value == (long) value && Math.abs(value) < 1e15 && !(value == 0 && 1 / value < 0)) {
+            return toBytes((long) value);
+        }
+
+        if (Double.isInfinite(value)) {
+            return (value > 0 ? "inf" : "-inf").getBytes(LettuceCharsets.ASCII);
+        }
+
+        return Double.toString(value).getBytes(LettuceCharsets.ASCII);
+    }
+
+    private static int parseExponent(ByteBuf buffer, int offset, int length, int index) {
+        if (index == length) {
+            throw new NumberFormatException(invalid(buffer, offset, length, "number"));
+        }
+
+        byte sign = buffer.getByte(offset + index);
+        boolean negative = sign == '-';
+        if (negative || sign == '+') {
+            index++;
+        }
+
+        if (index == length) {
+            throw new NumberFormatException(invalid(buffer, offset, length, "number"));
+        }
+
+        int exponent = 0;
+        for (; index < length; index++) {
+            int digit = buffer.getByte(offset + index) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException(invalid(buffer, offset, length, "number"));
+            }
+            exponent = Math.min(exponent * 10 + digit, 100000);
+        }
+
+        return negative ? -exponent : exponent;
+    }
+
+    private static boolean isInfinity(ByteBuf buffer, int offset, int length) {
+        return length == 3 && (buffer.getByte(offset) | 0x20) == 'i' && (buffer.getByte(offset + 1) | 0x20) == 'n'
+                && (buffer.getByte(offset + 2) | 0x20) == 'f';
+    }
+
+    private static double slowParseDouble(ByteBuf buffer, int offset, int length) {
+        return Double.parseDouble(ascii(buffer, offset, length));
+    }
+
+    private static String invalid(ByteBuf buffer, int offset, int length, String type) {
+        return "Invalid " + type + ": " + ascii(buffer, offset, length);
+    }
+
+    private static String ascii(ByteBuf buffer, int offset, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) buffer.getByte(offset + i);
+        }
+        return new String(chars);
+    }
+}
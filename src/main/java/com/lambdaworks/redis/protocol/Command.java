@@ -2,17 +2,28 @@
 
 package com.lambdaworks.redis.protocol;
 
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
 
-import com.google.common.util.concurrent.AbstractFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.lambdaworks.redis.LettuceFutures;
+import com.lambdaworks.redis.RedisCommandExecutionException;
 import com.lambdaworks.redis.RedisCommandInterruptedException;
+import com.lambdaworks.redis.RedisFuture;
+
 import io.netty.buffer.ByteBuf;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
 
 /**
  * A redis command and its result. All successfully executed commands will eventually return a {@link CommandOutput} object.
+ * The completion state is a single atomically updated field, waiting threads and listeners are kept in a lock-free stack.
  * 
  * @param <K> Key type.
  * @param <V> Value type.
@@ -20,18 +31,38 @@ import io.netty.buffer.ByteBuf;
  * 
  * @author Will Glozer
  */
-public class Command<K, V, T> extends AbstractFuture<T> implements RedisCommand<K, V, T> {
+public class Command<K, V, T> implements RedisCommand<K, V, T> {
 
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(Command.class);
     private static final byte[] CRLF = "\r\n".getBytes(LettuceCharsets.ASCII);
 
+    /**
+     * Completion states. Positive values are the number of {@link #complete()} calls until the command is done.
+     */
+    private static final int COMPLETED = 0;
+    private static final int CANCELLED = -1;
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<Command> STATE = AtomicIntegerFieldUpdater.newUpdater(Command.class,
+            "state");
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Command, Waiter> WAITERS = AtomicReferenceFieldUpdater.newUpdater(
+            Command.class, Waiter.class, "waiters");
+
+    /**
+     * Marks the waiter stack of a done command.
+     */
+    private static final Waiter RELEASED = new Waiter(null, null, null);
+
     protected CommandArgs<K, V> args;
     protected CommandOutput<K, V, T> output;
-    protected CountDownLatch latch;
 
     private final ProtocolKeyword type;
     private boolean multi;
-    private Throwable exception;
-    private boolean cancelled = false;
+    private volatile Throwable exception;
+    private volatile int state;
+    private volatile Waiter waiters;
 
     /**
      * Create a new command with the supplied type and args.
@@ -60,7 +91,7 @@ public class Command<K, V, T> extends AbstractFuture<T> implements RedisCommand<
     }
 
     public void setMulti(boolean multi) {
-        this.latch = new CountDownLatch(multi ? 2 : 1);
+        this.state = multi ? 2 : 1;
         this.multi = multi;
     }
 
@@ -68,13 +99,23 @@ public class Command<K, V, T> extends AbstractFuture<T> implements RedisCommand<
         return multi;
     }
 
-    @Override
-    protected void interruptTask() {
-        cancelled = true;
+    /**
+     * 
+     * @return the command type.
+     */
+    public ProtocolKeyword getType() {
+        return type;
+    }
 
-        if (latch.getCount() == 1) {
-            latch.countDown();
-        }
+    /**
+     * Cancel the command. Waiting threads and listeners are notified.
+     * 
+     * @param mayInterruptIfRunning ignored, a command cannot be interrupted.
+     * @return {@literal false} if the command was already done.
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        return transition(CANCELLED);
     }
 
     /**
@@ -84,7 +125,7 @@ public class Command<K, V, T> extends AbstractFuture<T> implements RedisCommand<
      */
     @Override
     public boolean isCancelled() {
-        return latch.getCount() == 0 && cancelled;
+        return state == CANCELLED;
     }
 
     /**
@@ -94,7 +135,7 @@ public class Command<K, V, T> extends AbstractFuture<T> implements RedisCommand<
      */
     @Override
     public boolean isDone() {
-        return latch.getCount() == 0;
+        return state <= COMPLETED;
     }
 
     /**
@@ -105,15 +146,11 @@ public class Command<K, V, T> extends AbstractFuture<T> implements RedisCommand<
     @Override
     public T get() throws ExecutionException {
         try {
-            latch.await();
-            if (exception != null) {
-                throw new ExecutionException(exception);
-            }
-
-            return output.get();
+            awaitDone(false, 0);
         } catch (InterruptedException e) {
             throw new RedisCommandInterruptedException(e);
         }
+        return getResult();
     }
 
     /**
@@ -129,16 +166,13 @@ public class Command<K, V, T> extends AbstractFuture<T> implements RedisCommand<
     @Override
     public T get(long timeout, TimeUnit unit) throws TimeoutException, ExecutionException {
         try {
-            if (!latch.await(timeout, unit)) {
+            if (!awaitDone(true, unit.toNanos(timeout))) {
                 throw new TimeoutException("Command timed out");
             }
         } catch (InterruptedException e) {
             throw new RedisCommandInterruptedException(e);
         }
-        if (exception != null) {
-            throw new ExecutionException(exception);
-        }
-        return output.get();
+        return getResult();
     }
 
     /**
@@ -152,12 +186,57 @@ public class Command<K, V, T> extends AbstractFuture<T> implements RedisCommand<
     @Override
     public boolean await(long timeout, TimeUnit unit) {
         try {
-            return latch.await(timeout, unit);
+            return awaitDone(true, unit.toNanos(timeout));
         } catch (InterruptedException e) {
             throw new RedisCommandInterruptedException(e);
         }
     }
 
+    /**
+     * Register a listener that is run on the supplied executor once the command is done. Listeners of a done command are run
+     * immediately.
+     * 
+     * @param listener the listener to run
+     * @param executor the executor to run the listener on
+     */
+    @Override
+    public void addListener(Runnable listener, Executor executor) {
+        if (listener == null || executor == null) {
+            throw new NullPointerException("listener and executor must not be null");
+        }
+
+        if (!push(new Waiter(null, listener, executor))) {
+            execute(listener, executor);
+        }
+    }
+
+    /**
+     * Register a callback that is invoked by the thread completing the command, without an intermediate listener.
+     * {@link LettuceFutures#addCallback(RedisFuture, FutureCallback)} uses this method for commands.
+     * 
+     * @param callback the callback to notify
+     */
+    public void addCallback(FutureCallback<? super T> callback) {
+        addCallback(callback, null);
+    }
+
+    /**
+     * Register a callback that is notified on the supplied executor once the command is done.
+     * 
+     * @param callback the callback to notify
+     * @param executor the executor to notify the callback on, {@literal null} to notify on the completing thread
+     */
+    public void addCallback(FutureCallback<? super T> callback, Executor executor) {
+        if (callback == null) {
+            throw new NullPointerException("callback must not be null");
+        }
+
+        CallbackWaiter waiter = new CallbackWaiter(callback, executor);
+        if (!push(waiter)) {
+            waiter.release();
+        }
+    }
+
     /**
      * Get the object that holds this command's output.
      * 
@@ -173,12 +252,21 @@ public class Command<K, V, T> extends AbstractFuture<T> implements RedisCommand<
      */
     @Override
     public void complete() {
-        latch.countDown();
-        if (latch.getCount() == 0) {
-            if (output == null) {
-                set(null);
-            } else {
-                set(output.get());
+        for (;;) {
+            int current = state;
+            if (current <= COMPLETED) {
+                return;
+            }
+
+            if (current > 1) {
+                if (STATE.compareAndSet(this, current, current - 1)) {
+                    return;
+                }
+                continue;
+            }
+
+            if (transition(COMPLETED)) {
+                return;
             }
         }
     }
@@ -200,10 +288,25 @@ public class Command<K, V, T> extends AbstractFuture<T> implements RedisCommand<
         buf.writeBytes(type.getBytes());
         buf.writeBytes(CRLF);
         if (args != null) {
-            buf.writeBytes(args.buffer());
+            args.encode(buf);
         }
     }
 
+    /**
+     * Compute the number of bytes written by {@link #encode(ByteBuf)}.
+     * 
+     * @return the encoded length in bytes.
+     */
+    public int getEncodedLength() {
+        int typeLength = type.getBytes().length;
+        int length = 1 + CommandArgs.decimalLength(1 + (args != null ? args.count() : 0)) + CRLF.length;
+        length += 1 + CommandArgs.decimalLength(typeLength) + CRLF.length + typeLength + CRLF.length;
+        if (args != null) {
+            length += args.getEncodedLength();
+        }
+        return length;
+    }
+
     /**
      * Write the textual value of a positive integer to the supplied buffer.
      *
@@ -211,21 +314,7 @@ public class Command<K, V, T> extends AbstractFuture<T> implements RedisCommand<
      * @param value Value to write.
      */
     protected static void writeInt(ByteBuf buf, int value) {
-        if (value < 10) {
-            buf.writeByte('0' + value);
-            return;
-        }
-
-        StringBuilder sb = new StringBuilder(8);
-        while (value > 0) {
-            int digit = value % 10;
-            sb.append((char) ('0' + digit));
-            value /= 10;
-        }
-
-        for (int i = sb.length() - 1; i >= 0; i--) {
-            buf.writeByte(sb.charAt(i));
-        }
+        CommandArgs.writeLong(buf, value);
     }
 
     @Override
@@ -262,4 +351,247 @@ public class Command<K, V, T> extends AbstractFuture<T> implements RedisCommand<
         return true;
     }
 
+    private T getResult() throws ExecutionException {
+        Throwable exception = this.exception;
+        if (exception != null) {
+            throw new ExecutionException(exception);
+        }
+
+        return output != null ? output.get() : null;
+    }
+
+    /**
+     * Move the command into a done state and release waiting threads and listeners.
+     * 
+     * @param target {@link #COMPLETED} or {@link #CANCELLED}
+     * @return {@literal true} if the command was not done before.
+     */
+    private boolean transition(int target) {
+        for (;;) {
+            int current = state;
+            if (current <= COMPLETED) {
+                return false;
+            }
+
+            if (STATE.compareAndSet(this, current, target)) {
+                release();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Wait until the command is done.
+     * 
+     * @param timed {@literal true} to wait at most {@code nanos}
+     * @param nanos the maximum time to wait
+     * @return {@literal true} if the command is done, {@literal false} if the wait timed out.
+     * @throws InterruptedException if the current thread was interrupted while waiting.
+     */
+    private boolean awaitDone(boolean timed, long nanos) throws InterruptedException {
+
+        if (isDone()) {
+            return true;
+        }
+
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+
+        if (timed && nanos <= 0) {
+            return false;
+        }
+
+        Waiter node = new Waiter(Thread.currentThread(), null, null);
+        if (!push(node)) {
+            return true;
+        }
+
+        long deadline = timed ? System.nanoTime() + nanos : 0;
+        while (!isDone()) {
+
+            if (timed) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    removeWaiter(node);
+                    return false;
+                }
+                LockSupport.parkNanos(this, remaining);
+            } else {
+                LockSupport.park(this);
+            }
+
+            if (Thread.interrupted()) {
+                removeWaiter(node);
+                throw new InterruptedException();
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Unlink a waiter that gave up waiting so timed out or interrupted waits do not accumulate on the waiter stack. The
+     * waiter is marked as removed first, so it is skipped if the command completes concurrently. Unlinking restarts from the
+     * head when racing with another removal.
+     */
+    private void removeWaiter(Waiter node) {
+
+        node.removed = true;
+
+        retry: for (;;) {
+            Waiter pred = null;
+            Waiter current = waiters;
+            while (current != null && current != RELEASED) {
+                Waiter next = current.next;
+                if (!current.removed) {
+                    pred = current;
+                } else if (pred != null) {
+                    pred.next = next;
+                    if (pred.removed) {
+                        continue retry;
+                    }
+                } else if (!WAITERS.compareAndSet(this, current, next)) {
+                    continue retry;
+                }
+                current = next;
+            }
+            return;
+        }
+    }
+
+    /**
+     * Push a waiter onto the waiter stack.
+     * 
+     * @return {@literal false} if the command is already done and the waiter was not added.
+     */
+    private boolean push(Waiter waiter) {
+        for (;;) {
+            Waiter head = waiters;
+            if (head == RELEASED) {
+                return false;
+            }
+
+            waiter.next = head;
+            if (WAITERS.compareAndSet(this, head, waiter)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Wake up waiting threads and run listeners in the order they were registered.
+     */
+    private void release() {
+
+        Waiter head = WAITERS.getAndSet(this, RELEASED);
+        if (head == null) {
+            return;
+        }
+
+        if (head.next == null) {
+            if (!head.removed) {
+                head.release();
+            }
+            return;
+        }
+
+        // the stack is not reversed in place because removed waiters might still be unlinked concurrently
+        int count = 0;
+        for (Waiter waiter = head; waiter != null; waiter = waiter.next) {
+            count++;
+        }
+
+        Waiter[] ordered = new Waiter[count];
+        for (Waiter waiter = head; waiter != null && count > 0; waiter = waiter.next) {
+            ordered[--count] = waiter;
+        }
+
+        for (Waiter waiter : ordered) {
+            if (waiter != null && !waiter.removed) {
+                waiter.release();
+            }
+        }
+    }
+
+    /**
+     * Notify the callback about the outcome of this command. Runtime exceptions of the callback are logged and do not
+     * propagate to the completing thread.
+     */
+    private void notifyCallback(FutureCallback<? super T> callback) {
+        try {
+            if (state == CANCELLED) {
+                callback.onFailure(new CancellationException());
+            } else if (exception != null) {
+                callback.onFailure(exception);
+            } else if (output != null && output.hasError()) {
+                callback.onFailure(new RedisCommandExecutionException(output.getError()));
+            } else {
+                callback.onSuccess(output != null ? output.get() : null);
+            }
+        } catch (RuntimeException e) {
+            logger.error("RuntimeException while notifying callback " + callback, e);
+        }
+    }
+
+    private static void execute(Runnable listener, Executor executor) {
+        try {
+            executor.execute(listener);
+        } catch (RuntimeException e) {
+            logger.error("RuntimeException while executing runnable " + listener + " with executor " + executor, e);
+        }
+    }
+
+    /**
+     * Node of the waiter stack, either a waiting thread or a listener.
+     */
+    private static class Waiter {
+
+        final Thread thread;
+        final Runnable listener;
+        final Executor executor;
+        volatile Waiter next;
+        volatile boolean removed;
+
+        Waiter(Thread thread, Runnable listener, Executor executor) {
+            this.thread = thread;
+            this.listener = listener;
+            this.executor = executor;
+        }
+
+        void release() {
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            } else {
+                execute(listener, executor);
+            }
+        }
+    }
+
+    /**
+     * Waiter notifying a {@link FutureCallback}. Runs the callback directly if no executor is set.
+     */
+    private class CallbackWaiter extends Waiter implements Runnable {
+
+        final FutureCallback<? super T> callback;
+
+        CallbackWaiter(FutureCallback<? super T> callback, Executor executor) {
+            super(null, null, executor);
+            this.callback = callback;
+        }
+
+        @Override
+        void release() {
+            if (executor == null) {
+                run();
+            } else {
+                execute(this, executor);
+            }
+        }
+
+        @Override
+        public void run() {
+            notifyCallback(callback);
+        }
+    }
 }
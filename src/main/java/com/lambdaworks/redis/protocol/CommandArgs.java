@@ -2,19 +2,22 @@
 
 package com.lambdaworks.redis.protocol;
 
-import static java.lang.Math.*;
-
-import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import com.lambdaworks.redis.codec.RedisCodec;
+import com.lambdaworks.redis.codec.ToByteBufEncoder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 
 /**
- * Redis command argument encoder.
- * 
+ * Redis command argument encoder. Arguments are kept as a list of typed segments and written once into the target buffer when
+ * the command is encoded. Keys and values are encoded directly into the target buffer if the codec implements
+ * {@link ToByteBufEncoder}.
+ *
  * @param <K> Key type.
  * @param <V> Value type.
  * @author Will Glozer
@@ -22,31 +25,55 @@ import com.lambdaworks.redis.codec.RedisCodec;
 public class CommandArgs<K, V> {
     private static final byte[] CRLF = "\r\n".getBytes(LettuceCharsets.ASCII);
 
+    /**
+     * Assumed size of arguments whose size is not known before encoding.
+     */
+    private static final int UNKNOWN_SIZE_ESTIMATE = 64;
+
     private final RedisCodec<K, V> codec;
-    private ByteBuffer buffer;
-    private int count;
+    private final ToByteBufEncoder<K, V> byteBufEncoder;
+    private final List<SingularArgument> singularArguments = new ArrayList<SingularArgument>(10);
     private final List<ProtocolKeyword> keywords = new ArrayList<ProtocolKeyword>(8);
     private K firstKey;
+    private KeyArgument firstKeyArgument;
     private byte[] encodedFirstKey;
 
+    @SuppressWarnings("unchecked")
     public CommandArgs(RedisCodec<K, V> codec) {
         this.codec = codec;
-        this.buffer = ByteBuffer.allocate(32);
+        this.byteBufEncoder = codec instanceof ToByteBufEncoder ? (ToByteBufEncoder<K, V>) codec : null;
     }
 
+    /**
+     *
+     * @return the encoded arguments in a new buffer.
+     * @deprecated use {@link #encode(ByteBuf)} to write the arguments directly into the target buffer.
+     */
+    @Deprecated
     public ByteBuffer buffer() {
-        buffer.flip();
-        return buffer;
+        ByteBuf buf = Unpooled.buffer();
+        encode(buf);
+        return buf.nioBuffer();
     }
 
     public int count() {
-        return count;
+        return singularArguments.size();
     }
 
     public CommandArgs<K, V> addKey(K key) {
         if (firstKey == null) {
             firstKey = key;
         }
+
+        if (byteBufEncoder != null) {
+            KeyArgument argument = new KeyArgument(key);
+            if (firstKeyArgument == null) {
+                firstKeyArgument = argument;
+            }
+            singularArguments.add(argument);
+            return this;
+        }
+
         byte[] b = codec.encodeKey(key);
         if (encodedFirstKey == null) {
             encodedFirstKey = b;
@@ -62,7 +89,7 @@ public class CommandArgs<K, V> {
     }
 
     public CommandArgs<K, V> addValue(V value) {
-        return write(codec.encodeValue(value));
+        return writeValue(value);
     }
 
     public CommandArgs<K, V> addValues(V... values) {
@@ -73,28 +100,26 @@ public class CommandArgs<K, V> {
     }
 
     public CommandArgs<K, V> add(Map<K, V> map) {
-        if (map.size() > 2) {
-            realloc(buffer.capacity() + 16 * map.size());
-        }
-
         for (Map.Entry<K, V> entry : map.entrySet()) {
-            write(codec.encodeKey(entry.getKey()));
-            write(codec.encodeValue(entry.getValue()));
+            writeKey(entry.getKey());
+            writeValue(entry.getValue());
         }
 
         return this;
     }
 
     public CommandArgs<K, V> add(String s) {
-        return write(s);
+        singularArguments.add(new StringArgument(s));
+        return this;
     }
 
     public CommandArgs<K, V> add(long n) {
-        return write(Long.toString(n));
+        singularArguments.add(new IntegerArgument(n));
+        return this;
     }
 
     public CommandArgs<K, V> add(double n) {
-        return write(Double.toString(n));
+        return add(Double.toString(n));
     }
 
     public CommandArgs<K, V> add(byte[] value) {
@@ -116,104 +141,337 @@ public class CommandArgs<K, V> {
     }
 
     private CommandArgs<K, V> write(byte[] arg) {
-        buffer.mark();
+        singularArguments.add(new BytesArgument(arg));
+        return this;
+    }
 
-        if (buffer.remaining() < arg.length) {
-            int estimate = buffer.remaining() + arg.length + 10;
-            realloc(max(buffer.capacity() * 2, estimate));
+    private CommandArgs<K, V> writeKey(K key) {
+        if (byteBufEncoder != null) {
+            singularArguments.add(new KeyArgument(key));
+            return this;
         }
+        return write(codec.encodeKey(key));
+    }
 
-        while (true) {
-            try {
-                buffer.put((byte) '$');
-                write(arg.length);
-                buffer.put(CRLF);
-                buffer.put(arg);
-                buffer.put(CRLF);
-                break;
-            } catch (BufferOverflowException e) {
-                buffer.reset();
-                realloc(buffer.capacity() * 2);
+    private CommandArgs<K, V> writeValue(V value) {
+        if (byteBufEncoder != null) {
+            singularArguments.add(new ValueArgument(value));
+            return this;
+        }
+        return write(codec.encodeValue(value));
+    }
+
+    /**
+     * Encode and write the arguments to the supplied buffer.
+     *
+     * @param buf Buffer to write to.
+     */
+    public void encode(ByteBuf buf) {
+        for (SingularArgument argument : singularArguments) {
+            argument.encode(buf);
+        }
+    }
+
+    /**
+     * Compute the number of bytes written by {@link #encode(ByteBuf)}. Arguments whose size is not known before encoding are
+     * estimated.
+     *
+     * @return the encoded length in bytes.
+     */
+    public int getEncodedLength() {
+        int length = 0;
+        for (SingularArgument argument : singularArguments) {
+            int argumentLength = argument.length();
+            if (argumentLength < 0) {
+                argumentLength = UNKNOWN_SIZE_ESTIMATE;
             }
+            length += 1 + decimalLength(argumentLength) + CRLF.length + argumentLength + CRLF.length;
         }
+        return length;
+    }
 
-        count++;
-        return this;
+    /**
+     * Returns the encoded first key, used to route the command to a cluster node. Keys encoded by a {@link ToByteBufEncoder}
+     * are encoded once on the first call and the encoded bytes are written when encoding the arguments.
+     *
+     * @return the encoded first key or {@literal null} if the arguments contain no key.
+     */
+    public byte[] getEncodedKey() {
+        if (encodedFirstKey == null && firstKeyArgument != null) {
+            encodedFirstKey = codec.encodeKey(firstKey);
+        }
+        return encodedFirstKey;
     }
 
-    private CommandArgs<K, V> write(String arg) {
-        int length = arg.length();
+    public List<ProtocolKeyword> getKeywords() {
+        return keywords;
+    }
 
-        buffer.mark();
+    @Override
+    public String toString() {
+        ByteBuf buf = Unpooled.buffer();
+        encode(buf);
 
-        if (buffer.remaining() < length) {
-            int estimate = buffer.remaining() + length + 10;
-            realloc(max(buffer.capacity() * 2, estimate));
+        final StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [firstKey=").append(firstKey);
+        sb.append(", keywords=").append(keywords);
+        sb.append(", buffer=").append(buf.toString(LettuceCharsets.ASCII));
+        sb.append(']');
+        return sb.toString();
+    }
+
+    /**
+     * Write the textual value of a {@code long} to the supplied buffer.
+     *
+     * @param buf Buffer to write to.
+     * @param value Value to write.
+     */
+    static void writeLong(ByteBuf buf, long value) {
+
+        if (value == Long.MIN_VALUE) {
+            buf.writeBytes(Long.toString(value).getBytes(LettuceCharsets.ASCII));
+            return;
         }
 
-        while (true) {
-            try {
-                buffer.put((byte) '$');
-                write(length);
-                buffer.put(CRLF);
-                for (int i = 0; i < length; i++) {
-                    buffer.put((byte) arg.charAt(i));
-                }
-                buffer.put(CRLF);
-                break;
-            } catch (BufferOverflowException e) {
-                buffer.reset();
-                realloc(buffer.capacity() * 2);
-            }
+        if (value < 0) {
+            buf.writeByte('-');
+            value = -value;
         }
 
-        count++;
-        return this;
+        int digits = decimalLength(value);
+        int index = buf.writerIndex() + digits;
+        buf.ensureWritable(digits);
+
+        do {
+            buf.setByte(--index, (int) ('0' + value % 10));
+            value /= 10;
+        } while (value > 0);
+
+        buf.writerIndex(buf.writerIndex() + digits);
     }
 
-    private void write(long value) {
+    /**
+     * 
+     * @param value the value
+     * @return the length of the textual value of {@code value} including the sign.
+     */
+    static int decimalLength(long value) {
 
-        if (value < 10) {
-            buffer.put((byte) ('0' + value));
-            return;
+        if (value == Long.MIN_VALUE) {
+            return 20;
         }
 
-        StringBuilder sb = new StringBuilder(8);
-        while (value > 0) {
-            long digit = value % 10;
-            sb.append((char) ('0' + digit));
+        int length = 1;
+        if (value < 0) {
+            value = -value;
+            length++;
+        }
+
+        while (value >= 10) {
             value /= 10;
+            length++;
         }
+        return length;
+    }
 
-        for (int i = sb.length() - 1; i >= 0; i--) {
-            buffer.put((byte) sb.charAt(i));
+    /**
+     * Single command argument segment.
+     */
+    static abstract class SingularArgument {
+
+        /**
+         *
+         * @return the length of the argument payload in bytes.
+         */
+        abstract int length();
+
+        /**
+         * Write the argument payload to the supplied buffer.
+         *
+         * @param buf Buffer to write to.
+         */
+        abstract void writePayload(ByteBuf buf);
+
+        /**
+         * Encode the argument as bulk string and write it to the supplied buffer.
+         *
+         * @param buf Buffer to write to.
+         */
+        void encode(ByteBuf buf) {
+            buf.writeByte('$');
+            writeLong(buf, length());
+            buf.writeBytes(CRLF);
+            writePayload(buf);
+            buf.writeBytes(CRLF);
         }
     }
 
-    private void realloc(int size) {
-        ByteBuffer newBuffer = ByteBuffer.allocate(size);
-        this.buffer.flip();
-        newBuffer.put(this.buffer);
-        newBuffer.mark();
-        this.buffer = newBuffer;
+    /**
+     * Binary argument, used for encoded keys, values and keywords.
+     */
+    static class BytesArgument extends SingularArgument {
+
+        final byte[] bytes;
+
+        BytesArgument(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        int length() {
+            return bytes.length;
+        }
+
+        @Override
+        void writePayload(ByteBuf buf) {
+            buf.writeBytes(bytes);
+        }
     }
 
-    public byte[] getEncodedKey() {
-        return encodedFirstKey;
+    /**
+     * Argument written by a {@link ToByteBufEncoder}. Arguments of known size are written straight into the target buffer,
+     * others are written into a scratch buffer first to determine the length prefix.
+     */
+    abstract static class ByteBufEncodedArgument extends SingularArgument {
+
+        final int size;
+
+        ByteBufEncodedArgument(int size) {
+            this.size = size;
+        }
+
+        @Override
+        int length() {
+            return size;
+        }
+
+        @Override
+        void encode(ByteBuf buf) {
+
+            if (size >= 0) {
+                super.encode(buf);
+                return;
+            }
+
+            ByteBuf scratch = buf.alloc().buffer();
+            try {
+                writePayload(scratch);
+                buf.writeByte('$');
+                writeLong(buf, scratch.readableBytes());
+                buf.writeBytes(CRLF);
+                buf.writeBytes(scratch);
+                buf.writeBytes(CRLF);
+            } finally {
+                scratch.release();
+            }
+        }
+
+        @Override
+        void writePayload(ByteBuf buf) {
+            int start = buf.writerIndex();
+            encodePayload(buf);
+
+            int written = buf.writerIndex() - start;
+            if (size >= 0 && written != size) {
+                throw new IllegalStateException("Encoder wrote " + written + " bytes but announced " + size + " bytes");
+            }
+        }
+
+        /**
+         * Encode the argument using the {@link ToByteBufEncoder}.
+         *
+         * @param buf Buffer to write to.
+         */
+        abstract void encodePayload(ByteBuf buf);
     }
 
-    public List<ProtocolKeyword> getKeywords() {
-        return keywords;
+    /**
+     * Key argument encoded by the {@link ToByteBufEncoder} of the codec.
+     */
+    class KeyArgument extends ByteBufEncodedArgument {
+
+        final K key;
+
+        KeyArgument(K key) {
+            super(byteBufEncoder.getEncodedKeySize(key));
+            this.key = key;
+        }
+
+        @Override
+        void encodePayload(ByteBuf buf) {
+
+            byte[] encoded = this == firstKeyArgument ? encodedFirstKey : null;
+            if (encoded != null) {
+                buf.writeBytes(encoded);
+                return;
+            }
+
+            byteBufEncoder.encodeKey(key, buf);
+        }
     }
 
-    @Override
-    public String toString() {
-        final StringBuilder sb = new StringBuilder();
-        sb.append(getClass().getSimpleName());
-        sb.append(" [firstKey=").append(firstKey);
-        sb.append(", keywords=").append(keywords);
-        sb.append(", buffer=").append(new String(buffer.array()));
-        sb.append(']');
-        return sb.toString();
+    /**
+     * Value argument encoded by the {@link ToByteBufEncoder} of the codec.
+     */
+    class ValueArgument extends ByteBufEncodedArgument {
+
+        final V value;
+
+        ValueArgument(V value) {
+            super(byteBufEncoder.getEncodedValueSize(value));
+            this.value = value;
+        }
+
+        @Override
+        void encodePayload(ByteBuf buf) {
+            byteBufEncoder.encodeValue(value, buf);
+        }
+    }
+
+    /**
+     * Integer argument, written as decimal text without an intermediate {@link String}.
+     */
+    static class IntegerArgument extends SingularArgument {
+
+        final long value;
+
+        IntegerArgument(long value) {
+            this.value = value;
+        }
+
+        @Override
+        int length() {
+            return decimalLength(value);
+        }
+
+        @Override
+        void writePayload(ByteBuf buf) {
+            writeLong(buf, value);
+        }
+    }
+
+    /**
+     * ASCII string argument.
+     */
+    static class StringArgument extends SingularArgument {
+
+        final String value;
+
+        StringArgument(String value) {
+            this.value = value;
+        }
+
+        @Override
+        int length() {
+            return value.length();
+        }
+
+        @Override
+        void writePayload(ByteBuf buf) {
+            for (int i = 0; i < value.length(); i++) {
+                buf.writeByte((byte) value.charAt(i));
+            }
+        }
     }
 }
@@ -23,6 +23,11 @@ public class CommandEncoder extends MessageToByteEncoder<Object> {
 
     private static final InternalLogger logger = InternalLoggerFactory.getInstance(CommandEncoder.class);
 
+    /**
+     * Estimated length of the argument count and the command type of commands that cannot compute their encoded length.
+     */
+    private static final int ESTIMATED_HEADER_LENGTH = 32;
+
     /**
      * If TRACE level logging has been enabled at startup.
      */
@@ -43,6 +48,50 @@ public class CommandEncoder extends MessageToByteEncoder<Object> {
         debugEnabled = logger.isDebugEnabled();
     }
 
+    /**
+     * Allocate a buffer that fits the encoded command or the whole batch of commands so encoding does not need to grow the
+     * buffer. The size of a {@link Command} is computed exactly, the size of other {@link RedisCommand} implementations is
+     * estimated from their arguments.
+     * 
+     * @see MessageToByteEncoder#allocateBuffer(ChannelHandlerContext, Object, boolean)
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Object msg, boolean preferDirect) throws Exception {
+
+        int length = 0;
+        if (msg instanceof RedisCommand) {
+            length = getEncodedLength((RedisCommand<?, ?, ?>) msg);
+        }
+
+        if (msg instanceof Collection) {
+            for (RedisCommand<?, ?, ?> command : (Collection<RedisCommand<?, ?, ?>>) msg) {
+                if (!command.isCancelled()) {
+                    length += getEncodedLength(command);
+                }
+            }
+        }
+
+        if (length <= 0) {
+            return super.allocateBuffer(ctx, msg, preferDirect);
+        }
+
+        if (preferDirect) {
+            return ctx.alloc().ioBuffer(length);
+        }
+        return ctx.alloc().heapBuffer(length);
+    }
+
+    private static int getEncodedLength(RedisCommand<?, ?, ?> command) {
+
+        if (command instanceof Command) {
+            return ((Command<?, ?, ?>) command).getEncodedLength();
+        }
+
+        CommandArgs<?, ?> args = command.getArgs();
+        return ESTIMATED_HEADER_LENGTH + (args != null ? args.getEncodedLength() : 0);
+    }
+
     @Override
     protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf out) throws Exception {
 
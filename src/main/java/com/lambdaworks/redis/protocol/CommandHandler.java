@@ -6,11 +6,20 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 import java.nio.channels.ClosedChannelException;
 import java.nio.charset.Charset;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
 import com.google.common.collect.ImmutableList;
@@ -18,7 +27,9 @@ import com.lambdaworks.redis.ClientOptions;
 import com.lambdaworks.redis.ConnectionEvents;
 import com.lambdaworks.redis.RedisChannelHandler;
 import com.lambdaworks.redis.RedisChannelWriter;
+import com.lambdaworks.redis.RedisCommandTimeoutException;
 import com.lambdaworks.redis.RedisException;
+import com.lambdaworks.redis.RedisQueueFullException;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
@@ -28,8 +39,11 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.EncoderException;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
+import io.netty.util.concurrent.ScheduledFuture;
 import io.netty.util.internal.logging.InternalLogger;
 import io.netty.util.internal.logging.InternalLoggerFactory;
 
@@ -45,19 +59,99 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
 
     private static final InternalLogger logger = InternalLoggerFactory.getInstance(CommandHandler.class);
     private static final WriteLogListener WRITE_LOG_LISTENER = new WriteLogListener();
+    private static final long DEFAULT_TIMEOUT_SECONDS = 60;
 
     protected ClientOptions clientOptions;
+
+    // commands awaiting a response, indexed so writers can look up queued commands without scanning the queue
     protected Queue<RedisCommand<K, V, ?>> queue;
 
-    // all access to the commandBuffer is synchronized
+    // all access to the commandBuffer is synchronized, commands are contained at most once
     protected Queue<RedisCommand<K, V, ?>> commandBuffer = newCommandBuffer();
 
+    /**
+     * Cumulation of the received data that was not yet decoded. {@literal null} if all received data was consumed.
+     */
     protected ByteBuf buffer;
     protected RedisStateMachine<K, V> rsm;
     protected Channel channel;
     protected final ReentrantLock writeLock = new ReentrantLock();
+    private final Condition commandBufferNotFull = writeLock.newCondition();
+
+    /**
+     * Commands written by application threads while the channel is active. The queue is drained by the event loop.
+     */
+    private final Queue<RedisCommand<K, V, ?>> pendingWrites = new ConcurrentLinkedQueue<RedisCommand<K, V, ?>>();
+    private final AtomicInteger pendingWriteCount = new AtomicInteger();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    /**
+     * Number of outstanding {@link #suspendReading()} calls. Reading from the channel is paused while the count is positive.
+     */
+    private final AtomicInteger readSuspensions = new AtomicInteger();
+
+    /**
+     * {@literal false} while pending writes are held back because the outbound buffer exceeds the high water mark.
+     */
+    private volatile boolean channelWritable = true;
+    private final Runnable drainTask = new Runnable() {
+        @Override
+        public void run() {
+            drainPendingWrites();
+        }
+    };
+    private final Runnable autoReadTask = new Runnable() {
+        @Override
+        public void run() {
+            updateAutoRead();
+        }
+    };
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            scheduledFlush = null;
+            flushWrites(channel);
+        }
+    };
+
+    /**
+     * Flush consolidation settings and state. The state is only accessed by the event loop.
+     */
+    private final boolean consolidateFlush;
+    private final int consolidateFlushMaxCommands;
+    private final long consolidateFlushDelayNanos;
+    private int unflushedCommands;
+    private ScheduledFuture<?> scheduledFlush;
+
+    private final int disconnectedBufferSize;
+    private final ClientOptions.DisconnectedBufferOverflow disconnectedBufferOverflow;
+    private final int requestQueueSize;
+
+    /**
+     * Commands accepted by {@link #write(RedisCommand)} that did not leave this handler yet and their number. The count is
+     * reserved before a command is accepted so concurrent writers cannot exceed {@link #requestQueueSize}.
+     */
+    private final Set<RedisCommand<?, ?, ?>> outstanding = Collections
+            .newSetFromMap(new ConcurrentHashMap<RedisCommand<?, ?, ?>, Boolean>());
+    private final AtomicInteger outstandingCount = new AtomicInteger();
+    private final IndexedQueue<RedisCommand<K, V, ?>> indexedQueue;
 
-    private LifecycleState lifecycleState = LifecycleState.NOT_CONNECTED;
+    /**
+     * Executor decoding the responses and completing the commands, {@literal null} to decode on the event loop. Responses
+     * are recorded by the event loop and replayed in order by the executor.
+     */
+    private volatile Executor decodeExecutor;
+    private RecordingOutput<K, V> recording;
+    private final Queue<RecordingOutput<K, V>> recordedResponses = new ConcurrentLinkedQueue<RecordingOutput<K, V>>();
+    private final AtomicBoolean replayScheduled = new AtomicBoolean();
+    private final Runnable replayTask = new Runnable() {
+        @Override
+        public void run() {
+            replayRecordedResponses();
+        }
+    };
+
+    private volatile LifecycleState lifecycleState = LifecycleState.NOT_CONNECTED;
     private Object stateLock = new Object();
 
     /**
@@ -75,6 +169,7 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
     private Throwable connectionError;
     private String logPrefix;
     private boolean autoFlushCommands = true;
+    private ByteToMessageDecoder.Cumulator cumulator = ByteToMessageDecoder.MERGE_CUMULATOR;
 
     /**
      * Initialize a new instance that handles commands from the supplied queue.
@@ -84,10 +179,22 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
      */
     public CommandHandler(ClientOptions clientOptions, Queue<RedisCommand<K, V, ?>> queue) {
         this.clientOptions = clientOptions;
-        this.queue = queue;
+        this.queue = indexedQueue = new IndexedQueue<RedisCommand<K, V, ?>>(queue) {
+            @Override
+            protected void removed(RedisCommand<K, V, ?> command) {
+                release(command);
+            }
+        };
         this.traceEnabled = logger.isTraceEnabled();
         this.debugEnabled = logger.isDebugEnabled();
         this.reliability = clientOptions.isAutoReconnect() ? Reliability.AT_LEAST_ONCE : Reliability.AT_MOST_ONCE;
+        this.consolidateFlush = clientOptions.isConsolidateFlush();
+        this.consolidateFlushMaxCommands = clientOptions.getConsolidateFlushMaxCommands();
+        this.consolidateFlushDelayNanos = clientOptions.getConsolidateFlushDelayUnit().toNanos(
+                clientOptions.getConsolidateFlushDelay());
+        this.disconnectedBufferSize = clientOptions.getDisconnectedBufferSize();
+        this.disconnectedBufferOverflow = clientOptions.getDisconnectedBufferOverflow();
+        this.requestQueueSize = clientOptions.getRequestQueueSize();
     }
 
     /**
@@ -97,7 +204,6 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
     @Override
     public void channelRegistered(ChannelHandlerContext ctx) throws Exception {
         setState(LifecycleState.REGISTERED);
-        buffer = ctx.alloc().directBuffer(8192 * 8);
         rsm = new RedisStateMachine<K, V>();
         synchronized (stateLock) {
             channel = ctx.channel();
@@ -106,6 +212,7 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
 
     @Override
     public void channelUnregistered(ChannelHandlerContext ctx) throws Exception {
+        releaseRecording();
         releaseBuffer();
 
         if (lifecycleState == LifecycleState.CLOSED) {
@@ -124,12 +231,21 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
         ByteBuf input = (ByteBuf) msg;
 
-        if (!input.isReadable() || input.refCnt() == 0 || buffer == null) {
+        if (input.refCnt() == 0) {
+            return;
+        }
+
+        if (rsm == null || !input.isReadable()) {
+            input.release();
             return;
         }
 
         try {
-            buffer.writeBytes(input);
+            if (buffer == null) {
+                buffer = input;
+            } else {
+                buffer = cumulator.cumulate(ctx.alloc(), buffer, input);
+            }
 
             if (traceEnabled) {
                 logger.trace("{} Received: {}", logPrefix(), buffer.toString(Charset.defaultCharset()).trim());
@@ -137,8 +253,36 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
 
             decode(ctx, buffer);
         } finally {
-            input.release();
+            if (buffer != null && (buffer.refCnt() == 0 || !buffer.isReadable())) {
+                releaseBuffer();
+            }
+        }
+    }
+
+    /**
+     * Discard the consumed bytes once per read batch instead of after every decoded command.
+     * 
+     * @see io.netty.channel.ChannelInboundHandlerAdapter#channelReadComplete(io.netty.channel.ChannelHandlerContext)
+     */
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+        if (buffer != null && buffer.refCnt() == 1) {
+            buffer.discardSomeReadBytes();
         }
+        super.channelReadComplete(ctx);
+    }
+
+    /**
+     * Resume writing held back commands as soon as the outbound buffer drops below the low water mark.
+     * 
+     * @see io.netty.channel.ChannelInboundHandlerAdapter#channelWritabilityChanged(io.netty.channel.ChannelHandlerContext)
+     */
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable()) {
+            resumePendingWrites();
+        }
+        super.channelWritabilityChanged(ctx);
     }
 
     protected void decode(ChannelHandlerContext ctx, ByteBuf buffer) throws InterruptedException {
@@ -151,15 +295,73 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
                 logger.debug("{} Queue contains: {} commands", logPrefix(), queue.size());
             }
 
+            Executor decodeExecutor = this.decodeExecutor;
+            if (decodeExecutor != null && command.getOutput() != null) {
+
+                if (recording != null && recording.getCommand() != command) {
+                    releaseRecording();
+                }
+
+                if (recording == null) {
+                    recording = new RecordingOutput<K, V>(command);
+                }
+
+                if (!rsm.decode(buffer, command, recording)) {
+                    return;
+                }
+
+                queue.poll();
+                replayLater(decodeExecutor, recording);
+                recording = null;
+                continue;
+            }
+
             if (!rsm.decode(buffer, command, command.getOutput())) {
                 return;
             }
 
             command = queue.poll();
             command.complete();
-            if (buffer != null && buffer.refCnt() != 0) {
-                buffer.discardReadBytes();
+        }
+    }
+
+    /**
+     * Queue a recorded response to be replayed by {@code decodeExecutor}. Responses are replayed by at most one thread at a
+     * time in the order they were received. The response is replayed on the event loop if the executor rejects the task.
+     */
+    private void replayLater(Executor decodeExecutor, RecordingOutput<K, V> response) {
+
+        recordedResponses.add(response);
+
+        if (replayScheduled.compareAndSet(false, true)) {
+            try {
+                decodeExecutor.execute(replayTask);
+            } catch (RejectedExecutionException e) {
+                replayRecordedResponses();
+            }
+        }
+    }
+
+    private void replayRecordedResponses() {
+
+        do {
+            RecordingOutput<K, V> response;
+            while ((response = recordedResponses.poll()) != null) {
+                try {
+                    response.replay();
+                } catch (RuntimeException e) {
+                    logger.warn("{} Unexpected error while completing {}", logPrefix(), response.getCommand(), e);
+                }
             }
+
+            replayScheduled.set(false);
+        } while (!recordedResponses.isEmpty() && replayScheduled.compareAndSet(false, true));
+    }
+
+    private void releaseRecording() {
+        if (recording != null) {
+            recording.release();
+            recording = null;
         }
     }
 
@@ -177,60 +379,359 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
                     "Connection is in a disconnected state and reconnect is disabled. Commands are not accepted.");
         }
 
+        boolean reserved = reserve(command);
+
+        Channel channel = this.channel;
+        if (autoFlushCommands && lifecycleState == LifecycleState.ACTIVE && channel != null && channel.isActive()) {
+            writeToPendingQueue(channel, command);
+            return command;
+        }
+
+        RedisCommand<K, V, ?> rejected = null;
+        Throwable rejection = null;
+        boolean accepted = false;
+
         try {
             /**
-             * This lock causes safety for connection activation and somehow netty gets more stable and predictable performance
-             * than without a lock and all threads are hammering towards writeAndFlush.
+             * The lock guards the command buffer against connection activation. Commands for an active channel bypass the lock
+             * and are handed over to the event loop through the pending write queue. Commands rejected or dropped from the
+             * command buffer are completed after releasing the lock.
              */
 
             writeLock.lock();
-            Channel channel = this.channel;
-            if (autoFlushCommands) {
+            long remainingNanos = 0;
+            boolean waiting = false;
 
-                if (channel != null && isConnected() && channel.isActive()) {
-                    if (debugEnabled) {
-                        logger.debug("{} write() writeAndFlush Command {}", logPrefix(), command);
-                    }
+            while (true) {
 
-                    if (reliability == Reliability.AT_MOST_ONCE) {
-                        // cancel on exceptions and remove from queue, because there is no housekeeping
-                        channel.writeAndFlush(command).addListener(new AtMostOnceWriteListener(command, queue));
-                    }
+                channel = this.channel;
+                boolean active = autoFlushCommands && channel != null && isConnected() && channel.isActive();
 
-                    if (reliability == Reliability.AT_LEAST_ONCE) {
-                        // commands are ok to stay within the queue, reconnect will retrigger them
-                        channel.writeAndFlush(command).addListener(WRITE_LOG_LISTENER);
-                    }
-                } else {
+                if (!active && (commandBuffer.contains(command) || queue.contains(command))) {
+                    return command;
+                }
 
-                    if (commandBuffer.contains(command) || queue.contains(command)) {
-                        return command;
+                // the command is accepted unless the loop continues to wait for command buffer capacity
+                accepted = true;
+                if (!autoFlushCommands) {
+                    bufferCommand(command);
+                    break;
+                }
+
+                if (active) {
+                    if (channel.eventLoop().inEventLoop()) {
+                        // commands issued while activating the connection must be written before the buffered commands
+                        pendingWriteCount.incrementAndGet();
+                        pendingWrites.add(command);
+                        drainPendingWrites();
+                    } else {
+                        writeToPendingQueue(channel, command);
                     }
+                    break;
+                }
 
-                    if (connectionError != null) {
-                        if (debugEnabled) {
-                            logger.debug("{} write() completing Command {} due to connection error", logPrefix(), command);
-                        }
-                        command.setException(connectionError);
-                        command.complete();
-                        return command;
+                if (connectionError != null) {
+                    if (debugEnabled) {
+                        logger.debug("{} write() completing Command {} due to connection error", logPrefix(), command);
                     }
+                    rejected = command;
+                    rejection = connectionError;
+                    break;
+                }
 
+                if (commandBuffer.size() < disconnectedBufferSize) {
                     bufferCommand(command);
+                    break;
+                }
+
+                if (disconnectedBufferOverflow == ClientOptions.DisconnectedBufferOverflow.REJECT) {
+                    rejected = command;
+                    rejection = new RedisException("Command buffer is full, " + commandBuffer.size()
+                            + " commands are buffered while disconnected");
+                    break;
+                }
+
+                if (disconnectedBufferOverflow == ClientOptions.DisconnectedBufferOverflow.DROP_OLDEST) {
+                    rejected = commandBuffer.poll();
+                    rejection = new RedisException("Command dropped from the full command buffer while disconnected");
+                    bufferCommand(command);
+                    break;
+                }
+
+                accepted = false;
+                if (!waiting) {
+                    if (channel != null && channel.eventLoop().inEventLoop()) {
+                        throw new RedisException("Cannot wait for command buffer capacity on the event loop");
+                    }
+                    remainingNanos = getCommandTimeoutNanos();
+                    waiting = true;
+                }
+
+                if (remainingNanos <= 0) {
+                    rejected = command;
+                    rejection = new RedisCommandTimeoutException();
+                    break;
+                }
+
+                remainingNanos = awaitCommandBufferCapacity(remainingNanos);
+
+                if (lifecycleState == LifecycleState.CLOSED) {
+                    throw new RedisException("Connection is closed");
                 }
-            } else {
-                bufferCommand(command);
             }
         } finally {
             writeLock.unlock();
+            if (reserved && !accepted) {
+                release(command);
+            }
             if (debugEnabled) {
                 logger.debug("{} write() done", logPrefix());
             }
         }
 
+        if (rejected != null) {
+            release(rejected);
+            rejected.setException(rejection);
+            rejected.complete();
+        }
+
         return command;
     }
 
+    /**
+     * Reserve a slot of the request queue for the command.
+     *
+     * @param command the command
+     * @return {@literal true} if a slot was reserved, {@literal false} if the command already holds a slot.
+     * @throws RedisQueueFullException if the request queue is full
+     */
+    private boolean reserve(RedisCommand<K, V, ?> command) {
+
+        if (!outstanding.add(command)) {
+            return false;
+        }
+
+        while (true) {
+            int count = outstandingCount.get();
+            if (count >= requestQueueSize) {
+                outstanding.remove(command);
+                throw new RedisQueueFullException(requestQueueSize);
+            }
+            if (outstandingCount.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release the request queue slot of a command leaving this handler. Commands that hold no slot are ignored.
+     *
+     * @param command the command
+     */
+    private void release(RedisCommand<?, ?, ?> command) {
+        if (outstanding.remove(command)) {
+            outstandingCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Wait until the command buffer has capacity, the connection is activated or closed. Requires the write lock.
+     * 
+     * @param nanos maximum time to wait
+     * @return the remaining time to wait, zero or less if the time elapsed
+     */
+    private long awaitCommandBufferCapacity(long nanos) {
+
+        if (debugEnabled) {
+            logger.debug("{} write() waiting for command buffer capacity", logPrefix());
+        }
+
+        try {
+            return commandBufferNotFull.awaitNanos(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RedisException("Interrupted while waiting for command buffer capacity", e);
+        }
+    }
+
+    /**
+     * @return the command timeout of the connection in nanoseconds or {@link #DEFAULT_TIMEOUT_SECONDS} if the handler is not
+     *         attached to a connection.
+     */
+    private long getCommandTimeoutNanos() {
+
+        RedisChannelHandler<K, V> redisChannelHandler = this.redisChannelHandler;
+        if (redisChannelHandler != null && redisChannelHandler.getTimeoutUnit() != null) {
+            return redisChannelHandler.getTimeoutUnit().toNanos(redisChannelHandler.getTimeout());
+        }
+
+        return TimeUnit.SECONDS.toNanos(DEFAULT_TIMEOUT_SECONDS);
+    }
+
+    /**
+     * Wake up threads waiting for command buffer capacity.
+     */
+    private void signalCommandBufferNotFull() {
+        try {
+            writeLock.lock();
+            commandBufferNotFull.signalAll();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void writeToPendingQueue(Channel channel, RedisCommand<K, V, ?> command) {
+
+        if (debugEnabled) {
+            logger.debug("{} write() queueing Command {}", logPrefix(), command);
+        }
+
+        pendingWriteCount.incrementAndGet();
+        pendingWrites.add(command);
+
+        if (channelWritable && drainScheduled.compareAndSet(false, true)) {
+            try {
+                channel.eventLoop().execute(drainTask);
+            } catch (RejectedExecutionException e) {
+                drainPendingWrites();
+            }
+        }
+    }
+
+    /**
+     * Write all pending commands to the channel. Runs on the event loop so commands are written in the order they were queued.
+     * The channel is flushed once all pending commands are written or, if flush consolidation is enabled, after the
+     * configured delay or number of commands. Commands are held back while the channel is not writable.
+     */
+    private void drainPendingWrites() {
+
+        drainScheduled.set(false);
+
+        Channel channel = this.channel;
+        RedisCommand<K, V, ?> command;
+
+        while (true) {
+
+            if (channel != null && channel.isActive() && !channel.isWritable() && !holdBackPendingWrites(channel)) {
+                return;
+            }
+
+            if ((command = pendingWrites.poll()) == null) {
+                break;
+            }
+
+            pendingWriteCount.decrementAndGet();
+            if (channel == null) {
+                if (reliability == Reliability.AT_LEAST_ONCE) {
+                    try {
+                        writeLock.lock();
+                        bufferCommand(command);
+                    } finally {
+                        writeLock.unlock();
+                    }
+                } else {
+                    release(command);
+                    command.setException(new RedisException("Connection is in a disconnected state"));
+                    command.cancel(true);
+                }
+                continue;
+            }
+
+            if (reliability == Reliability.AT_MOST_ONCE) {
+                // cancel on exceptions and remove from queue, because there is no housekeeping
+                channel.write(command).addListener(new AtMostOnceWriteListener(command, queue));
+            }
+
+            if (reliability == Reliability.AT_LEAST_ONCE) {
+                // commands are ok to stay within the queue, reconnect will retrigger them
+                channel.write(command).addListener(WRITE_LOG_LISTENER);
+            }
+            unflushedCommands++;
+
+            if (consolidateFlush && unflushedCommands >= consolidateFlushMaxCommands) {
+                flushWrites(channel);
+            }
+        }
+
+        if (unflushedCommands == 0) {
+            return;
+        }
+
+        if (consolidateFlush && consolidateFlushDelayNanos > 0 && channel != null) {
+            scheduleFlush(channel);
+        } else {
+            flushWrites(channel);
+        }
+    }
+
+    /**
+     * Flush the written commands so the outbound buffer can drain and hold back the pending writes if the channel is still not
+     * writable. {@link #channelWritabilityChanged(ChannelHandlerContext)} resumes writing.
+     *
+     * @return {@literal true} if the channel became writable by flushing.
+     */
+    private boolean holdBackPendingWrites(Channel channel) {
+
+        channelWritable = false;
+        flushWrites(channel);
+
+        if (channel.isWritable()) {
+            channelWritable = true;
+            return true;
+        }
+
+        if (debugEnabled) {
+            logger.debug("{} channel not writable, holding back {} command(s)", logPrefix(), pendingWriteCount.get());
+        }
+        return false;
+    }
+
+    /**
+     * Resume writing held back commands. Runs on the event loop.
+     */
+    private void resumePendingWrites() {
+
+        channelWritable = true;
+
+        if (!pendingWrites.isEmpty() && drainScheduled.compareAndSet(false, true)) {
+            drainPendingWrites();
+        }
+    }
+
+    private void scheduleFlush(Channel channel) {
+
+        if (scheduledFlush != null) {
+            return;
+        }
+
+        try {
+            scheduledFlush = channel.eventLoop().schedule(flushTask, consolidateFlushDelayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            flushWrites(channel);
+        }
+    }
+
+    private void flushWrites(Channel channel) {
+
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+
+        if (unflushedCommands == 0) {
+            return;
+        }
+
+        if (debugEnabled) {
+            logger.debug("{} flushing {} command(s)", logPrefix(), unflushedCommands);
+        }
+
+        unflushedCommands = 0;
+        if (channel != null) {
+            channel.flush();
+        }
+    }
+
     private <T> void bufferCommand(RedisCommand<K, V, T> command) {
         if (debugEnabled) {
             logger.debug("{} write() buffering Command {}", logPrefix(), command);
@@ -239,10 +740,9 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
     }
 
     private boolean isConnected() {
-        synchronized (lifecycleState) {
-            return lifecycleState.ordinal() >= LifecycleState.CONNECTED.ordinal()
-                    && lifecycleState.ordinal() <= LifecycleState.DISCONNECTED.ordinal();
-        }
+        LifecycleState lifecycleState = this.lifecycleState;
+        return lifecycleState.ordinal() >= LifecycleState.CONNECTED.ordinal()
+                && lifecycleState.ordinal() <= LifecycleState.DISCONNECTED.ordinal();
     }
 
     @Override
@@ -254,6 +754,7 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
                 writeLock.lock();
                 queuedCommands = (Queue) commandBuffer;
                 commandBuffer = newCommandBuffer();
+                commandBufferNotFull.signalAll();
             } finally {
                 writeLock.unlock();
             }
@@ -285,26 +786,59 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
                 queueCommand(promise, command);
             }
             ctx.write(commands, promise);
+
+            if (promise.cause() instanceof EncoderException) {
+                // nothing of the batch was written
+                queue.removeAll(commands);
+                for (RedisCommand<K, V, ?> command : commands) {
+                    if (!command.isCancelled()) {
+                        failUnwrittenCommand(command, promise.cause());
+                    }
+                }
+            }
             return;
         }
 
         RedisCommand<K, V, ?> cmd = (RedisCommand<K, V, ?>) msg;
         queueCommand(promise, cmd);
         ctx.write(cmd, promise);
+
+        if (promise.cause() instanceof EncoderException) {
+            queue.remove(cmd);
+            failUnwrittenCommand(cmd, promise.cause());
+        }
+    }
+
+    /**
+     * Complete a command that failed to encode. The encoder runs on the event loop while writing, so the command is removed
+     * from the queue before any later command is written and cannot receive the response of another command. This applies to
+     * all reliability modes because a command that cannot be encoded would fail again when it is retried.
+     */
+    private void failUnwrittenCommand(RedisCommand<K, V, ?> command, Throwable cause) {
+
+        if (debugEnabled) {
+            logger.debug("{} write() failed to encode Command {}", logPrefix(), command);
+        }
+
+        command.setException(cause.getCause() != null ? cause.getCause() : cause);
+        command.complete();
     }
 
     private void queueCommand(ChannelPromise promise, RedisCommand<K, V, ?> cmd) throws Exception {
         if (cmd.isCancelled()) {
+            release(cmd);
             return;
         }
 
         try {
             if (cmd.getOutput() == null) {
+                release(cmd);
                 cmd.complete();
             } else {
                 queue.add(cmd);
             }
         } catch (Exception e) {
+            release(cmd);
             cmd.setException(e);
             cmd.cancel(true);
             promise.setFailure(e);
@@ -353,9 +887,7 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
             connectionError = null;
 
             tmp.addAll(commandBuffer);
-            tmp.addAll(queue);
-
-            queue.clear();
+            indexedQueue.drainTo(tmp);
             commandBuffer = tmp;
 
             if (debugEnabled) {
@@ -401,10 +933,17 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
         }
         setStateIfNotClosed(LifecycleState.DEACTIVATED);
 
-        if (buffer != null) {
+        if (rsm != null) {
             rsm.reset();
-            buffer.clear();
         }
+        releaseRecording();
+        releaseBuffer();
+
+        // held back commands are written to the inactive channel, the reliability mode decides whether they are retried
+        resumePendingWrites();
+
+        // unflushed writes are failed by the closed channel, drop the consolidation state
+        flushWrites(null);
 
         if (debugEnabled) {
             logger.debug("{} channelInactive() done", logPrefix());
@@ -440,6 +979,12 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
 
         List<RedisCommand<K, V, ?>> toCancel = new ArrayList<RedisCommand<K, V, ?>>(size);
 
+        RedisCommand<K, V, ?> pending;
+        while ((pending = pendingWrites.poll()) != null) {
+            pendingWriteCount.decrementAndGet();
+            toCancel.add(pending);
+        }
+
         if (queue != null) {
             toCancel.addAll(queue);
             queue.clear();
@@ -450,7 +995,10 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
             commandBuffer.clear();
         }
 
+        signalCommandBufferNotFull();
+
         for (RedisCommand<K, V, ?> cmd : toCancel) {
+            release(cmd);
             if (cmd.getOutput() != null) {
                 cmd.getOutput().setError(message);
             }
@@ -465,6 +1013,7 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
             logger.debug(cause.getMessage(), cause);
         }
         if (!queue.isEmpty()) {
+            releaseRecording();
             RedisCommand<K, V, ?> command = queue.poll();
             if (debugEnabled) {
                 logger.debug("{} Storing exception in {}", logPrefix(), command);
@@ -498,6 +1047,8 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
         }
 
         setStateIfNotClosed(LifecycleState.CLOSED);
+        signalCommandBufferNotFull();
+
         Channel currentChannel = this.channel;
         if (currentChannel != null) {
             currentChannel.pipeline().fireUserEventTriggered(new ConnectionEvents.PrepareClose());
@@ -512,7 +1063,9 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
 
     private void releaseBuffer() {
         if (buffer != null) {
-            buffer.release();
+            if (buffer.refCnt() != 0) {
+                buffer.release();
+            }
             buffer = null;
         }
     }
@@ -537,9 +1090,17 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
             writeLock.unlock();
         }
 
-        if (buffer != null) {
+        if (rsm != null) {
             rsm.reset();
+        }
+        releaseRecording();
+
+        ByteBuf buffer = this.buffer;
+        if (buffer != null && buffer.refCnt() == 1) {
             buffer.clear();
+        } else if (buffer != null) {
+            // recorded responses still read from the buffer
+            releaseBuffer();
         }
     }
 
@@ -555,6 +1116,74 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
         }
     }
 
+    /**
+     * Set the {@link ByteToMessageDecoder.Cumulator} that is used to combine received data with the data that was not yet
+     * decoded. Received buffers are decoded without copying as long as no partial response remains. Defaults to
+     * {@link ByteToMessageDecoder#MERGE_CUMULATOR}, {@link ByteToMessageDecoder#COMPOSITE_CUMULATOR} avoids memory copies for
+     * responses spanning multiple reads at the cost of a more complex buffer.
+     * 
+     * @param cumulator the cumulator, must not be {@literal null}
+     */
+    public void setCumulator(ByteToMessageDecoder.Cumulator cumulator) {
+        checkArgument(cumulator != null, "cumulator must not be null");
+        this.cumulator = cumulator;
+    }
+
+    /**
+     * Set the {@link Executor} that decodes the responses and completes the commands of this connection. The event loop only
+     * parses the structure of the responses and retains the received buffers, so expensive {@link CommandOutput outputs} and
+     * codecs do not delay reading other connections of the same event loop. Responses are decoded in the order they were
+     * received, by at most one thread of the executor at a time. Defaults to {@literal null} which decodes the responses on
+     * the event loop.
+     *
+     * @param decodeExecutor the executor, may be {@literal null}
+     */
+    public void setDecodeExecutor(Executor decodeExecutor) {
+        this.decodeExecutor = decodeExecutor;
+    }
+
+    /**
+     * Returns the number of commands of this connection that are waiting to be written, buffered or awaiting their response.
+     * 
+     * @return the number of queued commands.
+     */
+    public int getQueueSize() {
+        return outstandingCount.get();
+    }
+
+    /**
+     * Stop reading responses from the channel until a matching {@link #resumeReading()} call. Responses that were already
+     * received are still decoded. Suspending reads delays the responses of all commands of this connection and is intended
+     * to apply backpressure while a consumer of a streaming response cannot keep up. Reads are resumed on reconnect.
+     */
+    public void suspendReading() {
+        if (readSuspensions.getAndIncrement() == 0) {
+            updateAutoRead();
+        }
+    }
+
+    /**
+     * Resume reading responses from the channel once every {@link #suspendReading()} call was matched by a call to this method.
+     */
+    public void resumeReading() {
+        if (readSuspensions.decrementAndGet() == 0) {
+            updateAutoRead();
+        }
+    }
+
+    private void updateAutoRead() {
+        Channel channel = this.channel;
+        if (channel == null) {
+            return;
+        }
+
+        if (channel.eventLoop().inEventLoop()) {
+            channel.config().setAutoRead(readSuspensions.get() <= 0);
+        } else {
+            channel.eventLoop().execute(autoReadTask);
+        }
+    }
+
     protected String logPrefix() {
         if (logPrefix != null) {
             return logPrefix;
@@ -564,8 +1193,8 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
         return logPrefix = buffer.toString();
     }
 
-     private ArrayDeque<RedisCommand<K, V, ?>> newCommandBuffer() {
-        return new ArrayDeque<RedisCommand<K, V, ?>>(512);
+    private Queue<RedisCommand<K, V, ?>> newCommandBuffer() {
+        return new LinkedHashSetQueue<RedisCommand<K, V, ?>>(512);
     }
 
     public enum LifecycleState {
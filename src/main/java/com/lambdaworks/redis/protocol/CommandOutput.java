@@ -6,6 +6,8 @@ import java.nio.ByteBuffer;
 
 import com.lambdaworks.redis.codec.RedisCodec;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * Abstract representation of the output of a redis command.
  * 
@@ -19,6 +21,7 @@ public abstract class CommandOutput<K, V, T> {
     protected RedisCodec<K, V> codec;
     protected T output;
     protected String error;
+    private final boolean byteBufDecoding;
 
     /**
      * Initialize a new instance that encodes and decodes keys and values using the supplied codec.
@@ -27,8 +30,22 @@ public abstract class CommandOutput<K, V, T> {
      * @param output Initial value of output.
      */
     public CommandOutput(RedisCodec<K, V> codec, T output) {
+        this(codec, output, null);
+    }
+
+    /**
+     * Initialize a new instance that receives bulk and status replies through {@link #setBytes(ByteBuf, int, int)} if it is
+     * exactly of {@code byteBufDecodingType}. Subclasses of {@code byteBufDecodingType} receive the bytes through
+     * {@link #set(ByteBuffer)} so their overrides are not bypassed.
+     * 
+     * @param codec Codec used to encode/decode keys and values.
+     * @param output Initial value of output.
+     * @param byteBufDecodingType the type implementing {@link #setBytes(ByteBuf, int, int)}, may be {@literal null}.
+     */
+    protected CommandOutput(RedisCodec<K, V> codec, T output, Class<?> byteBufDecodingType) {
         this.codec = codec;
         this.output = output;
+        this.byteBufDecoding = getClass() == byteBufDecodingType;
     }
 
     /**
@@ -50,6 +67,37 @@ public abstract class CommandOutput<K, V, T> {
         throw new IllegalStateException();
     }
 
+    /**
+     * Set the command output to a sequence of {@code length} bytes starting at {@code offset} within {@code buffer}. The bytes
+     * are only valid for the duration of the call and the buffer indexes must not be changed. Passes the bytes to
+     * {@link #setBytes(ByteBuf, int, int)} if {@link #CommandOutput(RedisCodec, Object, Class) enabled}, otherwise to
+     * {@link #set(ByteBuffer)}.
+     * 
+     * @param buffer Buffer containing the command output.
+     * @param offset Index of the first byte.
+     * @param length Number of bytes.
+     */
+    public final void set(ByteBuf buffer, int offset, int length) {
+        if (byteBufDecoding) {
+            setBytes(buffer, offset, length);
+        } else {
+            set(buffer.nioBuffer(offset, length));
+        }
+    }
+
+    /**
+     * Set the command output to a sequence of {@code length} bytes starting at {@code offset} within {@code buffer} without
+     * creating a {@link ByteBuffer} view. Only called if {@link #CommandOutput(RedisCodec, Object, Class) enabled}. The default
+     * implementation adapts to {@link #set(ByteBuffer)}.
+     * 
+     * @param buffer Buffer containing the command output.
+     * @param offset Index of the first byte.
+     * @param length Number of bytes.
+     */
+    protected void setBytes(ByteBuf buffer, int offset, int length) {
+        set(buffer.nioBuffer(offset, length));
+    }
+
     /**
      * Set the command output to a 64-bit signed integer. Concrete {@link CommandOutput} implementations must override this
      * method unless they only receive a byte array value.
@@ -114,6 +162,14 @@ public abstract class CommandOutput<K, V, T> {
         return new String(chars);
     }
 
+    protected String decodeAscii(ByteBuf buffer, int offset, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) buffer.getByte(offset + i);
+        }
+        return new String(chars);
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder();
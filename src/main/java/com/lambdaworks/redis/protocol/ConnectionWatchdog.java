@@ -2,6 +2,8 @@
 
 package com.lambdaworks.redis.protocol;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import java.net.SocketAddress;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
@@ -61,6 +63,7 @@ public class ConnectionWatchdog extends ChannelInboundHandlerAdapter implements
     private long timeout = 60;
 
     private volatile ChannelFuture currentFuture;
+    private volatile ReconnectionListener reconnectionListener = ReconnectionListener.NO_OP;
 
     /**
      * Create a new watchdog that adds to new connections to the supplied {@link ChannelGroup} and establishes a new
@@ -212,6 +215,7 @@ public class ConnectionWatchdog extends ChannelInboundHandlerAdapter implements
         }
 
         try {
+            reconnectionListener.onReconnect(new ConnectionEvents.Reconnect(attempts));
             reconnect(infoLevel, warnLevel);
         } catch (InterruptedException e) {
             return;
@@ -313,6 +317,17 @@ public class ConnectionWatchdog extends ChannelInboundHandlerAdapter implements
         return listenOnChannelInactive;
     }
 
+    /**
+     * Set the listener that is notified before each reconnect attempt.
+     *
+     * @param reconnectionListener the listener, must not be {@literal null}
+     * @since 3.4
+     */
+    public void setReconnectionListener(ReconnectionListener reconnectionListener) {
+        checkArgument(reconnectionListener != null, "reconnectionListener must not be null");
+        this.reconnectionListener = reconnectionListener;
+    }
+
     public boolean isReconnectSuspended() {
         return reconnectSuspended;
     }
@@ -0,0 +1,135 @@
+package com.lambdaworks.redis.protocol;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link Queue} decorator that keeps an index of the queued elements. {@link #contains(Object)} runs in constant time and may
+ * be called by threads other than the thread owning the queue. Elements are expected to be contained at most once. All other
+ * methods have the thread-safety of the delegate. Subclasses can override {@link #removed(Object)} to track elements leaving
+ * the queue.
+ *
+ * @param <E> Element type.
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ */
+class IndexedQueue<E> extends AbstractQueue<E> {
+
+    private final Queue<E> delegate;
+    private final Set<Object> index = Collections.newSetFromMap(new ConcurrentHashMap<Object, Boolean>());
+
+    public IndexedQueue(Queue<E> delegate) {
+        this.delegate = delegate;
+        index.addAll(delegate);
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (!delegate.offer(e)) {
+            return false;
+        }
+        index.add(e);
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        E e = delegate.poll();
+        if (e != null) {
+            index.remove(e);
+            removed(e);
+        }
+        return e;
+    }
+
+    @Override
+    public E peek() {
+        return delegate.peek();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o != null && index.contains(o);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean remove(Object o) {
+        if (!delegate.remove(o)) {
+            return false;
+        }
+        index.remove(o);
+        removed((E) o);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (E e : delegate) {
+            removed(e);
+        }
+        delegate.clear();
+        index.clear();
+    }
+
+    /**
+     * Move all elements to the {@code target} collection. Moved elements are not reported to {@link #removed(Object)}.
+     *
+     * @param target the collection to add the elements to
+     */
+    public void drainTo(Collection<? super E> target) {
+        target.addAll(delegate);
+        delegate.clear();
+        index.clear();
+    }
+
+    /**
+     * Invoked after an element was removed from the queue. Elements moved by {@link #drainTo(Collection)} are not reported.
+     *
+     * @param e the removed element
+     */
+    protected void removed(E e) {
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+
+        final Iterator<E> iterator = delegate.iterator();
+        return new Iterator<E>() {
+
+            private E current;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public E next() {
+                current = iterator.next();
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+                index.remove(current);
+                removed(current);
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return delegate.isEmpty();
+    }
+}
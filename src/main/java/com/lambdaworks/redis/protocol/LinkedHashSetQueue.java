@@ -0,0 +1,94 @@
+package com.lambdaworks.redis.protocol;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * {@link java.util.Queue} backed by a {@link LinkedHashSet}. Elements are kept in insertion order and are contained at most
+ * once. {@link #contains(Object)} and {@link #remove(Object)} run in constant time. This class is not thread-safe.
+ *
+ * @param <E> Element type.
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ */
+class LinkedHashSetQueue<E> extends AbstractQueue<E> {
+
+    private final Set<E> delegate;
+
+    public LinkedHashSetQueue() {
+        this.delegate = new LinkedHashSet<E>();
+    }
+
+    public LinkedHashSetQueue(int initialCapacity) {
+        this.delegate = new LinkedHashSet<E>(initialCapacity);
+    }
+
+    /**
+     * Add the element to the tail of the queue.
+     *
+     * @param e the element
+     * @return {@literal true} if the element was added, {@literal false} if the element was already contained in the queue.
+     */
+    @Override
+    public boolean add(E e) {
+        return offer(e);
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        return delegate.add(e);
+    }
+
+    @Override
+    public E poll() {
+        Iterator<E> iterator = delegate.iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+
+        E e = iterator.next();
+        iterator.remove();
+        return e;
+    }
+
+    @Override
+    public E peek() {
+        Iterator<E> iterator = delegate.iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return delegate.contains(o);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return delegate.remove(o);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return delegate.removeAll(c);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return delegate.iterator();
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+}
@@ -0,0 +1,29 @@
+package com.lambdaworks.redis.protocol;
+
+import com.lambdaworks.redis.ConnectionEvents;
+
+/**
+ * Listener for reconnection events of the {@link ConnectionWatchdog}. The listener is notified on the thread that attempts the
+ * reconnect and must therefore not block.
+ *
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+public interface ReconnectionListener {
+
+    /**
+     * Listener that ignores all events.
+     */
+    ReconnectionListener NO_OP = new ReconnectionListener() {
+        @Override
+        public void onReconnect(ConnectionEvents.Reconnect reconnect) {
+        }
+    };
+
+    /**
+     * Notification before a reconnect attempt.
+     *
+     * @param reconnect the reconnect event
+     */
+    void onReconnect(ConnectionEvents.Reconnect reconnect);
+}
@@ -0,0 +1,180 @@
+package com.lambdaworks.redis.protocol;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * {@link CommandOutput} that records the response of a command without decoding it so the response can be
+ * {@link #replay() replayed} to the output of the command on another thread. Bulk and status replies are recorded as indexes
+ * into the received buffer, which is retained until the response was replayed or {@link #release() released}.
+ *
+ * <p>
+ * The received buffer must not be modified while it is retained. {@link CommandHandler} only discards read bytes of its
+ * buffer while it holds the only reference and the cumulators of netty copy into a new buffer if the buffer is shared.
+ * </p>
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+class RecordingOutput<K, V> extends CommandOutput<K, V, Void> {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private static final byte BYTES = 0;
+    private static final byte NULL = 1;
+    private static final byte INTEGER = 2;
+    private static final byte ERROR = 3;
+    private static final byte MULTI = 4;
+    private static final byte COMPLETE = 5;
+
+    private final RedisCommand<K, V, ?> command;
+
+    /**
+     * Recorded events. {@code values} holds the integer, count, depth or buffer offset, {@code lengths} the number of bytes and
+     * {@code refs} the buffer or the error bytes of an event.
+     */
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private long[] values = new long[INITIAL_CAPACITY];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private Object[] refs = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    private ByteBuf[] retained = new ByteBuf[2];
+    private int retainedCount;
+
+    /**
+     * Initialize a new instance recording the response of {@code command}.
+     *
+     * @param command the command
+     */
+    RecordingOutput(RedisCommand<K, V, ?> command) {
+        super(null, null, RecordingOutput.class);
+        this.command = command;
+    }
+
+    @Override
+    public void set(ByteBuffer bytes) {
+        if (bytes != null) {
+            throw new IllegalStateException("Bulk replies are recorded from the received buffer");
+        }
+        add(NULL, 0, 0, null);
+    }
+
+    @Override
+    protected void setBytes(ByteBuf buffer, int offset, int length) {
+        if (retainedCount == 0 || retained[retainedCount - 1] != buffer) {
+            if (retainedCount == retained.length) {
+                retained = Arrays.copyOf(retained, retainedCount * 2);
+            }
+            retained[retainedCount++] = buffer.retain();
+        }
+        add(BYTES, offset, length, buffer);
+    }
+
+    @Override
+    public void set(long integer) {
+        add(INTEGER, integer, 0, null);
+    }
+
+    @Override
+    public void setError(ByteBuffer error) {
+        byte[] bytes = new byte[error.remaining()];
+        error.get(bytes);
+        add(ERROR, 0, 0, bytes);
+    }
+
+    @Override
+    public void multi(int count) {
+        add(MULTI, count, 0, null);
+    }
+
+    @Override
+    public void complete(int depth) {
+        add(COMPLETE, depth, 0, null);
+    }
+
+    /**
+     *
+     * @return the command whose response is recorded.
+     */
+    RedisCommand<K, V, ?> getCommand() {
+        return command;
+    }
+
+    /**
+     * Replay the recorded response to the output of the command, release the received buffers and complete the command.
+     * Failures of the output are stored in the command like failures while decoding the response.
+     */
+    void replay() {
+        CommandOutput<K, V, ?> output = command.getOutput();
+
+        try {
+            for (int i = 0; i < size; i++) {
+                try {
+                    switch (types[i]) {
+                        case BYTES:
+                            output.set((ByteBuf) refs[i], (int) values[i], lengths[i]);
+                            break;
+                        case NULL:
+                            output.set((ByteBuffer) null);
+                            break;
+                        case INTEGER:
+                            output.set(values[i]);
+                            break;
+                        case ERROR:
+                            output.setError(ByteBuffer.wrap((byte[]) refs[i]));
+                            break;
+                        case MULTI:
+                            output.multi((int) values[i]);
+                            break;
+                        case COMPLETE:
+                            output.complete((int) values[i]);
+                            break;
+                        default:
+                            throw new IllegalStateException("Event " + types[i] + " not supported");
+                    }
+                } catch (Exception e) {
+                    command.setException(e);
+                    command.cancel(true);
+                }
+            }
+        } finally {
+            release();
+        }
+
+        command.complete();
+    }
+
+    /**
+     * Release the received buffers without replaying the response.
+     */
+    void release() {
+        for (int i = 0; i < retainedCount; i++) {
+            retained[i].release();
+            retained[i] = null;
+        }
+        retainedCount = 0;
+        Arrays.fill(refs, 0, size, null);
+        size = 0;
+    }
+
+    private void add(byte type, long value, int length, Object ref) {
+        if (size == types.length) {
+            int capacity = size * 2;
+            types = Arrays.copyOf(types, capacity);
+            values = Arrays.copyOf(values, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            refs = Arrays.copyOf(refs, capacity);
+        }
+
+        types[size] = type;
+        values[size] = value;
+        lengths[size] = length;
+        refs[size] = ref;
+        size++;
+    }
+}
@@ -2,7 +2,6 @@
 
 package com.lambdaworks.redis.protocol;
 
-import static com.lambdaworks.redis.protocol.LettuceCharsets.buffer;
 import static com.lambdaworks.redis.protocol.RedisStateMachine.State.Type.BULK;
 import static com.lambdaworks.redis.protocol.RedisStateMachine.State.Type.BYTES;
 import static com.lambdaworks.redis.protocol.RedisStateMachine.State.Type.ERROR;
@@ -11,8 +10,7 @@ import static com.lambdaworks.redis.protocol.RedisStateMachine.State.Type.MULTI;
 import static com.lambdaworks.redis.protocol.RedisStateMachine.State.Type.SINGLE;
 
 import java.nio.ByteBuffer;
-import java.util.Deque;
-import java.util.LinkedList;
+import java.util.Arrays;
 
 import com.lambdaworks.redis.RedisException;
 
@@ -30,24 +28,32 @@ import io.netty.util.internal.logging.InternalLoggerFactory;
  */
 public class RedisStateMachine<K, V> {
     private static final InternalLogger logger = InternalLoggerFactory.getInstance(RedisStateMachine.class);
-    private static final ByteBuffer QUEUED = buffer("QUEUED");
+    private static final byte[] QUEUED = "QUEUED".getBytes(LettuceCharsets.ASCII);
+
+    private static final int INITIAL_STACK_DEPTH = 32;
+    private static final int NO_TYPE = -1;
+    private static final State.Type[] TYPES = State.Type.values();
 
     static class State {
         enum Type {
             SINGLE, ERROR, INTEGER, BULK, MULTI, BYTES
         }
-
-        Type type = null;
-        int count = -1;
     }
 
-    private final Deque<State> stack;
+    /**
+     * Parse stack. Each level is represented by its {@link State.Type#ordinal() type ordinal} and its remaining count so
+     * decoding does not allocate state objects.
+     */
+    private int[] stackTypes;
+    private int[] stackCounts;
+    private int stackElements;
 
     /**
      * Initialize a new instance.
      */
     public RedisStateMachine() {
-        stack = new LinkedList<State>();
+        stackTypes = new int[INITIAL_STACK_DEPTH];
+        stackCounts = new int[INITIAL_STACK_DEPTH];
     }
 
     /**
@@ -71,42 +77,45 @@ public class RedisStateMachine<K, V> {
      * @return true if a complete response was read.
      */
     public boolean decode(ByteBuf buffer, RedisCommand<K, V, ?> command, CommandOutput<K, V, ?> output) {
-        int length, end;
+        int length, start, end;
         ByteBuffer bytes;
 
         if (logger.isDebugEnabled()) {
             logger.debug("Decode " + command);
         }
 
-        if (stack.isEmpty()) {
-            stack.add(new State());
+        if (isEmpty()) {
+            push();
         }
 
         if (output == null) {
-            return stack.isEmpty();
+            return isEmpty();
         }
 
         loop:
 
-        while (!stack.isEmpty()) {
-            State state = stack.peek();
+        while (!isEmpty()) {
+            int top = stackElements - 1;
 
-            if (state.type == null) {
+            if (stackTypes[top] == NO_TYPE) {
                 if (!buffer.isReadable()) {
                     break;
                 }
-                state.type = readReplyType(buffer);
+                stackTypes[top] = readReplyType(buffer).ordinal();
                 buffer.markReaderIndex();
             }
 
-            switch (state.type) {
+            switch (TYPES[stackTypes[top]]) {
                 case SINGLE:
-                    if ((bytes = readLine(buffer)) == null) {
+                    if ((end = findLineEnd(buffer)) == -1) {
                         break loop;
                     }
-                    if (!QUEUED.equals(bytes)) {
-                        safeSet(output, bytes, command);
+                    start = buffer.readerIndex();
+                    length = end - start - 1;
+                    if (!isQueued(buffer, start, length)) {
+                        safeSet(output, buffer, start, length, command);
                     }
+                    buffer.readerIndex(end + 1);
                     break;
                 case ERROR:
                     if ((bytes = readLine(buffer)) == null) {
@@ -129,53 +138,74 @@ public class RedisStateMachine<K, V> {
                     if (length == -1) {
                         safeSet(output, null, command);
                     } else {
-                        state.type = BYTES;
-                        state.count = length + 2;
+                        stackTypes[top] = BYTES.ordinal();
+                        stackCounts[top] = length + 2;
                         buffer.markReaderIndex();
                         continue loop;
                     }
                     break;
                 case MULTI:
-                    if (state.count == -1) {
+                    if (stackCounts[top] == -1) {
                         if ((end = findLineEnd(buffer)) == -1) {
                             break loop;
                         }
                         length = (int) readLong(buffer, buffer.readerIndex(), end);
-                        state.count = length;
+                        stackCounts[top] = length;
                         buffer.markReaderIndex();
-                        safeMulti(output, state.count, command);
+                        safeMulti(output, stackCounts[top], command);
                     }
 
-                    if (state.count <= 0) {
+                    if (stackCounts[top] <= 0) {
                         break;
                     }
 
-                    state.count--;
-                    stack.addFirst(new State());
+                    stackCounts[top]--;
+                    push();
 
                     continue loop;
                 case BYTES:
-                    if ((bytes = readBytes(buffer, state.count)) == null) {
+                    if (buffer.readableBytes() < stackCounts[top]) {
                         break loop;
                     }
-                    safeSet(output, bytes, command);
+                    start = buffer.readerIndex();
+                    safeSet(output, buffer, start, stackCounts[top] - 2, command);
+                    buffer.readerIndex(start + stackCounts[top]);
                     break;
                 default:
-                    throw new IllegalStateException("State " + state.type + " not supported");
+                    throw new IllegalStateException("State " + TYPES[stackTypes[top]] + " not supported");
             }
 
             buffer.markReaderIndex();
-            stack.remove();
+            pop();
 
-            output.complete(stack.size());
+            output.complete(stackElements);
 
         }
 
         if (logger.isDebugEnabled()) {
-            logger.debug("Decoded " + command + ", empty stack: " + stack.isEmpty());
+            logger.debug("Decoded " + command + ", empty stack: " + isEmpty());
         }
 
-        return stack.isEmpty();
+        return isEmpty();
+    }
+
+    private boolean isEmpty() {
+        return stackElements == 0;
+    }
+
+    private void push() {
+        if (stackElements == stackTypes.length) {
+            stackTypes = Arrays.copyOf(stackTypes, stackElements * 2);
+            stackCounts = Arrays.copyOf(stackCounts, stackElements * 2);
+        }
+
+        stackTypes[stackElements] = NO_TYPE;
+        stackCounts[stackElements] = -1;
+        stackElements++;
+    }
+
+    private void pop() {
+        stackElements--;
     }
 
     protected void safeSet(CommandOutput<K, V, ?> output, long integer, RedisCommand<K, V, ?> command) {
@@ -197,6 +227,16 @@ public class RedisStateMachine<K, V> {
         }
     }
 
+    protected void safeSet(CommandOutput<K, V, ?> output, ByteBuf buffer, int offset, int length,
+            RedisCommand<K, V, ?> command) {
+        try {
+            output.set(buffer, offset, length);
+        } catch (Exception e) {
+            command.setException(e);
+            command.cancel(true);
+        }
+    }
+
     protected void safeMulti(CommandOutput<K, V, ?> output, int count, RedisCommand<K, V, ?> command) {
         try {
             output.multi(count);
@@ -268,16 +308,20 @@ public class RedisStateMachine<K, V> {
         return bytes;
     }
 
-    private ByteBuffer readBytes(ByteBuf buffer, int count) {
-        ByteBuffer bytes = null;
-        if (buffer.readableBytes() >= count) {
-            bytes = buffer.nioBuffer(buffer.readerIndex(), count - 2);
-            buffer.readerIndex(buffer.readerIndex() + count);
+    private boolean isQueued(ByteBuf buffer, int start, int length) {
+        if (length != QUEUED.length) {
+            return false;
         }
-        return bytes;
+
+        for (int i = 0; i < length; i++) {
+            if (buffer.getByte(start + i) != QUEUED[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public void reset() {
-        stack.clear();
+        stackElements = 0;
     }
 }
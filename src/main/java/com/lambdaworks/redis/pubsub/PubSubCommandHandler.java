@@ -47,7 +47,6 @@ public class PubSubCommandHandler<K, V> extends CommandHandler<K, V> {
                 return;
             }
             queue.poll().complete();
-            buffer.discardReadBytes();
             if (currentOutput instanceof PubSubOutput) {
                 ctx.fireChannelRead(currentOutput);
             }
@@ -56,7 +55,6 @@ public class PubSubCommandHandler<K, V> extends CommandHandler<K, V> {
         while (rsm.decode(buffer, output)) {
             ctx.fireChannelRead(output);
             output = new PubSubOutput<K, V, V>(codec);
-            buffer.discardReadBytes();
         }
     }
 
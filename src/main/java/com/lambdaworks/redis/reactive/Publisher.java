@@ -0,0 +1,21 @@
+package com.lambdaworks.redis.reactive;
+
+/**
+ * Provider of a potentially unbounded number of elements, publishing them according to the demand received from its
+ * {@link Subscriber subscribers}. The contract follows the <a href="http://www.reactive-streams.org">Reactive Streams</a>
+ * {@code Publisher} so publishers can be adapted to Reactive Streams implementations with a thin wrapper.
+ * 
+ * @param <T> Element type.
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+public interface Publisher<T> {
+
+    /**
+     * Request the publisher to start streaming data to the {@code subscriber}. Every call starts a new {@link Subscription}
+     * and executes the underlying command once demand is signalled.
+     * 
+     * @param subscriber the subscriber, must not be {@literal null}
+     */
+    void subscribe(Subscriber<? super T> subscriber);
+}
@@ -0,0 +1,385 @@
+package com.lambdaworks.redis.reactive;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.lambdaworks.redis.KeyValue;
+import com.lambdaworks.redis.RedisAsyncConnection;
+import com.lambdaworks.redis.RedisChannelHandler;
+import com.lambdaworks.redis.RedisChannelWriter;
+import com.lambdaworks.redis.RedisFuture;
+import com.lambdaworks.redis.ScanArgs;
+import com.lambdaworks.redis.ScanCursor;
+import com.lambdaworks.redis.ScoredValue;
+import com.lambdaworks.redis.StreamScanCursor;
+import com.lambdaworks.redis.output.KeyValueStreamingChannel;
+import com.lambdaworks.redis.output.ScoredValueStreamingChannel;
+import com.lambdaworks.redis.protocol.CommandHandler;
+
+/**
+ * {@link Publisher} based API for commands with potentially large responses, layered over the Streaming API of a
+ * {@link RedisAsyncConnection}. Commands are executed when the subscriber requests elements. While the subscriber has no
+ * outstanding demand, reading from the connection is suspended so responses are not read faster than they are consumed.
+ *
+ * <p>
+ * Suspending reads delays the responses of all commands sharing the connection. Use a dedicated connection for large
+ * responses that are consumed slowly. Backpressure by suspending reads requires a connection created by
+ * {@link com.lambdaworks.redis.RedisClient}, other connections buffer elements until they are requested.
+ * </p>
+ *
+ * <p>
+ * The SCAN publishers follow the cursor until the whole keyspace, set, hash or sorted set was scanned.
+ * </p>
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+public class RedisReactiveConnection<K, V> {
+
+    private final RedisAsyncConnection<K, V> connection;
+    private final CommandHandler<?, ?> commandHandler;
+
+    /**
+     * Create a new reactive connection using the supplied asynchronous connection.
+     *
+     * @param connection the asynchronous connection, must not be {@literal null}
+     */
+    public RedisReactiveConnection(RedisAsyncConnection<K, V> connection) {
+        checkArgument(connection != null, "connection must not be null");
+        this.connection = connection;
+        this.commandHandler = commandHandler(connection);
+    }
+
+    /**
+     *
+     * @return the underlying asynchronous connection.
+     */
+    public RedisAsyncConnection<K, V> getAsyncConnection() {
+        return connection;
+    }
+
+    /**
+     * Publish all the fields and values in a hash.
+     *
+     * @param key the key
+     * @return publisher of the fields and values.
+     */
+    public Publisher<KeyValue<K, V>> hgetall(final K key) {
+        return new StreamingPublisher<KeyValue<K, V>>(commandHandler) {
+            @Override
+            RedisFuture<?> execute(StreamingSubscription<KeyValue<K, V>> subscription) {
+                return connection.hgetall(keyValues(subscription), key);
+            }
+        };
+    }
+
+    /**
+     * Publish all the fields in a hash.
+     *
+     * @param key the key
+     * @return publisher of the fields.
+     */
+    public Publisher<K> hkeys(final K key) {
+        return new StreamingPublisher<K>(commandHandler) {
+            @Override
+            RedisFuture<?> execute(StreamingSubscription<K> subscription) {
+                return connection.hkeys(subscription, key);
+            }
+        };
+    }
+
+    /**
+     * Publish all the values in a hash.
+     *
+     * @param key the key
+     * @return publisher of the values.
+     */
+    public Publisher<V> hvals(final K key) {
+        return new StreamingPublisher<V>(commandHandler) {
+            @Override
+            RedisFuture<?> execute(StreamingSubscription<V> subscription) {
+                return connection.hvals(subscription, key);
+            }
+        };
+    }
+
+    /**
+     * Publish all keys matching the given pattern.
+     *
+     * @param pattern the pattern type: patternkey (pattern)
+     * @return publisher of the keys.
+     */
+    public Publisher<K> keys(final K pattern) {
+        return new StreamingPublisher<K>(commandHandler) {
+            @Override
+            RedisFuture<?> execute(StreamingSubscription<K> subscription) {
+                return connection.keys(subscription, pattern);
+            }
+        };
+    }
+
+    /**
+     * Publish a range of elements from a list.
+     *
+     * @param key the key
+     * @param start the start type: long
+     * @param stop the stop type: long
+     * @return publisher of the elements in the specified range.
+     */
+    public Publisher<V> lrange(final K key, final long start, final long stop) {
+        return new StreamingPublisher<V>(commandHandler) {
+            @Override
+            RedisFuture<?> execute(StreamingSubscription<V> subscription) {
+                return connection.lrange(subscription, key, start, stop);
+            }
+        };
+    }
+
+    /**
+     * Publish all the members in a set.
+     *
+     * @param key the key
+     * @return publisher of the members.
+     */
+    public Publisher<V> smembers(final K key) {
+        return new StreamingPublisher<V>(commandHandler) {
+            @Override
+            RedisFuture<?> execute(StreamingSubscription<V> subscription) {
+                return connection.smembers(subscription, key);
+            }
+        };
+    }
+
+    /**
+     * Publish a range of members in a sorted set, by index.
+     *
+     * @param key the key
+     * @param start the start
+     * @param stop the stop
+     * @return publisher of the members in the specified range.
+     */
+    public Publisher<V> zrange(final K key, final long start, final long stop) {
+        return new StreamingPublisher<V>(commandHandler) {
+            @Override
+            RedisFuture<?> execute(StreamingSubscription<V> subscription) {
+                return connection.zrange(subscription, key, start, stop);
+            }
+        };
+    }
+
+    /**
+     * Publish a range of members with scores in a sorted set, by index.
+     *
+     * @param key the key
+     * @param start the start
+     * @param stop the stop
+     * @return publisher of the members with scores in the specified range.
+     */
+    public Publisher<ScoredValue<V>> zrangeWithScores(final K key, final long start, final long stop) {
+        return new StreamingPublisher<ScoredValue<V>>(commandHandler) {
+            @Override
+            RedisFuture<?> execute(StreamingSubscription<ScoredValue<V>> subscription) {
+                return connection.zrangeWithScores(scoredValues(subscription), key, start, stop);
+            }
+        };
+    }
+
+    /**
+     * Publish a range of members in a sorted set, by score.
+     *
+     * @param key the key
+     * @param min min score
+     * @param max max score
+     * @return publisher of the members in the specified score range.
+     */
+    public Publisher<V> zrangebyscore(final K key, final double min, final double max) {
+        return new StreamingPublisher<V>(commandHandler) {
+            @Override
+            RedisFuture<?> execute(StreamingSubscription<V> subscription) {
+                return connection.zrangebyscore(subscription, key, min, max);
+            }
+        };
+    }
+
+    /**
+     * Publish a range of members with scores in a sorted set, by score.
+     *
+     * @param key the key
+     * @param min min score
+     * @param max max score
+     * @return publisher of the members with scores in the specified score range.
+     */
+    public Publisher<ScoredValue<V>> zrangebyscoreWithScores(final K key, final double min, final double max) {
+        return new StreamingPublisher<ScoredValue<V>>(commandHandler) {
+            @Override
+            RedisFuture<?> execute(StreamingSubscription<ScoredValue<V>> subscription) {
+                return connection.zrangebyscoreWithScores(scoredValues(subscription), key, min, max);
+            }
+        };
+    }
+
+    /**
+     * Publish a range of members in a sorted set, by index, with scores ordered from high to low.
+     *
+     * @param key the key
+     * @param start the start
+     * @param stop the stop
+     * @return publisher of the members in the specified range.
+     */
+    public Publisher<V> zrevrange(final K key, final long start, final long stop) {
+        return new StreamingPublisher<V>(commandHandler) {
+            @Override
+            RedisFuture<?> execute(StreamingSubscription<V> subscription) {
+                return connection.zrevrange(subscription, key, start, stop);
+            }
+        };
+    }
+
+    /**
+     * Publish a range of members with scores in a sorted set, by index, with scores ordered from high to low.
+     *
+     * @param key the key
+     * @param start the start
+     * @param stop the stop
+     * @return publisher of the members with scores in the specified range.
+     */
+    public Publisher<ScoredValue<V>> zrevrangeWithScores(final K key, final long start, final long stop) {
+        return new StreamingPublisher<ScoredValue<V>>(commandHandler) {
+            @Override
+            RedisFuture<?> execute(StreamingSubscription<ScoredValue<V>> subscription) {
+                return connection.zrevrangeWithScores(scoredValues(subscription), key, start, stop);
+            }
+        };
+    }
+
+    /**
+     * Publish all keys of the keyspace.
+     *
+     * @return publisher of the keys.
+     */
+    public Publisher<K> scan() {
+        return scan(null);
+    }
+
+    /**
+     * Publish all keys of the keyspace.
+     *
+     * @param scanArgs scan arguments, may be {@literal null}
+     * @return publisher of the keys.
+     */
+    public Publisher<K> scan(final ScanArgs scanArgs) {
+        return new ScanPublisher<K>(commandHandler) {
+            @Override
+            RedisFuture<StreamScanCursor> scan(StreamingSubscription<K> subscription, ScanCursor cursor) {
+                return connection.scan(subscription, cursor, scanArgs);
+            }
+        };
+    }
+
+    /**
+     * Publish all members of a set.
+     *
+     * @param key the key
+     * @return publisher of the members.
+     */
+    public Publisher<V> sscan(K key) {
+        return sscan(key, null);
+    }
+
+    /**
+     * Publish all members of a set.
+     *
+     * @param key the key
+     * @param scanArgs scan arguments, may be {@literal null}
+     * @return publisher of the members.
+     */
+    public Publisher<V> sscan(final K key, final ScanArgs scanArgs) {
+        return new ScanPublisher<V>(commandHandler) {
+            @Override
+            RedisFuture<StreamScanCursor> scan(StreamingSubscription<V> subscription, ScanCursor cursor) {
+                return connection.sscan(subscription, key, cursor, scanArgs);
+            }
+        };
+    }
+
+    /**
+     * Publish all fields and values of a hash.
+     *
+     * @param key the key
+     * @return publisher of the fields and values.
+     */
+    public Publisher<KeyValue<K, V>> hscan(K key) {
+        return hscan(key, null);
+    }
+
+    /**
+     * Publish all fields and values of a hash.
+     *
+     * @param key the key
+     * @param scanArgs scan arguments, may be {@literal null}
+     * @return publisher of the fields and values.
+     */
+    public Publisher<KeyValue<K, V>> hscan(final K key, final ScanArgs scanArgs) {
+        return new ScanPublisher<KeyValue<K, V>>(commandHandler) {
+            @Override
+            RedisFuture<StreamScanCursor> scan(StreamingSubscription<KeyValue<K, V>> subscription, ScanCursor cursor) {
+                return connection.hscan(keyValues(subscription), key, cursor, scanArgs);
+            }
+        };
+    }
+
+    /**
+     * Publish all members with scores of a sorted set.
+     *
+     * @param key the key
+     * @return publisher of the members with scores.
+     */
+    public Publisher<ScoredValue<V>> zscan(K key) {
+        return zscan(key, null);
+    }
+
+    /**
+     * Publish all members with scores of a sorted set.
+     *
+     * @param key the key
+     * @param scanArgs scan arguments, may be {@literal null}
+     * @return publisher of the members with scores.
+     */
+    public Publisher<ScoredValue<V>> zscan(final K key, final ScanArgs scanArgs) {
+        return new ScanPublisher<ScoredValue<V>>(commandHandler) {
+            @Override
+            RedisFuture<StreamScanCursor> scan(StreamingSubscription<ScoredValue<V>> subscription, ScanCursor cursor) {
+                return connection.zscan(scoredValues(subscription), key, cursor, scanArgs);
+            }
+        };
+    }
+
+    private static <K, V> KeyValueStreamingChannel<K, V> keyValues(final StreamingSubscription<KeyValue<K, V>> subscription) {
+        return new KeyValueStreamingChannel<K, V>() {
+            @Override
+            public void onKeyValue(K key, V value) {
+                subscription.emit(new KeyValue<K, V>(key, value));
+            }
+        };
+    }
+
+    private static <V> ScoredValueStreamingChannel<V> scoredValues(final StreamingSubscription<ScoredValue<V>> subscription) {
+        return new ScoredValueStreamingChannel<V>() {
+            @Override
+            public void onValue(ScoredValue<V> value) {
+                subscription.emit(value);
+            }
+        };
+    }
+
+    private static CommandHandler<?, ?> commandHandler(RedisAsyncConnection<?, ?> connection) {
+        if (connection instanceof RedisChannelHandler) {
+            RedisChannelWriter<?, ?> writer = ((RedisChannelHandler<?, ?>) connection).getChannelWriter();
+            if (writer instanceof CommandHandler) {
+                return (CommandHandler<?, ?>) writer;
+            }
+        }
+        return null;
+    }
+}
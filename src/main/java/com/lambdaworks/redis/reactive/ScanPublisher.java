@@ -0,0 +1,44 @@
+package com.lambdaworks.redis.reactive;
+
+import com.lambdaworks.redis.RedisFuture;
+import com.lambdaworks.redis.ScanCursor;
+import com.lambdaworks.redis.StreamScanCursor;
+import com.lambdaworks.redis.protocol.CommandHandler;
+
+/**
+ * {@link Publisher} following a SCAN cursor until it is finished. The next page is requested as soon as the previous page is
+ * received, its response is not read while reading is suspended.
+ * 
+ * @param <T> Element type.
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+abstract class ScanPublisher<T> extends StreamingPublisher<T> {
+
+    ScanPublisher(CommandHandler<?, ?> commandHandler) {
+        super(commandHandler);
+    }
+
+    @Override
+    RedisFuture<?> execute(StreamingSubscription<T> subscription) {
+        return scan(subscription, null);
+    }
+
+    @Override
+    RedisFuture<?> executeNext(StreamingSubscription<T> subscription, Object result) {
+        StreamScanCursor cursor = (StreamScanCursor) result;
+        if (cursor == null || cursor.isFinished()) {
+            return null;
+        }
+        return scan(subscription, cursor);
+    }
+
+    /**
+     * Scan the next page.
+     * 
+     * @param subscription the subscription that receives the elements
+     * @param cursor the cursor, {@literal null} for the initial page
+     * @return the future of the scan command.
+     */
+    abstract RedisFuture<StreamScanCursor> scan(StreamingSubscription<T> subscription, ScanCursor cursor);
+}
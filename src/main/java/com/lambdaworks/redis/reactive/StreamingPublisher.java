@@ -0,0 +1,54 @@
+package com.lambdaworks.redis.reactive;
+
+import com.lambdaworks.redis.RedisFuture;
+import com.lambdaworks.redis.protocol.CommandHandler;
+
+/**
+ * {@link Publisher} executing a streaming command once the subscriber signals demand. Every subscription executes the command
+ * again. Publishers that require more than one command, such as SCAN, continue with {@link #executeNext(StreamingSubscription,
+ * Object)}.
+ * 
+ * @param <T> Element type.
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+abstract class StreamingPublisher<T> implements Publisher<T> {
+
+    private final CommandHandler<?, ?> commandHandler;
+
+    /**
+     * 
+     * @param commandHandler the command handler to suspend reading on, may be {@literal null}
+     */
+    StreamingPublisher(CommandHandler<?, ?> commandHandler) {
+        this.commandHandler = commandHandler;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber must not be null");
+        }
+
+        subscriber.onSubscribe(new StreamingSubscription<T>(this, subscriber, commandHandler));
+    }
+
+    /**
+     * Execute the command streaming its elements to the {@code subscription}.
+     * 
+     * @param subscription the subscription that receives the elements
+     * @return the future of the command.
+     */
+    abstract RedisFuture<?> execute(StreamingSubscription<T> subscription);
+
+    /**
+     * Execute the command following a completed command.
+     * 
+     * @param subscription the subscription that receives the elements
+     * @param result the result of the previous command
+     * @return the future of the next command or {@literal null} if all elements were published.
+     */
+    RedisFuture<?> executeNext(StreamingSubscription<T> subscription, Object result) {
+        return null;
+    }
+}
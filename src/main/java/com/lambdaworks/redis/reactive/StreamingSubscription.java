@@ -0,0 +1,240 @@
+package com.lambdaworks.redis.reactive;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.lambdaworks.redis.LettuceFutures;
+import com.lambdaworks.redis.RedisFuture;
+import com.lambdaworks.redis.output.KeyStreamingChannel;
+import com.lambdaworks.redis.output.ValueStreamingChannel;
+import com.lambdaworks.redis.protocol.CommandHandler;
+
+/**
+ * Subscription of a {@link StreamingPublisher}. Receives the elements of the streaming command as {@link KeyStreamingChannel}
+ * or {@link ValueStreamingChannel}, buffers them and publishes them according to the requested demand. Reading from the
+ * channel is suspended while the demand is exhausted and the command is not completed, so the buffer holds at most the
+ * elements of the responses that were read before reading was suspended.
+ *
+ * <p>
+ * Signals to the subscriber are serialized by a work-in-progress counter and are delivered by either the I/O thread or the
+ * thread requesting more elements.
+ * </p>
+ *
+ * @param <T> Element type.
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+class StreamingSubscription<T> implements Subscription, KeyStreamingChannel<T>, ValueStreamingChannel<T>,
+        FutureCallback<Object> {
+
+    private final StreamingPublisher<T> publisher;
+    private final Subscriber<? super T> subscriber;
+    private final CommandHandler<?, ?> commandHandler;
+
+    private final Queue<T> buffer = new ConcurrentLinkedQueue<T>();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    private volatile boolean terminated;
+    private volatile Throwable error;
+    private volatile Throwable requestError;
+
+    /**
+     * Only accessed within {@link #drain()}.
+     */
+    private boolean readSuspended;
+
+    StreamingSubscription(StreamingPublisher<T> publisher, Subscriber<? super T> subscriber,
+            CommandHandler<?, ?> commandHandler) {
+        this.publisher = publisher;
+        this.subscriber = subscriber;
+        this.commandHandler = commandHandler;
+    }
+
+    @Override
+    public void request(long n) {
+
+        if (n <= 0) {
+            requestError = new IllegalArgumentException("Requested elements must be positive but was " + n);
+            drain();
+            return;
+        }
+
+        for (;;) {
+            long current = requested.get();
+            long next = current + n;
+            if (next < 0) {
+                next = Long.MAX_VALUE;
+            }
+
+            if (requested.compareAndSet(current, next)) {
+                break;
+            }
+        }
+
+        if (started.compareAndSet(false, true)) {
+            try {
+                subscribeTo(publisher.execute(this));
+            } catch (RuntimeException e) {
+                onFailure(e);
+                return;
+            }
+        }
+
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        drain();
+    }
+
+    @Override
+    public void onKey(T key) {
+        emit(key);
+    }
+
+    @Override
+    public void onValue(T value) {
+        emit(value);
+    }
+
+    /**
+     * Buffer an element of the command response and publish it if there is demand. {@literal null} elements are skipped.
+     *
+     * @param element the element
+     */
+    void emit(T element) {
+        if (element == null || cancelled || terminated) {
+            return;
+        }
+
+        buffer.offer(element);
+        drain();
+    }
+
+    /**
+     * Continue with the next command or complete the subscription.
+     *
+     * @param result the result of the completed command
+     */
+    @Override
+    public void onSuccess(Object result) {
+        if (cancelled || terminated) {
+            drain();
+            return;
+        }
+
+        try {
+            subscribeTo(publisher.executeNext(this, result));
+        } catch (RuntimeException e) {
+            onFailure(e);
+        }
+    }
+
+    @Override
+    public void onFailure(Throwable t) {
+        error = t;
+        done = true;
+        drain();
+    }
+
+    private void subscribeTo(RedisFuture<?> future) {
+        if (future == null) {
+            done = true;
+            drain();
+            return;
+        }
+
+        LettuceFutures.addCallback(future, this);
+    }
+
+    private void drain() {
+
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        for (;;) {
+
+            long r = requested.get();
+            long emitted = 0;
+
+            while (emitted != r && !cancelled && !terminated && requestError == null) {
+                T element = buffer.poll();
+                if (element == null) {
+                    break;
+                }
+
+                subscriber.onNext(element);
+                emitted++;
+            }
+
+            if (emitted != 0 && r != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+
+            Throwable terminalError = null;
+            boolean terminate = false;
+            if (!terminated) {
+                boolean d = done;
+                if (cancelled) {
+                    terminated = true;
+                } else if (requestError != null) {
+                    terminated = terminate = true;
+                    terminalError = requestError;
+                } else if (d && buffer.isEmpty()) {
+                    terminated = terminate = true;
+                    terminalError = error;
+                }
+            }
+
+            if (terminated) {
+                buffer.clear();
+            }
+
+            updateReadSuspension();
+
+            if (terminate) {
+                if (terminalError != null) {
+                    subscriber.onError(terminalError);
+                } else {
+                    subscriber.onComplete();
+                }
+            }
+
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    private void updateReadSuspension() {
+
+        if (commandHandler == null) {
+            return;
+        }
+
+        boolean suspend = started.get() && !terminated && !done && requested.get() == 0;
+        if (suspend == readSuspended) {
+            return;
+        }
+
+        readSuspended = suspend;
+        if (suspend) {
+            commandHandler.suspendReading();
+        } else {
+            commandHandler.resumeReading();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.lambdaworks.redis.reactive;
+
+/**
+ * Receiver of the elements of a {@link Publisher}. Signals are delivered sequentially, no further signals follow
+ * {@link #onError(Throwable)} or {@link #onComplete()}. Signals are usually delivered by the I/O thread and must not block.
+ * 
+ * @param <T> Element type.
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+public interface Subscriber<T> {
+
+    /**
+     * Invoked after {@link Publisher#subscribe(Subscriber)}. No data is published until {@link Subscription#request(long)} is
+     * called.
+     * 
+     * @param subscription the subscription
+     */
+    void onSubscribe(Subscription subscription);
+
+    /**
+     * Data notification in response to {@link Subscription#request(long)}.
+     * 
+     * @param element the element
+     */
+    void onNext(T element);
+
+    /**
+     * Terminal signal if the command failed.
+     * 
+     * @param t the failure
+     */
+    void onError(Throwable t);
+
+    /**
+     * Terminal signal after all elements were published.
+     */
+    void onComplete();
+}
@@ -0,0 +1,23 @@
+package com.lambdaworks.redis.reactive;
+
+/**
+ * One-to-one lifecycle of a {@link Subscriber} subscribing to a {@link Publisher}. Used to signal demand and to cancel the
+ * subscription.
+ * 
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+public interface Subscription {
+
+    /**
+     * Signal demand for {@code n} further elements. Demand is cumulative, {@link Long#MAX_VALUE} disables backpressure.
+     * 
+     * @param n the number of elements, must be positive
+     */
+    void request(long n);
+
+    /**
+     * Stop publishing elements. Elements that are already received are discarded.
+     */
+    void cancel();
+}
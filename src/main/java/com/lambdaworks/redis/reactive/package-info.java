@@ -0,0 +1,4 @@
+/**
+ * Publisher based API with backpressure for streaming responses and SCAN cursors.
+ */
+package com.lambdaworks.redis.reactive;
@@ -0,0 +1,83 @@
+package com.lambdaworks.codec;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lambdaworks.redis.cluster.SlotHash;
+
+/**
+ * Benchmark for {@link CRC16} comparing the sliced implementation with the byte-at-a-time loop using a single lookup table,
+ * and for {@link SlotHash#getSlot(byte[])} with a hash tag. Run with {@code -prof gc} to verify that slot calculation does not
+ * allocate.
+ *
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class CRC16Benchmark {
+
+    private static final int[] LOOKUP_TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            LOOKUP_TABLE[i] = CRC16.crc16(new byte[] { (byte) i, 0, 0 }, 0, 1);
+        }
+    }
+
+    @Param({ "8", "32", "256" })
+    private int length;
+
+    private byte[] bytes;
+    private byte[] taggedKey;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        bytes = new byte[length];
+        random.nextBytes(bytes);
+
+        taggedKey = new byte[length + 8];
+        System.arraycopy("user:{".getBytes(), 0, taggedKey, 0, 6);
+        for (int i = 6; i < 6 + length; i++) {
+            taggedKey[i] = (byte) ('a' + random.nextInt(26));
+        }
+        taggedKey[6 + length] = '}';
+        taggedKey[7 + length] = 'x';
+    }
+
+    @Benchmark
+    public int sliced() {
+        return CRC16.crc16(bytes);
+    }
+
+    @Benchmark
+    public int byteAtATime() {
+        int crc = 0x0000;
+
+        for (byte b : bytes) {
+            crc = ((crc << 8) ^ LOOKUP_TABLE[((crc >>> 8) ^ (b & 0xFF)) & 0xFF]);
+        }
+        return crc & 0xFFFF;
+    }
+
+    @Benchmark
+    public int slotWithHashTag() {
+        return SlotHash.getSlot(taggedKey);
+    }
+}
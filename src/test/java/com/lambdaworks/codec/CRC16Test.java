@@ -2,7 +2,7 @@ package com.lambdaworks.codec;
 
 import static org.assertj.core.api.Assertions.*;
 
-import java.util.Calendar;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 import org.junit.Test;
@@ -11,6 +11,9 @@ import org.junit.runners.Parameterized;
 
 import com.google.common.collect.Lists;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
 @RunWith(Parameterized.class)
 public class CRC16Test {
 
@@ -48,4 +51,37 @@ public class CRC16Test {
         assertThat(result).describedAs("Expects " + Integer.toHexString(expected)).isEqualTo(expected);
 
     }
+
+    @Test
+    public void testCRC16Range() throws Exception {
+
+        byte[] padded = new byte[bytes.length + 5];
+        padded[0] = 'x';
+        System.arraycopy(bytes, 0, padded, 3, bytes.length);
+        padded[padded.length - 1] = 'y';
+
+        assertThat(CRC16.crc16(padded, 3, bytes.length)).isEqualTo(expected);
+    }
+
+    @Test
+    public void testCRC16ByteBuf() throws Exception {
+
+        ByteBuf buffer = Unpooled.directBuffer(bytes.length + 2);
+        buffer.writeByte('x').writeBytes(bytes).writeByte('y');
+
+        assertThat(CRC16.crc16(buffer, 1, bytes.length)).isEqualTo(expected);
+        assertThat(CRC16.crc16(Unpooled.wrappedBuffer(bytes), 0, bytes.length)).isEqualTo(expected);
+        buffer.release();
+    }
+
+    @Test
+    public void testCRC16ByteBuffer() throws Exception {
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 1);
+        buffer.put((byte) 'x').put(bytes).flip().position(1);
+
+        assertThat(CRC16.crc16(buffer)).isEqualTo(expected);
+        assertThat(buffer.position()).isEqualTo(1);
+        assertThat(CRC16.crc16(ByteBuffer.wrap(bytes))).isEqualTo(expected);
+    }
 }
@@ -6,6 +6,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -15,6 +16,10 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 
@@ -122,6 +127,70 @@ public class AsyncConnectionTest extends AbstractCommandTest {
 
     }
 
+    @Test(timeout = 10000)
+    public void futureCallback() throws Exception {
+
+        final List<Object> results = new ArrayList<Object>();
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        FutureCallback<Object> callback = new FutureCallback<Object>() {
+            @Override
+            public void onSuccess(Object result) {
+                results.add(result);
+                latch.countDown();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                results.add(t);
+                latch.countDown();
+            }
+        };
+
+        async.set(key, value);
+        RedisFuture<String> length = LettuceFutures.transform(async.strlen(key), new Function<Long, String>() {
+            @Override
+            public String apply(Long input) {
+                return "length: " + input;
+            }
+        });
+        LettuceFutures.addCallback(length, callback);
+        latch.await();
+
+        assertThat(results).containsExactly("length: " + value.length());
+
+        final CountDownLatch errorLatch = new CountDownLatch(1);
+        results.clear();
+        LettuceFutures.addCallback(async.incr(key), new FutureCallback<Long>() {
+            @Override
+            public void onSuccess(Long result) {
+                errorLatch.countDown();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                results.add(t);
+                errorLatch.countDown();
+            }
+        });
+        errorLatch.await();
+
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0)).isInstanceOf(RedisCommandExecutionException.class);
+    }
+
+    @Test
+    public void compose() throws Exception {
+        RedisFuture<String> get = LettuceFutures.compose(async.set(key, value), new AsyncFunction<String, String>() {
+            @Override
+            public ListenableFuture<String> apply(String input) {
+                return async.get(key);
+            }
+        });
+
+        assertThat(get.get()).isEqualTo(value);
+    }
+
     @Test(timeout = 100)
     public void discardCompletesFutures() throws Exception {
         async.multi();
@@ -2,6 +2,8 @@ package com.lambdaworks.redis;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Test;
 
 /**
@@ -24,11 +26,31 @@ public class ClientOptionsTest {
         checkAssertions(ClientOptions.copyOf(new ClientOptions.Builder().build()));
     }
 
+    @Test
+    public void testConsolidateFlush() throws Exception {
+        ClientOptions sut = ClientOptions.copyOf(new ClientOptions.Builder().consolidateFlush(true)
+                .consolidateFlushMaxCommands(16).consolidateFlushDelay(1, TimeUnit.MILLISECONDS).build());
+
+        assertThat(sut.isConsolidateFlush()).isTrue();
+        assertThat(sut.getConsolidateFlushMaxCommands()).isEqualTo(16);
+        assertThat(sut.getConsolidateFlushDelay()).isEqualTo(1);
+        assertThat(sut.getConsolidateFlushDelayUnit()).isEqualTo(TimeUnit.MILLISECONDS);
+    }
+
     protected void checkAssertions(ClientOptions sut) {
         assertThat(sut.isAutoReconnect()).isEqualTo(true);
         assertThat(sut.isCancelCommandsOnReconnectFailure()).isEqualTo(false);
         assertThat(sut.isPingBeforeActivateConnection()).isEqualTo(false);
         assertThat(sut.isSuspendReconnectOnProtocolFailure()).isEqualTo(false);
+        assertThat(sut.isConsolidateFlush()).isEqualTo(false);
+        assertThat(sut.getConsolidateFlushMaxCommands()).isEqualTo(128);
+        assertThat(sut.getConsolidateFlushDelay()).isEqualTo(100);
+        assertThat(sut.getConsolidateFlushDelayUnit()).isEqualTo(TimeUnit.MICROSECONDS);
+        assertThat(sut.getDisconnectedBufferSize()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(sut.getDisconnectedBufferOverflow()).isEqualTo(ClientOptions.DisconnectedBufferOverflow.REJECT);
+        assertThat(sut.getRequestQueueSize()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(sut.getWriteBufferHighWaterMark()).isEqualTo(32 * 1024);
+        assertThat(sut.getWriteBufferLowWaterMark()).isEqualTo(8 * 1024);
     }
 
 }
\ No newline at end of file
@@ -6,8 +6,13 @@ import static com.google.code.tempusfugit.temporal.Duration.seconds;
 import static com.google.code.tempusfugit.temporal.WaitFor.waitOrTimeout;
 import static com.lambdaworks.redis.ScriptOutputType.STATUS;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 
+import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.Rule;
@@ -17,6 +22,9 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import com.google.code.tempusfugit.temporal.Condition;
 import com.google.code.tempusfugit.temporal.Timeout;
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.lambdaworks.redis.protocol.ConnectionWatchdog;
 import com.lambdaworks.redis.server.RandomResponseServer;
 import io.netty.channel.Channel;
@@ -56,6 +64,55 @@ public class ClientTest extends AbstractCommandTest {
 
     }
 
+    @Test(timeout = 20000)
+    public void writeBufferWaterMarks() throws Exception {
+
+        client.setOptions(new ClientOptions.Builder().writeBufferWaterMarks(1024, 512).build());
+        RedisAsyncConnectionImpl<String, String> connection = (RedisAsyncConnectionImpl) client.connectAsync();
+
+        Channel channel = (Channel) ReflectionTestUtils.getField(connection.getChannelWriter(), "channel");
+        assertThat(channel.config().getWriteBufferHighWaterMark()).isEqualTo(1024);
+        assertThat(channel.config().getWriteBufferLowWaterMark()).isEqualTo(512);
+
+        String largeValue = Strings.repeat("x", 4096);
+        List<RedisFuture<String>> futures = Lists.newArrayList();
+        for (int i = 0; i < 1000; i++) {
+            futures.add(connection.set(key + i, largeValue));
+        }
+
+        for (RedisFuture<String> future : futures) {
+            assertThat(future.get()).isEqualTo("OK");
+        }
+
+        connection.close();
+    }
+
+    @Test(timeout = 10000)
+    public void requestQueueSize() throws Exception {
+
+        client.setOptions(new ClientOptions.Builder().requestQueueSize(2).build());
+        RedisAsyncConnectionImpl<String, String> connection = (RedisAsyncConnectionImpl) client.connectAsync();
+        connection.setAutoFlushCommands(false);
+
+        RedisFuture<String> set = connection.set(key, value);
+        RedisFuture<String> get = connection.get(key);
+        assertThat(connection.getQueueSize()).isEqualTo(2);
+
+        try {
+            connection.ping();
+            fail("Missing RedisQueueFullException");
+        } catch (RedisQueueFullException e) {
+            assertThat(e).hasMessageContaining("2");
+        }
+
+        connection.flushCommands();
+        assertThat(set.get()).isEqualTo("OK");
+        assertThat(get.get()).isEqualTo(value);
+        assertThat(connection.getQueueSize()).isEqualTo(0);
+
+        connection.close();
+    }
+
     @Test(timeout = 10000)
     public void disconnectedConnectionWithoutReconnect() throws Exception {
 
@@ -238,6 +295,50 @@ public class ClientTest extends AbstractCommandTest {
         }
     }
 
+    @Test(timeout = 20000)
+    public void decodeExecutor() throws Exception {
+
+        final Thread[] decodeThread = new Thread[1];
+        ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                return decodeThread[0] = new Thread(r, "decode");
+            }
+        });
+
+        client.setDecodeExecutor(executor);
+        try {
+            RedisAsyncConnection<String, String> connection = client.connectAsync();
+
+            String largeValue = Strings.repeat("x", 100000);
+            List<RedisFuture<String>> futures = Lists.newArrayList();
+            for (int i = 0; i < 100; i++) {
+                futures.add(connection.set(key + i, largeValue));
+            }
+
+            for (RedisFuture<String> future : futures) {
+                assertThat(future.get()).isEqualTo("OK");
+            }
+
+            final Thread[] callbackThread = new Thread[1];
+            RedisFuture<List<String>> mget = connection.mget(key + 0, key + 99, "missing");
+            mget.addListener(new Runnable() {
+                @Override
+                public void run() {
+                    callbackThread[0] = Thread.currentThread();
+                }
+            }, MoreExecutors.sameThreadExecutor());
+
+            assertThat(mget.get()).containsExactly(largeValue, largeValue, null);
+            assertThat(callbackThread[0]).isSameAs(decodeThread[0]);
+
+            connection.close();
+        } finally {
+            client.setDecodeExecutor(null);
+            executor.shutdown();
+        }
+    }
+
     @Test(timeout = 10000)
     public void pingBeforeConnect() throws Exception {
 
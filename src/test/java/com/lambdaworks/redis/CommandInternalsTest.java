@@ -5,12 +5,22 @@ package com.lambdaworks.redis;
 import static com.lambdaworks.redis.protocol.LettuceCharsets.*;
 import static org.assertj.core.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.lambdaworks.redis.codec.RedisCodec;
 import com.lambdaworks.redis.codec.Utf8StringCodec;
 import com.lambdaworks.redis.output.NestedMultiOutput;
@@ -35,6 +45,218 @@ public class CommandInternalsTest {
         assertThat(command.cancel(true)).isFalse();
     }
 
+    @Test
+    public void cancelMulti() throws Exception {
+        command = new Command<String, String, String>(CommandType.INFO, new StatusOutput<String, String>(codec), null, true);
+        command.complete();
+        assertThat(command.isDone()).isFalse();
+
+        assertThat(command.cancel(true)).isTrue();
+        assertThat(command.isDone()).isTrue();
+        assertThat(command.isCancelled()).isTrue();
+    }
+
+    @Test
+    public void completeMulti() throws Exception {
+        command = new Command<String, String, String>(CommandType.INFO, new StatusOutput<String, String>(codec), null, true);
+        command.complete();
+        assertThat(command.isDone()).isFalse();
+
+        command.complete();
+        assertThat(command.isDone()).isTrue();
+        assertThat(command.isCancelled()).isFalse();
+    }
+
+    @Test
+    public void listeners() throws Exception {
+        final List<String> invocations = new ArrayList<String>();
+
+        command.addListener(new Runnable() {
+            @Override
+            public void run() {
+                invocations.add("first");
+            }
+        }, MoreExecutors.sameThreadExecutor());
+        command.addListener(new Runnable() {
+            @Override
+            public void run() {
+                invocations.add("second");
+            }
+        }, MoreExecutors.sameThreadExecutor());
+
+        assertThat(invocations).isEmpty();
+        command.complete();
+        assertThat(invocations).containsExactly("first", "second");
+
+        command.addListener(new Runnable() {
+            @Override
+            public void run() {
+                invocations.add("third");
+            }
+        }, MoreExecutors.sameThreadExecutor());
+        assertThat(invocations).containsExactly("first", "second", "third");
+    }
+
+    @Test(timeout = 5000)
+    public void getFromOtherThread() throws Exception {
+        Thread completer = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                command.getOutput().set(buffer("one"));
+                command.complete();
+            }
+        };
+        completer.start();
+
+        assertThat(command.get()).isEqualTo("one");
+        completer.join();
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void getWithException() throws Exception {
+        command.setException(new IllegalStateException());
+        command.complete();
+        command.get();
+    }
+
+    @Test
+    public void callbackOnSuccess() throws Exception {
+        RecordingCallback<String> callback = new RecordingCallback<String>();
+        LettuceFutures.addCallback(command, callback);
+        assertThat(callback.invocations).isEmpty();
+
+        command.getOutput().set(buffer("one"));
+        command.complete();
+        assertThat(callback.invocations).containsExactly("one");
+        assertThat(callback.thread).isSameAs(Thread.currentThread());
+
+        RecordingCallback<String> late = new RecordingCallback<String>();
+        LettuceFutures.addCallback(command, late, MoreExecutors.sameThreadExecutor());
+        assertThat(late.invocations).containsExactly("one");
+    }
+
+    @Test
+    public void callbackOnFailure() throws Exception {
+        RecordingCallback<String> callback = new RecordingCallback<String>();
+        LettuceFutures.addCallback(command, callback);
+
+        command.getOutput().setError(buffer("ERR"));
+        command.complete();
+        assertThat(callback.invocations).hasSize(1);
+        assertThat(callback.invocations.get(0)).isInstanceOf(RedisCommandExecutionException.class);
+
+        command = new Command<String, String, String>(CommandType.INFO, new StatusOutput<String, String>(codec), null);
+        callback = new RecordingCallback<String>();
+        LettuceFutures.addCallback(command, callback);
+        command.cancel(true);
+        assertThat(callback.invocations.get(0)).isInstanceOf(CancellationException.class);
+    }
+
+    @Test
+    public void thenApply() throws Exception {
+        RedisFuture<Integer> length = LettuceFutures.transform(command, new Function<String, Integer>() {
+            @Override
+            public Integer apply(String input) {
+                return input.length();
+            }
+        });
+        RedisFuture<String> failing = LettuceFutures.transform(length, new Function<Integer, String>() {
+            @Override
+            public String apply(Integer input) {
+                throw new IllegalArgumentException();
+            }
+        });
+        assertThat(length.isDone()).isFalse();
+
+        command.getOutput().set(buffer("three"));
+        command.complete();
+        assertThat(length.get()).isEqualTo(5);
+        assertThat(failing.isDone()).isTrue();
+        try {
+            failing.get();
+            fail("Missing ExecutionException");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause()).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    public void cancelTransformedFuture() throws Exception {
+        RedisFuture<String> transformed = LettuceFutures.transform(command, new Function<String, String>() {
+            @Override
+            public String apply(String input) {
+                return input;
+            }
+        });
+
+        assertThat(transformed.cancel(true)).isTrue();
+        assertThat(command.isCancelled()).isTrue();
+    }
+
+    @Test
+    public void compose() throws Exception {
+        final Command<String, String, String> next = new Command<String, String, String>(CommandType.GET,
+                new StatusOutput<String, String>(codec), null);
+        RedisFuture<String> composed = LettuceFutures.compose(command, new AsyncFunction<String, String>() {
+            @Override
+            public ListenableFuture<String> apply(String input) {
+                return next;
+            }
+        });
+
+        command.getOutput().set(buffer("one"));
+        command.complete();
+        assertThat(composed.isDone()).isFalse();
+
+        next.getOutput().set(buffer("two"));
+        next.complete();
+        assertThat(composed.get()).isEqualTo("two");
+    }
+
+    @Test
+    public void composeFailsWithErrorOfComposedFuture() throws Exception {
+        final Command<String, String, String> next = new Command<String, String, String>(CommandType.GET,
+                new StatusOutput<String, String>(codec), null);
+        RedisFuture<String> composed = LettuceFutures.compose(command, new AsyncFunction<String, String>() {
+            @Override
+            public ListenableFuture<String> apply(String input) {
+                return next;
+            }
+        });
+
+        command.complete();
+        next.getOutput().setError(buffer("ERR"));
+        next.complete();
+
+        try {
+            composed.get();
+            fail("Missing ExecutionException");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause()).isInstanceOf(RedisCommandExecutionException.class);
+        }
+    }
+
+    @Test
+    public void cancelComposedFuture() throws Exception {
+        final Command<String, String, String> next = new Command<String, String, String>(CommandType.GET,
+                new StatusOutput<String, String>(codec), null);
+        RedisFuture<String> composed = LettuceFutures.compose(command, new AsyncFunction<String, String>() {
+            @Override
+            public ListenableFuture<String> apply(String input) {
+                return next;
+            }
+        });
+
+        command.complete();
+        assertThat(composed.cancel(true)).isTrue();
+        assertThat(next.isCancelled()).isTrue();
+    }
+
     @Test
     public void isDone() throws Exception {
         assertThat(command.isDone()).isFalse();
@@ -103,6 +325,50 @@ public class CommandInternalsTest {
         command.await(5, TimeUnit.MILLISECONDS);
     }
 
+    @Test(timeout = 5000)
+    public void timedOutWaitersAreUnlinked() throws Exception {
+        final List<String> invocations = new ArrayList<String>();
+        command.addListener(new Runnable() {
+            @Override
+            public void run() {
+                invocations.add("listener");
+            }
+        }, MoreExecutors.sameThreadExecutor());
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(command.await(1, TimeUnit.MICROSECONDS)).isFalse();
+        }
+
+        Object head = ReflectionTestUtils.getField(command, "waiters");
+        assertThat(ReflectionTestUtils.getField(head, "next")).isNull();
+
+        command.complete();
+        assertThat(invocations).containsExactly("listener");
+    }
+
+    @Test(timeout = 5000)
+    public void interruptedWaiterIsUnlinked() throws Exception {
+        Thread waiter = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    command.await(5, TimeUnit.SECONDS);
+                } catch (RedisCommandInterruptedException e) {
+                }
+            }
+        };
+        waiter.start();
+
+        while (waiter.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(10);
+        }
+
+        waiter.interrupt();
+        waiter.join();
+
+        assertThat(ReflectionTestUtils.getField(command, "waiters")).isNull();
+    }
+
     @Test(expected = IllegalStateException.class)
     public void outputSubclassOverride1() {
         CommandOutput<String, String, String> output = new CommandOutput<String, String, String>(codec, null) {
@@ -146,4 +412,22 @@ public class CommandInternalsTest {
             return name().getBytes();
         }
     }
+
+    private static class RecordingCallback<V> implements FutureCallback<V> {
+
+        final List<Object> invocations = new ArrayList<Object>();
+        Thread thread;
+
+        @Override
+        public void onSuccess(V result) {
+            invocations.add(result);
+            thread = Thread.currentThread();
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            invocations.add(t);
+            thread = Thread.currentThread();
+        }
+    }
 }
@@ -16,7 +16,16 @@ import java.util.List;
 import com.lambdaworks.redis.codec.ByteArrayCodec;
 import org.junit.Test;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+
+import com.lambdaworks.redis.codec.CompressionAlgorithm;
+import com.lambdaworks.redis.codec.CompressionCodec;
+import com.lambdaworks.redis.codec.DoubleCodec;
+import com.lambdaworks.redis.codec.LongCodec;
 import com.lambdaworks.redis.codec.RedisCodec;
+import com.lambdaworks.redis.codec.ToByteBufEncoder;
+import com.lambdaworks.redis.codec.Utf8StringCodec;
 
 public class CustomCodecTest extends AbstractCommandTest {
     @Test
@@ -27,6 +36,14 @@ public class CustomCodecTest extends AbstractCommandTest {
         assertThat(connection.get(key)).isEqualTo(list);
     }
 
+    @Test
+    public void testToByteBufEncoder() throws Exception {
+        RedisConnection<String, Object> connection = client.connect(new ByteBufSerializedObjectCodec());
+        List<String> list = list("one", "two");
+        connection.set(key, list);
+        assertThat(connection.get(key)).isEqualTo(list);
+    }
+
     @Test
     public void testByteCodec() throws Exception {
         RedisConnection<byte[], byte[]> connection = client.connect(new ByteArrayCodec());
@@ -38,6 +55,82 @@ public class CustomCodecTest extends AbstractCommandTest {
         assertThat(keys).contains(key.getBytes());
     }
 
+    @Test
+    public void testCompressionCodec() throws Exception {
+        RedisConnection<String, String> connection = client.connect(new CompressionCodec<String, String>(
+                new Utf8StringCodec(), CompressionAlgorithm.GZIP));
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            value.append("{\"index\":").append(i).append("}");
+        }
+
+        connection.set(key, value.toString());
+        redis.set("uncompressed", "value");
+
+        assertThat(connection.get(key)).isEqualTo(value.toString());
+        assertThat(redis.strlen(key)).isLessThan(value.length());
+        assertThat(connection.get("uncompressed")).isEqualTo("value");
+    }
+
+    @Test
+    public void testLongCodec() throws Exception {
+        RedisConnection<String, Long> connection = client.connect(new LongCodec());
+        connection.set(key, 41L);
+        assertThat(connection.incr(key)).isEqualTo(42);
+        assertThat(connection.get(key)).isEqualTo(42L);
+        assertThat(connection.mget(key, "missing")).containsExactly(42L, null);
+    }
+
+    @Test
+    public void testDoubleCodec() throws Exception {
+        RedisConnection<String, Double> connection = client.connect(new DoubleCodec());
+        connection.set(key, 1.5);
+        assertThat(connection.incrbyfloat(key, 0.25)).isEqualTo(1.75);
+        assertThat(connection.get(key)).isEqualTo(1.75);
+    }
+
+    @Test
+    public void testWithCodec() throws Exception {
+        RedisAsyncConnectionImpl<String, String> connection = (RedisAsyncConnectionImpl<String, String>) client
+                .connectAsync();
+        RedisAsyncConnection<String, Long> longs = connection.withCodec(new LongCodec());
+        RedisAsyncConnection<byte[], byte[]> bytes = connection.withCodec(new ByteArrayCodec());
+
+        connection.set(key, "value").get();
+        longs.set("counter", 41L).get();
+
+        assertThat(longs.incr("counter").get()).isEqualTo(42);
+        assertThat(longs.get("counter").get()).isEqualTo(42L);
+        assertThat(bytes.get(key.getBytes()).get()).isEqualTo("value".getBytes());
+        assertThat(connection.get("counter").get()).isEqualTo("42");
+
+        bytes.close();
+        assertThat(connection.isOpen()).isTrue();
+        assertThat(connection.get(key).get()).isEqualTo("value");
+
+        connection.close();
+        assertThat(longs.isOpen()).isFalse();
+    }
+
+    @Test
+    public void testWithCodecInTransaction() throws Exception {
+        RedisAsyncConnectionImpl<String, String> connection = (RedisAsyncConnectionImpl<String, String>) client
+                .connectAsync();
+        RedisAsyncConnection<String, Long> longs = connection.withCodec(new LongCodec());
+
+        longs.multi();
+        connection.set(key, "value");
+        RedisFuture<String> set = longs.set("counter", 1L);
+        RedisFuture<Long> get = longs.get("counter");
+        List<Object> result = connection.exec().get();
+
+        assertThat(result).containsExactly("OK", "OK", 1L);
+        assertThat(set.get()).isEqualTo("OK");
+        assertThat(get.get()).isEqualTo(1L);
+
+        connection.close();
+    }
+
     public class SerializedObjectCodec extends RedisCodec<String, Object> {
         private Charset charset = Charset.forName("UTF-8");
 
@@ -75,4 +168,33 @@ public class CustomCodecTest extends AbstractCommandTest {
             }
         }
     }
+
+    public class ByteBufSerializedObjectCodec extends SerializedObjectCodec implements ToByteBufEncoder<String, Object> {
+
+        @Override
+        public int getEncodedKeySize(String key) {
+            return -1;
+        }
+
+        @Override
+        public void encodeKey(String key, ByteBuf target) {
+            target.writeBytes(encodeKey(key));
+        }
+
+        @Override
+        public int getEncodedValueSize(Object value) {
+            return -1;
+        }
+
+        @Override
+        public void encodeValue(Object value, ByteBuf target) {
+            try {
+                ObjectOutputStream os = new ObjectOutputStream(new ByteBufOutputStream(target));
+                os.writeObject(value);
+                os.flush();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
 }
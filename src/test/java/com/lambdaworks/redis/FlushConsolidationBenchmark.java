@@ -0,0 +1,79 @@
+package com.lambdaworks.redis;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark comparing the default flush per event loop iteration with {@link ClientOptions#isConsolidateFlush() consolidated
+ * flushes}. Measures the throughput of pipelined commands issued by concurrent threads and the latency of single synchronous
+ * commands. Requires a running Redis server at {@link TestSettings#host()}:{@link TestSettings#port()}.
+ *
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlushConsolidationBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({ "false", "true" })
+    private boolean consolidateFlush;
+
+    private RedisClient redisClient;
+    private RedisAsyncConnection<String, String> async;
+    private RedisConnection<String, String> sync;
+
+    @Setup
+    public void setup() {
+
+        redisClient = new RedisClient(TestSettings.host(), TestSettings.port());
+        redisClient.setOptions(new ClientOptions.Builder().consolidateFlush(consolidateFlush).build());
+
+        async = redisClient.connectAsync();
+        sync = redisClient.connect();
+    }
+
+    @TearDown
+    public void tearDown() {
+        async.close();
+        sync.close();
+        redisClient.shutdown(0, 0, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Threads(4)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void pipelinedSet() throws Exception {
+
+        RedisFuture<?> last = null;
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            last = async.set("key", "value");
+        }
+        last.get();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String ping() {
+        return sync.ping();
+    }
+}
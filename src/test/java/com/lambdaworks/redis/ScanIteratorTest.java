@@ -0,0 +1,139 @@
+package com.lambdaworks.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ */
+public class ScanIteratorTest extends AbstractCommandTest {
+
+    private RedisAsyncConnection<String, String> async;
+
+    @Before
+    public void openAsyncConnection() throws Exception {
+        async = client.connectAsync();
+    }
+
+    @After
+    public void closeAsyncConnection() throws Exception {
+        async.close();
+    }
+
+    @Test
+    public void scanEmptyKeyspace() throws Exception {
+        ScanIterator<String> iterator = ScanIterator.scan(async);
+
+        assertThat(iterator.hasNext()).isFalse();
+        try {
+            iterator.next();
+        } catch (NoSuchElementException e) {
+            return;
+        }
+        throw new AssertionError("Missing NoSuchElementException");
+    }
+
+    @Test
+    public void scanAllPages() throws Exception {
+        Set<String> expected = new HashSet<String>();
+        for (int i = 0; i < 500; i++) {
+            redis.set("key-" + i, value);
+            expected.add("key-" + i);
+        }
+
+        Set<String> keys = new HashSet<String>();
+        ScanIterator<String> iterator = ScanIterator.scan(async, ScanArgs.Builder.limit(30));
+        while (iterator.hasNext()) {
+            keys.add(iterator.next());
+        }
+
+        assertThat(keys).isEqualTo(expected);
+    }
+
+    @Test
+    public void sscan() throws Exception {
+        for (int i = 0; i < 300; i++) {
+            redis.sadd(key, "value-" + i);
+        }
+
+        assertThat(collect(ScanIterator.sscan(async, key, ScanArgs.Builder.limit(20)))).hasSize(300);
+    }
+
+    @Test
+    public void hscan() throws Exception {
+        Map<String, String> map = new HashMap<String, String>();
+        for (int i = 0; i < 300; i++) {
+            map.put("field-" + i, "value-" + i);
+        }
+        redis.hmset(key, map);
+
+        Map<String, String> result = new HashMap<String, String>();
+        for (KeyValue<String, String> keyValue : collect(ScanIterator.hscan(async, key, ScanArgs.Builder.limit(20)))) {
+            result.put(keyValue.key, keyValue.value);
+        }
+        assertThat(result).isEqualTo(map);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void zscan() throws Exception {
+        for (int i = 0; i < 300; i++) {
+            redis.zadd(key, i, "value-" + i);
+        }
+
+        List<ScoredValue<String>> values = collect(ScanIterator.zscan(async, key, ScanArgs.Builder.limit(20)));
+        assertThat(values).hasSize(300);
+        assertThat(values).contains(sv(42, "value-42"));
+    }
+
+    @Test(expected = RedisCommandExecutionException.class)
+    public void scanWrongType() throws Exception {
+        redis.set(key, value);
+        ScanIterator.sscan(async, key).hasNext();
+    }
+
+    @Test
+    public void scanMultipleNodes() throws Exception {
+        RedisAsyncConnection<String, String> other = client.connectAsync();
+        try {
+            other.select(1);
+            other.flushdb().get();
+
+            Set<String> expected = new HashSet<String>();
+            for (int i = 0; i < 200; i++) {
+                redis.set("db0-" + i, value);
+                expected.add("db0-" + i);
+                other.set("db1-" + i, value);
+                expected.add("db1-" + i);
+            }
+
+            List<ScanIterator.CursorScanIterator<?, String>> nodes = new ArrayList<ScanIterator.CursorScanIterator<?, String>>();
+            nodes.add((ScanIterator.CursorScanIterator<?, String>) ScanIterator.scan(async, ScanArgs.Builder.limit(20)));
+            nodes.add((ScanIterator.CursorScanIterator<?, String>) ScanIterator.scan(other, ScanArgs.Builder.limit(20)));
+
+            assertThat(new HashSet<String>(collect(new ScanIterator.ClusterScanIterator<String>(nodes)))).isEqualTo(expected);
+        } finally {
+            other.flushdb().get();
+            other.close();
+        }
+    }
+
+    private <T> List<T> collect(ScanIterator<T> iterator) {
+        List<T> result = new ArrayList<T>();
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+}
@@ -8,6 +8,7 @@ import static com.lambdaworks.redis.ZStoreArgs.Builder.sum;
 import static com.lambdaworks.redis.ZStoreArgs.Builder.weights;
 import static java.lang.Double.NEGATIVE_INFINITY;
 import static java.lang.Double.POSITIVE_INFINITY;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -137,6 +138,15 @@ public class SortedSetCommandTest extends AbstractCommandTest {
         assertEquals(svlist(sv(1.0, "a"), sv(2.0, "b"), sv(3.0, "c")), redis.zrangeWithScores(key, 0, -1));
     }
 
+    @Test
+    public void zrangeAsScoredValues() throws Exception {
+        redis.zadd(key, 1.5, "a", 2.0, "b", POSITIVE_INFINITY, "c");
+        ScoredValues<String> scoredValues = redis.zrangeAsScoredValues(key, 0, -1);
+        assertEquals(list("a", "b", "c"), scoredValues.getValues());
+        assertArrayEquals(new double[] { 1.5, 2.0, POSITIVE_INFINITY }, scoredValues.getScores(), 0);
+        assertEquals(0, redis.zrangeAsScoredValues("missing", 0, -1).size());
+    }
+
     @Test
     @SuppressWarnings({ "unchecked" })
     public void zrangeWithScoresStreaming() throws Exception {
@@ -255,6 +265,16 @@ public class SortedSetCommandTest extends AbstractCommandTest {
         assertEquals(svlist(sv(3.0, "c"), sv(2.0, "b"), sv(1.0, "a")), redis.zrevrangeWithScores(key, 0, -1));
     }
 
+    @Test
+    public void zrevrangeAsScoredValues() throws Exception {
+        setup();
+        ScoredValues<String> scoredValues = redis.zrevrangeAsScoredValues(key, 0, -1);
+        assertEquals(list("c", "b", "a"), scoredValues.getValues());
+        assertArrayEquals(new double[] { 3.0, 2.0, 1.0 }, scoredValues.getScores(), 0);
+        assertEquals("b", scoredValues.getValue(1));
+        assertEquals(2.0, scoredValues.getScore(1), 0);
+    }
+
     @Test
     public void zrevrangeStreaming() throws Exception {
         setup();
@@ -6,6 +6,7 @@ import static com.lambdaworks.redis.protocol.SetArgs.Builder.ex;
 import static com.lambdaworks.redis.protocol.SetArgs.Builder.nx;
 import static com.lambdaworks.redis.protocol.SetArgs.Builder.px;
 import static com.lambdaworks.redis.protocol.SetArgs.Builder.xx;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
@@ -64,6 +65,13 @@ public class StringCommandTest extends AbstractCommandTest {
         assertEquals(list("1", "2"), redis.mget("one", "two"));
     }
 
+    @Test
+    public void mgetAsLongs() throws Exception {
+        setupMget();
+        redis.set("three", "-9223372036854775808");
+        assertArrayEquals(new long[] { 1, 2, 0, Long.MIN_VALUE }, redis.mgetAsLongs("one", "two", "missing", "three"));
+    }
+
     private void setupMget() {
         assertEquals(list((String) null), redis.mget(key));
         redis.set("one", "1");
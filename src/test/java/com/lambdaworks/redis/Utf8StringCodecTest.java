@@ -4,10 +4,23 @@ package com.lambdaworks.redis;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 
+import com.lambdaworks.redis.codec.Utf8StringCodec;
+import com.lambdaworks.redis.protocol.LettuceCharsets;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
 public class Utf8StringCodecTest extends AbstractCommandTest {
     @Test
     public void decodeHugeBuffer() throws Exception {
@@ -17,4 +30,66 @@ public class Utf8StringCodecTest extends AbstractCommandTest {
         redis.set(key, value);
         assertThat(redis.get(key)).isEqualTo(value);
     }
+
+    @Test
+    public void decodeNonAscii() throws Exception {
+        String value = "über € 😀";
+        redis.set(key, value);
+        assertThat(redis.get(key)).isEqualTo(value);
+    }
+
+    @Test
+    public void decodeBuffers() throws Exception {
+        Utf8StringCodec codec = new Utf8StringCodec();
+        String value = "käse";
+        byte[] bytes = value.getBytes(LettuceCharsets.UTF8);
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        assertThat(codec.decodeValue(direct)).isEqualTo(value);
+        assertThat(direct.hasRemaining()).isFalse();
+
+        ByteBuffer heap = ByteBuffer.wrap(bytes);
+        assertThat(codec.decodeKey(heap)).isEqualTo(value);
+        assertThat(heap.hasRemaining()).isFalse();
+
+        ByteBuf buffer = Unpooled.directBuffer().writeBytes("*ascii*".getBytes(LettuceCharsets.ASCII)).writeBytes(bytes);
+        assertThat(codec.decodeValue(buffer, 1, 5)).isEqualTo("ascii");
+        assertThat(codec.decodeValue(buffer, 7, bytes.length)).isEqualTo(value);
+        assertThat(codec.decodeValue(buffer, 0, 0)).isEqualTo("");
+        buffer.release();
+    }
+
+    @Test
+    public void concurrentDecode() throws Exception {
+        final Utf8StringCodec codec = new Utf8StringCodec();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+
+        for (int i = 0; i < 4; i++) {
+            final String value = (i % 2 == 0 ? "value-" : "wärt-") + i;
+            futures.add(executor.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws Exception {
+                    byte[] bytes = value.getBytes(LettuceCharsets.UTF8);
+                    ByteBuf buffer = Unpooled.directBuffer().writeBytes(bytes);
+                    try {
+                        for (int j = 0; j < 10000; j++) {
+                            if (!value.equals(codec.decodeValue(buffer, 0, bytes.length))) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    } finally {
+                        buffer.release();
+                    }
+                }
+            }));
+        }
+
+        for (Future<Boolean> future : futures) {
+            assertThat(future.get()).isTrue();
+        }
+        executor.shutdown();
+    }
 }
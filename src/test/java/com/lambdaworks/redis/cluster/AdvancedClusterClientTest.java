@@ -4,7 +4,12 @@ import static com.google.code.tempusfugit.temporal.Duration.seconds;
 import static com.google.code.tempusfugit.temporal.Timeout.timeout;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import com.lambdaworks.redis.*;
@@ -20,6 +25,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.lambdaworks.redis.cluster.models.partitions.Partitions;
 import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
+import com.lambdaworks.redis.output.ValueStreamingChannel;
 
 /**
  * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
@@ -83,6 +89,18 @@ public class AdvancedClusterClientTest extends AbstractClusterTest {
         connection.getConnection("invalid-host", -1);
     }
 
+    @Test
+    public void readFrom() throws Exception {
+
+        assertThat(connection.getReadFrom()).isSameAs(ReadFrom.MASTER);
+
+        connection.setReadFrom(ReadFrom.MASTER_PREFERRED);
+        connection.set(key, value).get();
+
+        assertThat(connection.getReadFrom()).isSameAs(ReadFrom.MASTER_PREFERRED);
+        assertThat(connection.get(key).get()).isEqualTo(value);
+    }
+
     @Test
     public void doWeirdThingsWithClusterconnections() throws Exception {
 
@@ -207,6 +225,71 @@ public class AdvancedClusterClientTest extends AbstractClusterTest {
         verificationConnection.close();
     }
 
+    @Test
+    public void scanIteratorScansAllMasters() throws Exception {
+
+        Set<String> expected = new HashSet<String>();
+        List<RedisFuture<?>> futures = Lists.newArrayList();
+        for (int i = 0; i < 500; i++) {
+            futures.add(connection.set("scan-" + key(i), value(i)));
+            expected.add("scan-" + key(i));
+        }
+        assertThat(LettuceFutures.awaitAll(5, TimeUnit.SECONDS, futures.toArray(new RedisFuture<?>[futures.size()]))).isTrue();
+
+        Set<String> keys = new HashSet<String>();
+        ScanIterator<String> iterator = ScanIterator.scan(connection, ScanArgs.Builder.matches("scan-*").limit(50));
+        while (iterator.hasNext()) {
+            keys.add(iterator.next());
+        }
+
+        assertThat(keys).isEqualTo(expected);
+    }
+
+    @Test
+    public void multiKeyCommandsAcrossSlots() throws Exception {
+
+        Map<String, String> map = new LinkedHashMap<String, String>();
+        for (int i = 0; i < 20; i++) {
+            map.put(key(i), value(i));
+        }
+        String[] keys = map.keySet().toArray(new String[map.size()]);
+
+        assertThat(connection.mset(map).get()).isEqualTo("OK");
+        assertThat(connection.mget(keys).get()).containsExactlyElementsOf(map.values());
+
+        final List<String> streamed = new ArrayList<String>();
+        assertThat(connection.mget(new ValueStreamingChannel<String>() {
+            @Override
+            public void onValue(String value) {
+                streamed.add(value);
+            }
+        }, keys).get()).isEqualTo(20);
+        assertThat(streamed).containsExactlyElementsOf(map.values());
+
+        assertThat(connection.exists(keys).get()).isEqualTo(20);
+        assertThat(connection.del(keys).get()).isEqualTo(20);
+
+        RedisAdvancedClusterConnection<String, String> sync = clusterClient.connectCluster();
+        assertThat(sync.mget(key(0), key(1))).containsExactly(null, null);
+        sync.close();
+    }
+
+    @Test
+    public void mgetAsLongsAcrossSlots() throws Exception {
+
+        Map<String, String> map = new LinkedHashMap<String, String>();
+        long[] expected = new long[20];
+        for (int i = 0; i < 20; i++) {
+            map.put(key(i), Integer.toString(i));
+            expected[i] = i;
+        }
+        String[] keys = map.keySet().toArray(new String[map.size()]);
+
+        connection.mset(map).get();
+        assertThat(connection.mgetAsLongs(keys).get()).isEqualTo(expected);
+        connection.del(keys).get();
+    }
+
     protected String value(int i) {
         return value + "-" + i;
     }
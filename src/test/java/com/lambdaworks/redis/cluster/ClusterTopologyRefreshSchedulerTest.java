@@ -0,0 +1,113 @@
+package com.lambdaworks.redis.cluster;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.google.common.base.Supplier;
+import com.lambdaworks.redis.ConnectionEvents;
+
+/**
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+public class ClusterTopologyRefreshSchedulerTest {
+
+    private final AtomicInteger refreshes = new AtomicInteger();
+    private ClusterClientOptions options = new ClusterClientOptions.Builder().adaptiveRefresh(true)
+            .adaptiveRefreshTimeout(1, TimeUnit.HOURS).refreshTriggersReconnectAttempts(3).refreshTriggersAskRedirections(3)
+            .build();
+
+    private ClusterTopologyRefreshScheduler sut = new ClusterTopologyRefreshScheduler(new Supplier<ClusterClientOptions>() {
+        @Override
+        public ClusterClientOptions get() {
+            return options;
+        }
+    }, new Runnable() {
+        @Override
+        public void run() {
+            refreshes.incrementAndGet();
+        }
+    });
+
+    @Test
+    public void redirectionsTriggerRefreshOncePerTimeout() throws Exception {
+
+        sut.onMovedRedirection();
+        sut.onAskRedirection();
+        sut.onMovedRedirection();
+
+        assertThat(refreshes.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void askRedirectionsTriggerRefresh() throws Exception {
+
+        sut.onAskRedirection();
+        sut.onAskRedirection();
+        assertThat(refreshes.get()).isZero();
+
+        sut.onAskRedirection();
+        assertThat(refreshes.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void askRedirectionsAreCountedWithinTimeout() throws Exception {
+
+        options = new ClusterClientOptions.Builder().adaptiveRefresh(true).adaptiveRefreshTimeout(0, TimeUnit.SECONDS)
+                .refreshTriggersAskRedirections(2).build();
+
+        sut.onAskRedirection();
+        sut.onAskRedirection();
+        sut.onAskRedirection();
+
+        assertThat(refreshes.get()).isZero();
+    }
+
+    @Test
+    public void refreshAfterTimeout() throws Exception {
+
+        options = new ClusterClientOptions.Builder().adaptiveRefresh(true).adaptiveRefreshTimeout(0, TimeUnit.SECONDS)
+                .build();
+
+        assertThat(sut.indicateTopologyRefreshSignal()).isTrue();
+        assertThat(sut.indicateTopologyRefreshSignal()).isTrue();
+        assertThat(refreshes.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void reconnectAttemptsTriggerRefresh() throws Exception {
+
+        sut.onReconnect(new ConnectionEvents.Reconnect(2));
+        assertThat(refreshes.get()).isZero();
+
+        sut.onReconnect(new ConnectionEvents.Reconnect(3));
+        assertThat(refreshes.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void adaptiveRefreshDisabled() throws Exception {
+
+        options = new ClusterClientOptions.Builder().build();
+
+        sut.onMovedRedirection();
+        sut.onReconnect(new ConnectionEvents.Reconnect(10));
+
+        assertThat(refreshes.get()).isZero();
+    }
+
+    @Test
+    public void copyOfOptions() throws Exception {
+
+        ClusterClientOptions copy = ClusterClientOptions.copyOf(options);
+
+        assertThat(copy.isAdaptiveRefresh()).isTrue();
+        assertThat(copy.getAdaptiveRefreshTimeout()).isEqualTo(1);
+        assertThat(copy.getAdaptiveRefreshTimeoutUnit()).isEqualTo(TimeUnit.HOURS);
+        assertThat(copy.getRefreshTriggersReconnectAttempts()).isEqualTo(3);
+        assertThat(copy.getRefreshTriggersAskRedirections()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,202 @@
+package com.lambdaworks.redis.cluster;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.google.common.collect.Maps;
+import com.lambdaworks.redis.RedisAsyncConnectionImpl;
+import com.lambdaworks.redis.RedisConnectionException;
+import com.lambdaworks.redis.RedisFuture;
+import com.lambdaworks.redis.RedisURI;
+import com.lambdaworks.redis.TestSettings;
+import com.lambdaworks.redis.cluster.models.partitions.Partitions;
+import com.lambdaworks.redis.codec.Utf8StringCodec;
+import com.lambdaworks.redis.output.StatusOutput;
+import com.lambdaworks.redis.protocol.Command;
+import com.lambdaworks.redis.protocol.CommandType;
+
+/**
+ * Tests for {@link ClusterTopologyRefresh} connecting to nodes. Requires a standalone Redis server, no cluster.
+ *
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+public class ClusterTopologyRefreshTest {
+
+    private RedisURI reachable = RedisURI.Builder.redis(TestSettings.host(), TestSettings.port())
+            .withTimeout(5, TimeUnit.SECONDS).build();
+    private RedisURI reachableByAddress = RedisURI.Builder.redis(TestSettings.hostAddr(), TestSettings.port())
+            .withTimeout(5, TimeUnit.SECONDS).build();
+    private RedisURI unreachable = RedisURI.Builder.redis(TestSettings.host(), 1).build();
+
+    private RedisClusterClient client;
+    private ClusterTopologyRefresh sut;
+
+    @Before
+    public void before() throws Exception {
+        client = new RedisClusterClient(reachable);
+        sut = new ClusterTopologyRefresh(client);
+    }
+
+    @After
+    public void after() throws Exception {
+        client.shutdown(0, 0, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void connectNodeAsync() throws Exception {
+
+        RedisAsyncConnectionImpl<String, String> connection = client.connectNodeAsync(reachable.getResolvedAddress()).get();
+
+        assertThat(connection.isOpen()).isTrue();
+        assertThat(connection.ping().get()).isEqualTo("PONG");
+
+        connection.close();
+    }
+
+    @Test
+    public void connectNodeAsyncFails() throws Exception {
+
+        try {
+            client.connectNodeAsync(unreachable.getResolvedAddress()).get();
+            fail("Missing ExecutionException");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause()).isInstanceOf(RedisConnectionException.class);
+        }
+    }
+
+    @Test
+    public void getConnectionsSkipsUnreachableNodes() throws Exception {
+
+        Map<RedisURI, RedisAsyncConnectionImpl<?, ?>> connections = sut.getConnections(Arrays.asList(unreachable, reachable));
+
+        assertThat(connections).hasSize(1).containsKey(reachable);
+        assertThat(connections.get(reachable).isOpen()).isTrue();
+
+        sut.close(connections);
+        assertThat(connections.get(reachable).isOpen()).isFalse();
+    }
+
+    @Test
+    public void loadViewsReusesRefreshConnections() throws Exception {
+
+        sut.loadViews(Collections.singletonList(reachable));
+        RedisAsyncConnectionImpl<?, ?> first = getRefreshConnections().get(reachable);
+
+        sut.loadViews(Collections.singletonList(reachable));
+        RedisAsyncConnectionImpl<?, ?> second = getRefreshConnections().get(reachable);
+
+        assertThat(first).isNotNull().isSameAs(second);
+        assertThat(second.isOpen()).isTrue();
+    }
+
+    @Test
+    public void loadViewsReplacesClosedRefreshConnections() throws Exception {
+
+        sut.loadViews(Collections.singletonList(reachable));
+        RedisAsyncConnectionImpl<?, ?> first = getRefreshConnections().get(reachable);
+        first.close();
+
+        sut.loadViews(Collections.singletonList(reachable));
+        RedisAsyncConnectionImpl<?, ?> second = getRefreshConnections().get(reachable);
+
+        assertThat(second).isNotNull().isNotSameAs(first);
+        assertThat(second.isOpen()).isTrue();
+    }
+
+    @Test
+    public void loadViewsClosesConnectionsOfRemovedNodes() throws Exception {
+
+        sut.loadViews(Collections.singletonList(reachable));
+        RedisAsyncConnectionImpl<?, ?> removed = getRefreshConnections().get(reachable);
+
+        sut.loadViews(Collections.singletonList(reachableByAddress));
+
+        assertThat(removed.isClosed()).isTrue();
+        assertThat(getRefreshConnections()).hasSize(1).containsKey(reachableByAddress);
+    }
+
+    @Test
+    public void loadViewsDoesNotUseUserConnections() throws Exception {
+
+        RedisAsyncConnectionImpl<String, String> connection = client.connectNodeAsync(reachable.getResolvedAddress()).get();
+        connection.multi().get();
+        connection.set("key", "value");
+
+        sut.loadViews(Collections.singletonList(reachable));
+
+        List<Object> exec = connection.exec().get();
+        assertThat(exec).containsExactly("OK");
+        assertThat(getRefreshConnections().get(reachable)).isNotSameAs(connection);
+
+        connection.close();
+    }
+
+    @Test
+    public void loadViewsEvictsConnectionsOfUnresponsiveNodes() throws Exception {
+
+        RedisURI slow = RedisURI.Builder.redis(TestSettings.host(), TestSettings.port())
+                .withTimeout(200, TimeUnit.MILLISECONDS).build();
+        client.shutdown(0, 0, TimeUnit.MILLISECONDS);
+        client = new RedisClusterClient(slow);
+        sut = new ClusterTopologyRefresh(client);
+
+        RedisAsyncConnectionImpl<String, String> blocked = client.connectNodeAsync(slow.getResolvedAddress()).get();
+        blocked.blpop(1, "ClusterTopologyRefreshTest-empty");
+        getRefreshConnections().put(slow, blocked);
+
+        Map<RedisURI, Partitions> views = sut.loadViews(Collections.singletonList(slow));
+
+        assertThat(views).isEmpty();
+        assertThat(blocked.isClosed()).isTrue();
+        assertThat(getRefreshConnections()).doesNotContainKey(slow);
+    }
+
+    @Test
+    public void getNodeSpecificViewsCollectsCompletedViewsAfterDeadline() throws Exception {
+
+        RedisURI stuckNode = RedisURI.Builder.redis(TestSettings.host(), 7379).withTimeout(100, TimeUnit.MILLISECONDS)
+                .build();
+        RedisURI respondingNode = RedisURI.Builder.redis(TestSettings.host(), 7380).build();
+        client.shutdown(0, 0, TimeUnit.MILLISECONDS);
+        client = new RedisClusterClient(stuckNode);
+        sut = new ClusterTopologyRefresh(client);
+
+        Map<RedisURI, RedisFuture<String>> rawViews = Maps.newTreeMap(ClusterTopologyRefresh.RedisUriComparator.INSTANCE);
+        rawViews.put(stuckNode, clusterNodes());
+
+        Command<String, String, String> responded = clusterNodes();
+        responded.getOutput().set(
+                ByteBuffer.wrap("ad4a9b13d6c2a4e3f8c3f83d6c0fa6f1b6b3a2d1 127.0.0.1:7380 myself,master - 0 0 1 connected 0-16383\n"
+                        .getBytes()));
+        responded.complete();
+        rawViews.put(respondingNode, responded);
+
+        Map<RedisURI, Partitions> views = sut.getNodeSpecificViews(rawViews);
+
+        assertThat(views).hasSize(1).containsKey(respondingNode);
+        assertThat(views.get(respondingNode).getPartition(0).getUri()).isEqualTo(respondingNode);
+    }
+
+    private Command<String, String, String> clusterNodes() {
+        return new Command<String, String, String>(CommandType.CLUSTER, new StatusOutput<String, String>(
+                new Utf8StringCodec()), null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<RedisURI, RedisAsyncConnectionImpl<?, ?>> getRefreshConnections() {
+        return (Map<RedisURI, RedisAsyncConnectionImpl<?, ?>>) ReflectionTestUtils.getField(sut, "refreshConnections");
+    }
+}
@@ -0,0 +1,110 @@
+package com.lambdaworks.redis.cluster;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Test;
+
+import com.google.common.base.Function;
+import com.lambdaworks.redis.RedisFuture;
+import com.lambdaworks.redis.codec.Utf8StringCodec;
+import com.lambdaworks.redis.output.IntegerOutput;
+import com.lambdaworks.redis.protocol.Command;
+import com.lambdaworks.redis.protocol.CommandType;
+
+/**
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+public class MultiSlotFutureTest {
+
+    private Command<String, String, Long> first = command();
+    private Command<String, String, Long> second = command();
+
+    private MultiSlotFuture<Long, Long> sut = new MultiSlotFuture<Long, Long>(executions(),
+            new Function<Map<Integer, Long>, Long>() {
+                @Override
+                public Long apply(Map<Integer, Long> results) {
+                    return results.get(1) * 10 + results.get(2);
+                }
+            });
+
+    @Test
+    public void completesWhenAllCommandsComplete() throws Exception {
+
+        first.getOutput().set(1);
+        first.complete();
+        assertThat(sut.isDone()).isFalse();
+
+        second.getOutput().set(2);
+        second.complete();
+
+        assertThat(sut.isDone()).isTrue();
+        assertThat(sut.get()).isEqualTo(12L);
+        assertThat(sut.getError()).isNull();
+    }
+
+    @Test
+    public void reportsErrorLikeCommand() throws Exception {
+
+        first.getOutput().set(1);
+        first.complete();
+        second.getOutput().setError(ByteBuffer.wrap("ERR failed".getBytes()));
+        second.complete();
+
+        assertThat(sut.isDone()).isTrue();
+        assertThat(sut.get()).isNull();
+        assertThat(sut.getError()).isEqualTo("ERR failed");
+        assertThat(second.get()).isNull();
+        assertThat(second.getError()).isEqualTo(sut.getError());
+    }
+
+    @Test
+    public void propagatesException() throws Exception {
+
+        first.setException(new IllegalStateException());
+        first.complete();
+        second.complete();
+
+        try {
+            sut.get();
+            fail("Missing ExecutionException");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    public void cancelCancelsCommands() throws Exception {
+
+        sut.cancel(true);
+
+        assertThat(first.isCancelled()).isTrue();
+        assertThat(second.isCancelled()).isTrue();
+    }
+
+    @Test
+    public void cancelledCommandCancelsFuture() throws Exception {
+
+        first.cancel(true);
+        second.complete();
+
+        assertThat(sut.isCancelled()).isTrue();
+    }
+
+    private Map<Integer, RedisFuture<Long>> executions() {
+        Map<Integer, RedisFuture<Long>> executions = new LinkedHashMap<Integer, RedisFuture<Long>>();
+        executions.put(1, first);
+        executions.put(2, second);
+        return executions;
+    }
+
+    private static Command<String, String, Long> command() {
+        return new Command<String, String, Long>(CommandType.DEL, new IntegerOutput<String, String>(new Utf8StringCodec()),
+                null);
+    }
+}
@@ -0,0 +1,63 @@
+package com.lambdaworks.redis.cluster;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.Sets;
+import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
+import com.lambdaworks.redis.protocol.CommandType;
+
+/**
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ * @since 3.4
+ */
+public class ReadFromTest {
+
+    private RedisClusterNode nearestSlave = node("nearest", RedisClusterNode.NodeFlag.SLAVE);
+    private RedisClusterNode master = node("master", RedisClusterNode.NodeFlag.MASTER);
+    private RedisClusterNode farthestSlave = node("farthest", RedisClusterNode.NodeFlag.SLAVE);
+
+    private List<RedisClusterNode> nodes = Arrays.asList(nearestSlave, master, farthestSlave);
+
+    @Test
+    public void master() throws Exception {
+        assertThat(ReadFrom.MASTER.select(nodes)).containsExactly(master);
+    }
+
+    @Test
+    public void masterPreferred() throws Exception {
+        assertThat(ReadFrom.MASTER_PREFERRED.select(nodes)).containsExactly(master, nearestSlave, farthestSlave);
+        assertThat(ReadFrom.MASTER_PREFERRED.select(Arrays.asList(nearestSlave, farthestSlave))).containsExactly(
+                nearestSlave, farthestSlave);
+    }
+
+    @Test
+    public void slave() throws Exception {
+        assertThat(ReadFrom.SLAVE.select(nodes)).containsExactly(nearestSlave, farthestSlave);
+        assertThat(ReadFrom.SLAVE.select(Collections.singletonList(master))).isEmpty();
+    }
+
+    @Test
+    public void nearest() throws Exception {
+        assertThat(ReadFrom.NEAREST.select(nodes)).containsExactly(nearestSlave, master, farthestSlave);
+    }
+
+    @Test
+    public void readOnlyCommands() throws Exception {
+        assertThat(ReadOnlyCommands.isReadOnlyCommand(CommandType.GET)).isTrue();
+        assertThat(ReadOnlyCommands.isReadOnlyCommand(CommandType.SET)).isFalse();
+        assertThat(ReadOnlyCommands.isReadOnlyCommand(CommandType.SORT)).isFalse();
+    }
+
+    private static RedisClusterNode node(String nodeId, RedisClusterNode.NodeFlag flag) {
+        RedisClusterNode node = new RedisClusterNode();
+        node.setNodeId(nodeId);
+        node.setFlags(Sets.newHashSet(flag));
+        return node;
+    }
+}
@@ -2,8 +2,18 @@ package com.lambdaworks.redis.cluster;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.Test;
 
+import com.lambdaworks.redis.codec.Utf8StringCodec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
 /**
  * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
  * @since 3.0
@@ -23,4 +33,49 @@ public class SlotHashTest {
         assertThat(result).isEqualTo(0x31C3);
 
     }
+
+    @Test
+    public void testHashRange() throws Exception {
+        byte[] key = "{a}key{123456789}a{b}".getBytes();
+        int result = SlotHash.getSlot(key, 3, key.length - 6);
+        assertThat(result).isEqualTo(0x31C3);
+    }
+
+    @Test
+    public void testHashByteBuf() throws Exception {
+        ByteBuf buffer = Unpooled.directBuffer();
+        buffer.writeBytes("x{y}key{123456789}a".getBytes()).readerIndex(4);
+
+        assertThat(SlotHash.getSlot(buffer)).isEqualTo(0x31C3);
+        assertThat(buffer.readerIndex()).isEqualTo(4);
+        buffer.release();
+    }
+
+    @Test
+    public void testHashByteBuffer() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(32);
+        buffer.put("key{123456789}a".getBytes()).flip();
+
+        assertThat(SlotHash.getSlot(buffer)).isEqualTo(0x31C3);
+        assertThat(SlotHash.getSlot(ByteBuffer.wrap("123456789".getBytes()))).isEqualTo(0x31C3);
+        assertThat(buffer.position()).isZero();
+    }
+
+    @Test
+    public void testPartition() throws Exception {
+        Map<Integer, List<String>> result = SlotHash.partition(new Utf8StringCodec(),
+                Arrays.asList("a{user1}", "b", "c{user1}", "d{b}"));
+
+        assertThat(result.keySet()).containsExactly(SlotHash.getSlot("user1"), SlotHash.getSlot("b"));
+        assertThat(result.get(SlotHash.getSlot("user1"))).containsExactly("a{user1}", "c{user1}");
+        assertThat(result.get(SlotHash.getSlot("b"))).containsExactly("b", "d{b}");
+    }
+
+    @Test
+    public void testPartitionRecordsSlots() throws Exception {
+        int[] slots = new int[3];
+        SlotHash.partition(new Utf8StringCodec(), Arrays.asList("a{user1}", "b", "c{user1}"), slots);
+
+        assertThat(slots).containsExactly(SlotHash.getSlot("user1"), SlotHash.getSlot("b"), SlotHash.getSlot("user1"));
+    }
 }
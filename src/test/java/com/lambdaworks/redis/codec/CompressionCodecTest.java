@@ -0,0 +1,155 @@
+package com.lambdaworks.redis.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ */
+public class CompressionCodecTest {
+
+    private final byte[] json = json(4096);
+
+    @Test
+    public void compressDeflate() throws Exception {
+        CompressionCodec<byte[], byte[]> codec = new CompressionCodec<byte[], byte[]>(new ByteArrayCodec(),
+                CompressionAlgorithm.DEFLATE);
+
+        byte[] encoded = codec.encodeValue(json);
+
+        assertThat(encoded.length).isLessThan(json.length);
+        assertThat(encoded[0]).isEqualTo(CompressionCodec.MARKER);
+        assertThat(encoded[2]).isEqualTo(CompressionAlgorithm.DEFLATE.getId());
+        assertThat(codec.decodeValue(ByteBuffer.wrap(encoded))).isEqualTo(json);
+    }
+
+    @Test
+    public void compressGzipDecodeDirectBuffer() throws Exception {
+        CompressionCodec<byte[], byte[]> codec = new CompressionCodec<byte[], byte[]>(new ByteArrayCodec(),
+                CompressionAlgorithm.GZIP);
+
+        byte[] encoded = codec.encodeValue(json);
+        ByteBuf buffer = Unpooled.directBuffer().writeByte('$').writeBytes(encoded);
+
+        assertThat(codec.decodeValue(buffer, 1, encoded.length)).isEqualTo(json);
+        assertThat(buffer.readerIndex()).isEqualTo(0);
+        buffer.release();
+    }
+
+    @Test
+    public void decodeOtherBuiltInAlgorithm() throws Exception {
+        byte[] encoded = new CompressionCodec<byte[], byte[]>(new ByteArrayCodec(), CompressionAlgorithm.GZIP).encodeValue(json);
+        CompressionCodec<byte[], byte[]> codec = new CompressionCodec<byte[], byte[]>(new ByteArrayCodec(),
+                CompressionAlgorithm.DEFLATE);
+
+        assertThat(codec.decodeValue(ByteBuffer.wrap(encoded))).isEqualTo(json);
+    }
+
+    @Test
+    public void uncompressedBelowThreshold() throws Exception {
+        CompressionCodec<String, String> codec = new CompressionCodec<String, String>(new Utf8StringCodec(),
+                CompressionAlgorithm.DEFLATE, 100);
+
+        byte[] encoded = codec.encodeValue("short");
+
+        assertThat(encoded).isEqualTo("short".getBytes());
+        assertThat(codec.decodeValue(ByteBuffer.wrap(encoded))).isEqualTo("short");
+        assertThat(codec.decodeValue(Unpooled.wrappedBuffer(encoded), 0, encoded.length)).isEqualTo("short");
+    }
+
+    @Test
+    public void uncompressedValueWithMarker() throws Exception {
+        CompressionCodec<byte[], byte[]> codec = new CompressionCodec<byte[], byte[]>(new ByteArrayCodec(),
+                CompressionAlgorithm.DEFLATE);
+        byte[] value = { CompressionCodec.MARKER, CompressionCodec.MAGIC, 1, 0, 0, 0, 1, 42 };
+
+        byte[] encoded = codec.encodeValue(value);
+
+        assertThat(encoded.length).isEqualTo(value.length + CompressionCodec.HEADER_SIZE);
+        assertThat(encoded[2]).isEqualTo(CompressionCodec.STORED);
+        assertThat(codec.decodeValue(ByteBuffer.wrap(encoded))).isEqualTo(value);
+    }
+
+    @Test
+    public void forgedLengthIsPassedToDelegate() throws Exception {
+        CompressionCodec<byte[], byte[]> codec = new CompressionCodec<byte[], byte[]>(new ByteArrayCodec(),
+                CompressionAlgorithm.DEFLATE);
+        byte[] value = { CompressionCodec.MARKER, CompressionCodec.MAGIC, 1, 0x7f, (byte) 0xff, (byte) 0xff, (byte) 0xff, 42 };
+
+        assertThat(codec.decodeValue(ByteBuffer.wrap(value))).isEqualTo(value);
+        assertThat(codec.decodeValue(Unpooled.wrappedBuffer(value), 0, value.length)).isEqualTo(value);
+    }
+
+    @Test
+    public void lengthMismatchIsPassedToDelegate() throws Exception {
+        CompressionCodec<byte[], byte[]> codec = new CompressionCodec<byte[], byte[]>(new ByteArrayCodec(),
+                CompressionAlgorithm.GZIP);
+
+        byte[] encoded = codec.encodeValue(json);
+        encoded[6]++;
+        assertThat(codec.decodeValue(ByteBuffer.wrap(encoded))).isEqualTo(encoded);
+
+        encoded[6] -= 2;
+        assertThat(codec.decodeValue(ByteBuffer.wrap(encoded))).isEqualTo(encoded);
+    }
+
+    @Test
+    public void incompressibleValue() throws Exception {
+        CompressionCodec<byte[], byte[]> codec = new CompressionCodec<byte[], byte[]>(new ByteArrayCodec(),
+                CompressionAlgorithm.DEFLATE, 0);
+        byte[] value = { 1, 2, 3 };
+
+        assertThat(codec.encodeValue(value)).isEqualTo(value);
+    }
+
+    @Test
+    public void keysAreNotCompressed() throws Exception {
+        CompressionCodec<byte[], byte[]> codec = new CompressionCodec<byte[], byte[]>(new ByteArrayCodec(),
+                CompressionAlgorithm.DEFLATE, 0);
+
+        assertThat(codec.encodeKey(json)).isSameAs(json);
+    }
+
+    @Test
+    public void customAlgorithm() throws Exception {
+        CompressionAlgorithm fastDeflate = new CompressionAlgorithm(16, "FAST") {
+            @Override
+            public OutputStream compress(OutputStream target) throws IOException {
+                return new DeflaterOutputStream(target, new Deflater(Deflater.BEST_SPEED, true));
+            }
+
+            @Override
+            public InputStream decompress(InputStream source) throws IOException {
+                return new InflaterInputStream(source, new Inflater(true));
+            }
+        };
+        CompressionCodec<byte[], byte[]> codec = new CompressionCodec<byte[], byte[]>(new ByteArrayCodec(), fastDeflate);
+
+        byte[] encoded = codec.encodeValue(json);
+
+        assertThat(encoded[2]).isEqualTo((byte) 16);
+        assertThat(codec.decodeValue(ByteBuffer.wrap(encoded))).isEqualTo(json);
+    }
+
+    private static byte[] json(int size) {
+        StringBuilder builder = new StringBuilder("[");
+        while (builder.length() < size) {
+            builder.append("{\"key\":\"value-").append(builder.length()).append("\"},");
+        }
+        builder.append("{}]");
+        return builder.toString().getBytes();
+    }
+}
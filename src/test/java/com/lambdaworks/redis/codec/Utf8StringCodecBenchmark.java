@@ -0,0 +1,118 @@
+package com.lambdaworks.redis.codec;
+
+import static java.nio.charset.CoderResult.OVERFLOW;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lambdaworks.redis.protocol.LettuceCharsets;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+
+/**
+ * Benchmark for decoding values with a {@link Utf8StringCodec} shared by many threads, as a codec is shared by all connections
+ * of a cluster client or a pool. Each benchmark thread stands for an event loop decoding from its own pooled direct buffer.
+ * Compares the stateless decoding of {@link Utf8StringCodec} with the synchronized {@link CharsetDecoder} used before. Run with
+ * {@code -prof gc} to compare the allocation rate.
+ *
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(8)
+public class Utf8StringCodecBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Codecs {
+
+        private final Utf8StringCodec codec = new Utf8StringCodec();
+        private final SynchronizedDecoder synchronizedDecoder = new SynchronizedDecoder();
+    }
+
+    @State(Scope.Thread)
+    public static class Input {
+
+        @Param({ "ascii", "utf8" })
+        private String content;
+
+        @Param({ "16", "512" })
+        private int size;
+
+        private ByteBuf buffer;
+        private int length;
+
+        @Setup
+        public void setup() {
+            StringBuilder builder = new StringBuilder();
+            while (builder.length() < size) {
+                builder.append("ascii".equals(content) ? "value:" : "wärt:");
+            }
+
+            byte[] bytes = builder.substring(0, size).getBytes(LettuceCharsets.UTF8);
+            buffer = PooledByteBufAllocator.DEFAULT.directBuffer(bytes.length).writeBytes(bytes);
+            length = bytes.length;
+        }
+
+        @TearDown
+        public void tearDown() {
+            buffer.release();
+        }
+    }
+
+    @Benchmark
+    public String decodeByteBuf(Codecs codecs, Input input) {
+        return codecs.codec.decodeValue(input.buffer, 0, input.length);
+    }
+
+    @Benchmark
+    public String decodeByteBuffer(Codecs codecs, Input input) {
+        return codecs.codec.decodeValue(input.buffer.nioBuffer(0, input.length));
+    }
+
+    @Benchmark
+    public String synchronizedDecodeByteBuffer(Codecs codecs, Input input) {
+        return codecs.synchronizedDecoder.decode(input.buffer.nioBuffer(0, input.length));
+    }
+
+    /**
+     * Decoding as implemented before: a {@link CharsetDecoder} and a growing {@link CharBuffer} shared by all threads.
+     */
+    private static class SynchronizedDecoder {
+
+        private final CharsetDecoder decoder = LettuceCharsets.UTF8.newDecoder();
+        private CharBuffer chars = CharBuffer.allocate(1024);
+
+        synchronized String decode(ByteBuffer bytes) {
+            chars.clear();
+            bytes.mark();
+
+            decoder.reset();
+            while (decoder.decode(bytes, chars, true) == OVERFLOW || decoder.flush(chars) == OVERFLOW) {
+                chars = CharBuffer.allocate(chars.capacity() * 2);
+                bytes.reset();
+            }
+
+            return chars.flip().toString();
+        }
+    }
+}
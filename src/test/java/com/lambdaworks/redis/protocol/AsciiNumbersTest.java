@@ -0,0 +1,115 @@
+package com.lambdaworks.redis.protocol;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ */
+public class AsciiNumbersTest {
+
+    @Test
+    public void parseLong() throws Exception {
+        assertThat(parseLong("0")).isEqualTo(0);
+        assertThat(parseLong("42")).isEqualTo(42);
+        assertThat(parseLong("+42")).isEqualTo(42);
+        assertThat(parseLong("-42")).isEqualTo(-42);
+        assertThat(parseLong("9223372036854775807")).isEqualTo(Long.MAX_VALUE);
+        assertThat(parseLong("-9223372036854775808")).isEqualTo(Long.MIN_VALUE);
+        assertThat(AsciiNumbers.parseLong(LettuceCharsets.buffer("123"))).isEqualTo(123);
+    }
+
+    @Test
+    public void parseInvalidLong() throws Exception {
+        for (String invalid : new String[] { "", "-", "1.0", "abc", "9223372036854775808", "-9223372036854775809",
+                "99999999999999999999" }) {
+            try {
+                parseLong(invalid);
+                fail("Expected NumberFormatException for " + invalid);
+            } catch (NumberFormatException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void parseDouble() throws Exception {
+        assertThat(parseDouble("0")).isEqualTo(0d);
+        assertThat(parseDouble("-0")).isEqualTo(-0d);
+        assertThat(parseDouble("1.5")).isEqualTo(1.5d);
+        assertThat(parseDouble("-0.05")).isEqualTo(-0.05d);
+        assertThat(parseDouble("3.1415926535897931")).isEqualTo(Math.PI);
+        assertThat(parseDouble("1e+20")).isEqualTo(1e20d);
+        assertThat(parseDouble("2.5E-3")).isEqualTo(2.5e-3d);
+        assertThat(parseDouble("1.7976931348623157e+308")).isEqualTo(Double.MAX_VALUE);
+        assertThat(parseDouble("inf")).isEqualTo(Double.POSITIVE_INFINITY);
+        assertThat(parseDouble("+inf")).isEqualTo(Double.POSITIVE_INFINITY);
+        assertThat(parseDouble("-inf")).isEqualTo(Double.NEGATIVE_INFINITY);
+        assertThat(AsciiNumbers.parseDouble(LettuceCharsets.buffer("0.25"))).isEqualTo(0.25d);
+    }
+
+    @Test
+    public void parseDoubleLikeJdk() throws Exception {
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            double value;
+            switch (i % 3) {
+                case 0:
+                    value = random.nextDouble() * Math.pow(10, random.nextInt(30) - 15);
+                    break;
+                case 1:
+                    value = Math.round(random.nextDouble() * 1e6) / 1e3;
+                    break;
+                default:
+                    value = Double.longBitsToDouble(random.nextLong());
+                    if (Double.isNaN(value) || Double.isInfinite(value)) {
+                        continue;
+                    }
+            }
+
+            for (String text : new String[] { Double.toString(value), String.format(Locale.US, "%.17g", value),
+                    String.format(Locale.US, "%.6f", value) }) {
+                assertThat(parseDouble(text)).describedAs(text).isEqualTo(Double.parseDouble(text));
+            }
+        }
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void parseInvalidDouble() throws Exception {
+        parseDouble("1.2.3");
+    }
+
+    @Test
+    public void toBytes() throws Exception {
+        assertThat(toString(AsciiNumbers.toBytes(0L))).isEqualTo("0");
+        assertThat(toString(AsciiNumbers.toBytes(-7L))).isEqualTo("-7");
+        assertThat(toString(AsciiNumbers.toBytes(Long.MAX_VALUE))).isEqualTo(Long.toString(Long.MAX_VALUE));
+        assertThat(toString(AsciiNumbers.toBytes(Long.MIN_VALUE))).isEqualTo(Long.toString(Long.MIN_VALUE));
+        assertThat(toString(AsciiNumbers.toBytes(1000000000000000000L))).isEqualTo("1000000000000000000");
+        assertThat(toString(AsciiNumbers.toBytes(2.0d))).isEqualTo("2");
+        assertThat(toString(AsciiNumbers.toBytes(0.1d))).isEqualTo("0.1");
+        assertThat(toString(AsciiNumbers.toBytes(Double.NEGATIVE_INFINITY))).isEqualTo("-inf");
+    }
+
+    private static long parseLong(String value) {
+        ByteBuf buffer = Unpooled.copiedBuffer("x" + value + "x", LettuceCharsets.ASCII);
+        return AsciiNumbers.parseLong(buffer, 1, buffer.readableBytes() - 2);
+    }
+
+    private static double parseDouble(String value) {
+        ByteBuf buffer = Unpooled.copiedBuffer("x" + value + "x", LettuceCharsets.ASCII);
+        return AsciiNumbers.parseDouble(buffer, 1, buffer.readableBytes() - 2);
+    }
+
+    private static String toString(byte[] bytes) {
+        return new String(bytes, LettuceCharsets.ASCII);
+    }
+}
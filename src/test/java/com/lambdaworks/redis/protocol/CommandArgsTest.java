@@ -0,0 +1,211 @@
+package com.lambdaworks.redis.protocol;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import com.lambdaworks.redis.codec.ByteArrayCodec;
+import com.lambdaworks.redis.codec.RedisCodec;
+import com.lambdaworks.redis.codec.ToByteBufEncoder;
+import com.lambdaworks.redis.codec.Utf8StringCodec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ */
+public class CommandArgsTest {
+
+    private CommandArgs<String, String> sut = new CommandArgs<String, String>(new Utf8StringCodec());
+
+    @Test
+    public void encodeKeysAndValues() throws Exception {
+
+        sut.addKey("key").addValue("välue");
+
+        assertThat(encode()).isEqualTo("$3\r\nkey\r\n$6\r\nvälue\r\n");
+        assertThat(sut.count()).isEqualTo(2);
+        assertThat(sut.getEncodedKey()).isEqualTo("key".getBytes());
+    }
+
+    @Test
+    public void encodeIntegers() throws Exception {
+
+        sut.add(0).add(7).add(42).add(-1).add(Long.MAX_VALUE).add(Long.MIN_VALUE);
+
+        assertThat(encode()).isEqualTo(
+                "$1\r\n0\r\n$1\r\n7\r\n$2\r\n42\r\n$2\r\n-1\r\n$19\r\n9223372036854775807\r\n$20\r\n-9223372036854775808\r\n");
+    }
+
+    @Test
+    public void encodeStringsAndKeywords() throws Exception {
+
+        sut.add("MATCH").add(CommandKeyword.LIMIT).add(CommandType.PING).add(1.5);
+
+        assertThat(encode()).isEqualTo("$5\r\nMATCH\r\n$5\r\nLIMIT\r\n$4\r\nPING\r\n$3\r\n1.5\r\n");
+        assertThat(sut.getKeywords()).containsOnly(CommandKeyword.LIMIT);
+    }
+
+    @Test
+    public void encodeCommand() throws Exception {
+
+        sut.addKey("key");
+        Command<String, String, String> command = new Command<String, String, String>(CommandType.ECHO, null, sut);
+
+        ByteBuf buf = Unpooled.buffer();
+        command.encode(buf);
+
+        assertThat(buf.toString(LettuceCharsets.ASCII)).isEqualTo("*2\r\n$4\r\nECHO\r\n$3\r\nkey\r\n");
+        assertThat(command.getEncodedLength()).isEqualTo(buf.readableBytes());
+    }
+
+    @Test
+    public void encodeUtf8DirectlyLikeByteArrays() throws Exception {
+
+        String value = "välue € 😀 \ud800 end";
+        sut.addKey("kéy").addValue(value);
+
+        CommandArgs<byte[], byte[]> bytes = new CommandArgs<byte[], byte[]>(new ByteArrayCodec());
+        bytes.addKey("kéy".getBytes(LettuceCharsets.UTF8)).addValue(value.getBytes(LettuceCharsets.UTF8));
+        ByteBuf expected = Unpooled.buffer();
+        bytes.encode(expected);
+
+        assertThat(encode()).isEqualTo(expected.toString(LettuceCharsets.UTF8));
+        assertThat(sut.getEncodedKey()).isEqualTo("kéy".getBytes(LettuceCharsets.UTF8));
+    }
+
+    @Test
+    public void encodeOverriddenUtf8Codec() throws Exception {
+
+        CommandArgs<String, String> args = new CommandArgs<String, String>(new Utf8StringCodec() {
+            @Override
+            public byte[] encodeValue(String value) {
+                return super.encodeValue(value.toUpperCase());
+            }
+        });
+        args.addValue("value");
+
+        ByteBuf buf = Unpooled.buffer();
+        args.encode(buf);
+        assertThat(buf.toString(LettuceCharsets.ASCII)).isEqualTo("$5\r\nVALUE\r\n");
+    }
+
+    @Test
+    public void encodeUnknownSizeIntoScratchBuffer() throws Exception {
+
+        CommandArgs<String, String> args = new CommandArgs<String, String>(new StreamingCodec(-1));
+        args.addKey("key").addValue("value");
+
+        ByteBuf buf = Unpooled.buffer();
+        args.encode(buf);
+        assertThat(buf.toString(LettuceCharsets.ASCII)).isEqualTo("$3\r\nkey\r\n$5\r\nvalue\r\n");
+        assertThat(args.getEncodedLength()).isGreaterThan(0);
+        assertThat(args.getEncodedKey()).isEqualTo("key".getBytes());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void encodeWrongSize() throws Exception {
+
+        CommandArgs<String, String> args = new CommandArgs<String, String>(new StreamingCodec(1));
+        args.addValue("value");
+        args.encode(Unpooled.buffer());
+    }
+
+    @Test
+    public void encodeRoutingKeyOnce() throws Exception {
+
+        CountingCodec codec = new CountingCodec();
+        CommandArgs<String, String> args = new CommandArgs<String, String>(codec);
+        args.addKey("key").addKey("other");
+
+        assertThat(args.getEncodedKey()).isEqualTo("key".getBytes());
+        assertThat(args.getEncodedKey()).isEqualTo("key".getBytes());
+
+        ByteBuf buf = Unpooled.buffer();
+        args.encode(buf);
+        assertThat(buf.toString(LettuceCharsets.ASCII)).isEqualTo("$3\r\nkey\r\n$5\r\nother\r\n");
+        assertThat(codec.keyEncodings).isEqualTo(1);
+        assertThat(codec.byteBufKeyEncodings).isEqualTo(1);
+    }
+
+    private String encode() {
+        ByteBuf buf = Unpooled.buffer();
+        sut.encode(buf);
+        assertThat(sut.getEncodedLength()).isEqualTo(buf.readableBytes());
+        return buf.toString(LettuceCharsets.UTF8);
+    }
+
+    private static class StreamingCodec extends RedisCodec<String, String> implements ToByteBufEncoder<String, String> {
+
+        private final int size;
+
+        StreamingCodec(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int getEncodedKeySize(String key) {
+            return size;
+        }
+
+        @Override
+        public void encodeKey(String key, ByteBuf target) {
+            target.writeBytes(encodeKey(key));
+        }
+
+        @Override
+        public int getEncodedValueSize(String value) {
+            return size;
+        }
+
+        @Override
+        public void encodeValue(String value, ByteBuf target) {
+            target.writeBytes(encodeValue(value));
+        }
+
+        @Override
+        public String decodeKey(ByteBuffer bytes) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String decodeValue(ByteBuffer bytes) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public byte[] encodeKey(String key) {
+            return key.getBytes(LettuceCharsets.ASCII);
+        }
+
+        @Override
+        public byte[] encodeValue(String value) {
+            return value.getBytes(LettuceCharsets.ASCII);
+        }
+    }
+
+    private static class CountingCodec extends StreamingCodec {
+
+        private int keyEncodings;
+        private int byteBufKeyEncodings;
+
+        CountingCodec() {
+            super(-1);
+        }
+
+        @Override
+        public void encodeKey(String key, ByteBuf target) {
+            byteBufKeyEncodings++;
+            target.writeBytes(key.getBytes(LettuceCharsets.ASCII));
+        }
+
+        @Override
+        public byte[] encodeKey(String key) {
+            keyEncodings++;
+            return super.encodeKey(key);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.lambdaworks.redis.protocol;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.util.concurrent.AbstractFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.lambdaworks.redis.codec.Utf8StringCodec;
+import com.lambdaworks.redis.output.StatusOutput;
+
+/**
+ * Benchmark for creating, completing and retrieving the result of a {@link Command}. Compares the lock-free completion state
+ * of {@link Command} with a future that combines Guava's {@link AbstractFuture} with a {@link CountDownLatch}. Run with
+ * {@code -prof gc} to compare the allocation rate.
+ *
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class CommandBenchmark {
+
+    private static final Runnable NOOP = new Runnable() {
+        @Override
+        public void run() {
+        }
+    };
+
+    private final Utf8StringCodec codec = new Utf8StringCodec();
+
+    @Benchmark
+    public String completeAndGet() throws Exception {
+        Command<String, String, String> command = new Command<String, String, String>(CommandType.PING,
+                new StatusOutput<String, String>(codec), null);
+        command.complete();
+        return command.get();
+    }
+
+    @Benchmark
+    public String completeAndGetWithListener() throws Exception {
+        Command<String, String, String> command = new Command<String, String, String>(CommandType.PING,
+                new StatusOutput<String, String>(codec), null);
+        command.addListener(NOOP, MoreExecutors.sameThreadExecutor());
+        command.complete();
+        return command.get();
+    }
+
+    @Benchmark
+    public String latchCompleteAndGet() throws Exception {
+        LatchFuture<String> future = new LatchFuture<String>(new StatusOutput<String, String>(codec));
+        future.complete();
+        return future.get();
+    }
+
+    @Benchmark
+    public String latchCompleteAndGetWithListener() throws Exception {
+        LatchFuture<String> future = new LatchFuture<String>(new StatusOutput<String, String>(codec));
+        future.addListener(NOOP, MoreExecutors.sameThreadExecutor());
+        future.complete();
+        return future.get();
+    }
+
+    /**
+     * Completion as implemented before: a Guava {@link AbstractFuture} that additionally awaits a {@link CountDownLatch}.
+     */
+    private static class LatchFuture<T> extends AbstractFuture<T> {
+
+        private final CommandOutput<?, ?, T> output;
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        LatchFuture(CommandOutput<?, ?, T> output) {
+            this.output = output;
+        }
+
+        void complete() {
+            latch.countDown();
+            if (latch.getCount() == 0) {
+                set(output.get());
+            }
+        }
+
+        @Override
+        public T get() throws InterruptedException {
+            latch.await();
+            return output.get();
+        }
+    }
+}
@@ -1,19 +1,33 @@
 package com.lambdaworks.redis.protocol;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.DefaultChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -24,14 +38,20 @@ import org.mockito.stubbing.Answer;
 
 import com.lambdaworks.redis.ClientOptions;
 import com.lambdaworks.redis.ConnectionEvents;
+import com.lambdaworks.redis.RedisChannelHandler;
+import com.lambdaworks.redis.RedisCommandTimeoutException;
 import com.lambdaworks.redis.RedisException;
+import com.lambdaworks.redis.RedisQueueFullException;
 import com.lambdaworks.redis.codec.Utf8StringCodec;
 import com.lambdaworks.redis.output.StatusOutput;
+import com.lambdaworks.redis.output.ValueOutput;
+import com.lambdaworks.redis.output.ValueListOutput;
 
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.ScheduledFuture;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CommandHandlerTest {
@@ -64,6 +84,7 @@ public class CommandHandlerTest {
         when(context.alloc()).thenReturn(byteBufAllocator);
         when(channel.pipeline()).thenReturn(pipeline);
         when(channel.eventLoop()).thenReturn(eventLoop);
+        when(channel.isWritable()).thenReturn(true);
         when(eventLoop.submit(any(Runnable.class))).thenAnswer(new Answer<Future<?>>() {
             @Override
             public Future<?> answer(InvocationOnMock invocation) throws Throwable {
@@ -141,6 +162,525 @@ public class CommandHandlerTest {
         sut.write(command);
     }
 
+    @Test
+    public void testChannelReadDecodesReceivedBuffer() throws Exception {
+
+        sut.channelRegistered(context);
+        q.add(command);
+
+        ByteBuf input = Unpooled.copiedBuffer("+OK\r\n", LettuceCharsets.ASCII);
+        sut.channelRead(context, input);
+
+        assertThat(command.isDone()).isTrue();
+        assertThat(command.get()).isEqualTo("OK");
+        assertThat(input.refCnt()).isEqualTo(0);
+    }
+
+    @Test
+    public void testChannelReadReleasesInputWhenNotRegistered() throws Exception {
+
+        q.add(command);
+
+        ByteBuf input = Unpooled.copiedBuffer("+OK\r\n", LettuceCharsets.ASCII);
+        sut.channelRead(context, input);
+
+        assertThat(command.isDone()).isFalse();
+        assertThat(input.refCnt()).isEqualTo(0);
+    }
+
+    @Test
+    public void testChannelReadCumulatesPartialResponses() throws Exception {
+
+        when(context.alloc()).thenReturn(ByteBufAllocator.DEFAULT);
+        sut.channelRegistered(context);
+        q.add(command);
+
+        ByteBuf first = Unpooled.copiedBuffer("+O", LettuceCharsets.ASCII);
+        ByteBuf second = Unpooled.copiedBuffer("K\r\n", LettuceCharsets.ASCII);
+
+        sut.channelRead(context, first);
+        assertThat(command.isDone()).isFalse();
+
+        sut.channelRead(context, second);
+        sut.channelReadComplete(context);
+
+        assertThat(command.isDone()).isTrue();
+        assertThat(command.get()).isEqualTo("OK");
+        assertThat(first.refCnt()).isEqualTo(0);
+        assertThat(second.refCnt()).isEqualTo(0);
+    }
+
+    @Test
+    public void testDecodeExecutorCompletesCommands() throws Exception {
+
+        final List<Runnable> tasks = new ArrayList<Runnable>();
+        sut.setDecodeExecutor(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                tasks.add(command);
+            }
+        });
+        sut.channelRegistered(context);
+
+        Command<String, String, List<String>> values = new Command<String, String, List<String>>(CommandType.MGET,
+                new ValueListOutput<String, String>(new Utf8StringCodec()), null);
+        q.add(command);
+        q.add(values);
+
+        ByteBuf input = Unpooled.copiedBuffer("+OK\r\n*3\r\n$3\r\nabc\r\n$-1\r\n$0\r\n\r\n", LettuceCharsets.ASCII);
+        sut.channelRead(context, input);
+
+        assertThat(q).isEmpty();
+        assertThat(command.isDone()).isFalse();
+        assertThat(values.isDone()).isFalse();
+        assertThat(input.refCnt()).isPositive();
+        assertThat(tasks).hasSize(1);
+
+        tasks.get(0).run();
+
+        assertThat(command.get()).isEqualTo("OK");
+        assertThat(values.get()).containsExactly("abc", null, "");
+        assertThat(input.refCnt()).isEqualTo(0);
+    }
+
+    @Test
+    public void testDecodeExecutorWithPartialResponses() throws Exception {
+
+        final List<Runnable> tasks = new ArrayList<Runnable>();
+        sut.setDecodeExecutor(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                tasks.add(command);
+            }
+        });
+        when(context.alloc()).thenReturn(ByteBufAllocator.DEFAULT);
+        sut.channelRegistered(context);
+
+        Command<String, String, List<String>> values = new Command<String, String, List<String>>(CommandType.MGET,
+                new ValueListOutput<String, String>(new Utf8StringCodec()), null);
+        q.add(values);
+
+        ByteBuf first = Unpooled.copiedBuffer("*2\r\n$3\r\nabc\r\n$3\r\nd", LettuceCharsets.ASCII);
+        ByteBuf second = Unpooled.copiedBuffer("ef\r\n", LettuceCharsets.ASCII);
+
+        sut.channelRead(context, first);
+        sut.channelReadComplete(context);
+        sut.channelRead(context, second);
+        sut.channelReadComplete(context);
+
+        assertThat(tasks).hasSize(1);
+        tasks.get(0).run();
+
+        assertThat(values.get()).containsExactly("abc", "def");
+        assertThat(first.refCnt()).isEqualTo(0);
+        assertThat(second.refCnt()).isEqualTo(0);
+    }
+
+    @Test
+    public void testDecodeOnEventLoopWhenExecutorRejects() throws Exception {
+
+        sut.setDecodeExecutor(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                throw new RejectedExecutionException();
+            }
+        });
+        sut.channelRegistered(context);
+        q.add(command);
+
+        ByteBuf input = Unpooled.copiedBuffer("+OK\r\n", LettuceCharsets.ASCII);
+        sut.channelRead(context, input);
+
+        assertThat(command.get()).isEqualTo("OK");
+        assertThat(input.refCnt()).isEqualTo(0);
+    }
+
+    @Test
+    public void testWriteIsDrainedByEventLoopWithSingleFlush() throws Exception {
+
+        final List<Runnable> tasks = new ArrayList<Runnable>();
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                tasks.add((Runnable) invocation.getArguments()[0]);
+                return null;
+            }
+        }).when(eventLoop).execute(any(Runnable.class));
+
+        sut.channelRegistered(context);
+        sut.setState(CommandHandler.LifecycleState.ACTIVE);
+        when(channel.isActive()).thenReturn(true);
+
+        Command<String, String, String> second = new Command<String, String, String>(CommandType.APPEND,
+                new StatusOutput<String, String>(new Utf8StringCodec()), null);
+
+        sut.write(command);
+        sut.write(second);
+
+        verify(channel, never()).write(any());
+        assertThat(tasks).hasSize(1);
+
+        tasks.get(0).run();
+
+        verify(channel).write(command);
+        verify(channel).write(second);
+        verify(channel, times(1)).flush();
+        verify(channel, never()).writeAndFlush(any());
+    }
+
+    @Test
+    public void testConsolidatedFlush() throws Exception {
+
+        ClientOptions clientOptions = new ClientOptions.Builder().consolidateFlush(true).consolidateFlushMaxCommands(2)
+                .consolidateFlushDelay(50, TimeUnit.MICROSECONDS).build();
+        sut = new CommandHandler<String, String>(clientOptions, q);
+
+        final List<Runnable> tasks = new ArrayList<Runnable>();
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                tasks.add((Runnable) invocation.getArguments()[0]);
+                return null;
+            }
+        }).when(eventLoop).execute(any(Runnable.class));
+
+        doAnswer(new Answer<ScheduledFuture<?>>() {
+            @Override
+            public ScheduledFuture<?> answer(InvocationOnMock invocation) throws Throwable {
+                tasks.add((Runnable) invocation.getArguments()[0]);
+                return mock(ScheduledFuture.class);
+            }
+        }).when(eventLoop).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.NANOSECONDS));
+
+        sut.channelRegistered(context);
+        sut.setState(CommandHandler.LifecycleState.ACTIVE);
+        when(channel.isActive()).thenReturn(true);
+
+        for (int i = 0; i < 3; i++) {
+            sut.write(new Command<String, String, String>(CommandType.APPEND, new StatusOutput<String, String>(
+                    new Utf8StringCodec()), null));
+        }
+
+        assertThat(tasks).hasSize(1);
+        tasks.remove(0).run();
+
+        verify(channel, times(3)).write(any());
+        verify(channel, times(1)).flush();
+        verify(eventLoop).schedule(any(Runnable.class), eq(TimeUnit.MICROSECONDS.toNanos(50)), eq(TimeUnit.NANOSECONDS));
+        assertThat(tasks).hasSize(1);
+
+        tasks.remove(0).run();
+
+        verify(channel, times(2)).flush();
+    }
+
+    @Test
+    public void testWriteWhileActivatingIsWrittenImmediately() throws Exception {
+
+        sut.channelRegistered(context);
+        sut.setState(CommandHandler.LifecycleState.ACTIVATING);
+        when(channel.isActive()).thenReturn(true);
+        when(eventLoop.inEventLoop()).thenReturn(true);
+
+        sut.write(command);
+
+        verify(channel).write(command);
+        verify(channel).flush();
+        verify(eventLoop, never()).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void testHoldBackWritesWhileNotWritable() throws Exception {
+
+        final List<Runnable> tasks = new ArrayList<Runnable>();
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                tasks.add((Runnable) invocation.getArguments()[0]);
+                return null;
+            }
+        }).when(eventLoop).execute(any(Runnable.class));
+
+        sut.channelRegistered(context);
+        sut.setState(CommandHandler.LifecycleState.ACTIVE);
+        when(channel.isActive()).thenReturn(true);
+        when(channel.isWritable()).thenReturn(false);
+
+        sut.write(command);
+        tasks.remove(0).run();
+
+        verify(channel, never()).write(any());
+        assertThat(sut.getQueueSize()).isEqualTo(1);
+
+        sut.write(newCommand());
+        assertThat(tasks).isEmpty();
+
+        when(channel.isWritable()).thenReturn(true);
+        sut.channelWritabilityChanged(context);
+
+        verify(channel).write(command);
+        verify(channel, times(2)).write(any());
+        verify(channel).flush();
+    }
+
+    @Test
+    public void testBufferCommandOnce() throws Exception {
+
+        sut.write(command);
+        sut.write(command);
+
+        assertBufferedOnly(command);
+    }
+
+    @Test
+    public void testRejectWhenBufferIsFull() throws Exception {
+
+        sut = new CommandHandler<String, String>(new ClientOptions.Builder().disconnectedBufferSize(1).build(), q);
+        Command<String, String, String> second = newCommand();
+
+        sut.write(command);
+        sut.write(second);
+
+        assertBufferedOnly(command);
+        assertThat(second.isDone()).isTrue();
+        assertThat(second.getException()).isInstanceOf(RedisException.class);
+    }
+
+    @Test
+    public void testDropOldestWhenBufferIsFull() throws Exception {
+
+        sut = new CommandHandler<String, String>(new ClientOptions.Builder().disconnectedBufferSize(1)
+                .disconnectedBufferOverflow(ClientOptions.DisconnectedBufferOverflow.DROP_OLDEST).build(), q);
+        Command<String, String, String> second = newCommand();
+
+        sut.write(command);
+        sut.write(second);
+
+        assertBufferedOnly(second);
+        assertThat(command.isDone()).isTrue();
+        assertThat(command.getException()).isInstanceOf(RedisException.class);
+    }
+
+    @Test(timeout = 5000)
+    public void testBlockWhenBufferIsFull() throws Exception {
+
+        sut = new CommandHandler<String, String>(new ClientOptions.Builder().disconnectedBufferSize(1)
+                .disconnectedBufferOverflow(ClientOptions.DisconnectedBufferOverflow.BLOCK).build(), q);
+        final Command<String, String, String> second = newCommand();
+
+        sut.write(command);
+
+        Thread writer = new Thread() {
+            @Override
+            public void run() {
+                sut.write(second);
+            }
+        };
+        writer.start();
+
+        while (writer.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(10);
+        }
+        assertBufferedOnly(command);
+
+        sut.reset();
+        writer.join();
+
+        assertThat(command.isCancelled()).isTrue();
+        assertBufferedOnly(second);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBlockTimesOutAfterCommandTimeout() throws Exception {
+
+        sut = new CommandHandler<String, String>(new ClientOptions.Builder().disconnectedBufferSize(1)
+                .disconnectedBufferOverflow(ClientOptions.DisconnectedBufferOverflow.BLOCK).build(), q);
+        RedisChannelHandler<String, String> redisChannelHandler = mock(RedisChannelHandler.class);
+        when(redisChannelHandler.getTimeout()).thenReturn(10L);
+        when(redisChannelHandler.getTimeoutUnit()).thenReturn(TimeUnit.MILLISECONDS);
+        sut.setRedisChannelHandler(redisChannelHandler);
+        Command<String, String, String> second = newCommand();
+
+        sut.write(command);
+        sut.write(second);
+
+        assertBufferedOnly(command);
+        assertThat(second.isDone()).isTrue();
+        assertThat(second.getException()).isInstanceOf(RedisCommandTimeoutException.class);
+    }
+
+    @Test
+    public void testBlockOnEventLoopFailsFast() throws Exception {
+
+        sut = new CommandHandler<String, String>(new ClientOptions.Builder().disconnectedBufferSize(1)
+                .disconnectedBufferOverflow(ClientOptions.DisconnectedBufferOverflow.BLOCK).build(), q);
+        sut.channelRegistered(context);
+        when(eventLoop.inEventLoop()).thenReturn(true);
+
+        sut.write(command);
+
+        try {
+            sut.write(newCommand());
+            fail("Missing RedisException");
+        } catch (RedisException e) {
+            assertThat(e).hasMessageContaining("event loop");
+        }
+
+        assertBufferedOnly(command);
+        assertThat(sut.writeLock.isHeldByCurrentThread()).isFalse();
+    }
+
+    @Test
+    public void testRejectCompletesOutsideOfWriteLock() throws Exception {
+
+        sut = new CommandHandler<String, String>(new ClientOptions.Builder().disconnectedBufferSize(1).build(), q);
+        LockProbeCommand second = new LockProbeCommand();
+
+        sut.write(command);
+        sut.write(second);
+
+        assertThat(second.isDone()).isTrue();
+        assertThat(second.completedWithLock).isFalse();
+    }
+
+    @Test
+    public void testDropOldestCompletesOutsideOfWriteLock() throws Exception {
+
+        sut = new CommandHandler<String, String>(new ClientOptions.Builder().disconnectedBufferSize(1)
+                .disconnectedBufferOverflow(ClientOptions.DisconnectedBufferOverflow.DROP_OLDEST).build(), q);
+        LockProbeCommand oldest = new LockProbeCommand();
+
+        sut.write(oldest);
+        sut.write(command);
+
+        assertThat(oldest.isDone()).isTrue();
+        assertThat(oldest.completedWithLock).isFalse();
+        assertBufferedOnly(command);
+    }
+
+    @Test
+    public void testQueueSize() throws Exception {
+
+        sut = new CommandHandler<String, String>(new ClientOptions.Builder().requestQueueSize(2).build(), q);
+
+        sut.write(command);
+        sut.write(newCommand());
+        assertThat(sut.getQueueSize()).isEqualTo(2);
+
+        try {
+            sut.write(newCommand());
+            fail("Missing RedisQueueFullException");
+        } catch (RedisQueueFullException e) {
+            assertThat(e).hasMessageContaining("2");
+        }
+
+        sut.reset();
+        assertThat(sut.getQueueSize()).isEqualTo(0);
+
+        sut.write(newCommand());
+        assertThat(sut.getQueueSize()).isEqualTo(1);
+    }
+
+    @Test
+    public void testQueueSizeCountsCommandsUntilResponse() throws Exception {
+
+        sut = new CommandHandler<String, String>(new ClientOptions.Builder().requestQueueSize(1).build(), q);
+        EmbeddedChannel channel = new EmbeddedChannel(new CommandEncoder(), sut);
+        Command<String, String, String> get = new Command<String, String, String>(CommandType.GET,
+                new ValueOutput<String, String>(new Utf8StringCodec()),
+                new CommandArgs<String, String>(new Utf8StringCodec()).addKey("key"));
+
+        sut.write(get);
+        assertThat(sut.getQueueSize()).isEqualTo(1);
+
+        try {
+            sut.write(newCommand());
+            fail("Missing RedisQueueFullException");
+        } catch (RedisQueueFullException e) {
+            assertThat(e).hasMessageContaining("1");
+        }
+
+        channel.runPendingTasks();
+        assertThat(q).containsOnly(get);
+        assertThat(sut.getQueueSize()).isEqualTo(1);
+
+        channel.writeInbound(Unpooled.copiedBuffer("$5\r\nhello\r\n", LettuceCharsets.ASCII));
+
+        assertThat(get.get()).isEqualTo("hello");
+        assertThat(sut.getQueueSize()).isEqualTo(0);
+    }
+
+    @Test
+    public void testDoNotBufferCommandAwaitingResponse() throws Exception {
+
+        sut.queue.add(command);
+        sut.write(command);
+
+        assertThat(sut.commandBuffer).isEmpty();
+
+        sut.queue.poll();
+        sut.write(command);
+
+        assertBufferedOnly(command);
+    }
+
+    @Test
+    public void testQueueSizeIgnoresBufferedDuplicate() throws Exception {
+
+        sut = new CommandHandler<String, String>(new ClientOptions.Builder().requestQueueSize(1).build(), q);
+
+        sut.write(command);
+        sut.write(command);
+
+        assertBufferedOnly(command);
+        assertThat(sut.getQueueSize()).isEqualTo(1);
+    }
+
+    @Test
+    public void testEncodingFailureDoesNotConsumeResponseOfNextCommand() throws Exception {
+
+        EmbeddedChannel channel = new EmbeddedChannel(new CommandEncoder(), sut);
+        Command<String, String, String> set = new Command<String, String, String>(CommandType.SET,
+                new StatusOutput<String, String>(new Utf8StringCodec()), new CommandArgs<String, String>(
+                        new FailingValueCodec()).addKey("key").addValue("value"));
+        Command<String, String, String> get = new Command<String, String, String>(CommandType.GET,
+                new ValueOutput<String, String>(new Utf8StringCodec()),
+                new CommandArgs<String, String>(new Utf8StringCodec()).addKey("key"));
+
+        channel.write(set);
+        channel.writeAndFlush(get);
+
+        assertThat(set.isDone()).isTrue();
+        assertThat(set.getException()).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(q).containsOnly(get);
+
+        channel.writeInbound(Unpooled.copiedBuffer("$5\r\nhello\r\n", LettuceCharsets.ASCII));
+
+        assertThat(get.get()).isEqualTo("hello");
+        channel.finish();
+    }
+
+    @Test
+    public void testEncodingFailureFailsBatch() throws Exception {
+
+        EmbeddedChannel channel = new EmbeddedChannel(new CommandEncoder(), sut);
+        Command<String, String, String> set = new Command<String, String, String>(CommandType.SET,
+                new StatusOutput<String, String>(new Utf8StringCodec()), new CommandArgs<String, String>(
+                        new FailingValueCodec()).addKey("key").addValue("value"));
+        Command<String, String, String> ping = newCommand();
+
+        List<RedisCommand<String, String, ?>> batch = new ArrayList<RedisCommand<String, String, ?>>();
+        batch.add(ping);
+        batch.add(set);
+        channel.writeAndFlush(batch);
+
+        assertThat(q).isEmpty();
+        assertThat(ping.getException()).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(set.getException()).isInstanceOf(UnsupportedOperationException.class);
+        channel.finish();
+    }
+
     @Test
     public void testExceptionWhenClosed() throws Exception {
 
@@ -150,4 +690,40 @@ public class CommandHandlerTest {
         verifyZeroInteractions(context);
     }
 
+    private void assertBufferedOnly(RedisCommand<String, String, ?> expected) {
+        assertThat(sut.commandBuffer).hasSize(1);
+        assertThat(sut.commandBuffer.iterator().next()).isSameAs(expected);
+    }
+
+    private Command<String, String, String> newCommand() {
+        return new Command<String, String, String>(CommandType.APPEND, new StatusOutput<String, String>(new Utf8StringCodec()),
+                null);
+    }
+
+    private class LockProbeCommand extends Command<String, String, String> {
+
+        private boolean completedWithLock;
+
+        public LockProbeCommand() {
+            super(CommandType.APPEND, new StatusOutput<String, String>(new Utf8StringCodec()), null);
+        }
+
+        @Override
+        public void complete() {
+            completedWithLock = sut.writeLock.isHeldByCurrentThread();
+            super.complete();
+        }
+    }
+
+    private static class FailingValueCodec extends Utf8StringCodec {
+
+        public FailingValueCodec() {
+            enableByteBufCoding(FailingValueCodec.class);
+        }
+
+        @Override
+        public void encodeValue(String value, ByteBuf target) {
+            throw new UnsupportedOperationException();
+        }
+    }
 }
@@ -0,0 +1,85 @@
+package com.lambdaworks.redis.protocol;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lambdaworks.redis.codec.Utf8StringCodec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+
+/**
+ * Benchmark for {@link RedisStateMachine} decoding a multi-bulk reply (like {@literal LRANGE}) into an output that does not
+ * retain values. Run with {@code -prof gc} to verify that steady-state decoding does not allocate parser state.
+ *
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class RedisStateMachineBenchmark {
+
+    @Param({ "1", "100", "10000" })
+    private int elements;
+
+    private ByteBuf buffer;
+    private RedisStateMachine<String, String> stateMachine;
+    private DiscardingOutput output;
+
+    @Setup
+    public void setup() {
+
+        StringBuilder response = new StringBuilder();
+        response.append('*').append(elements).append("\r\n");
+        for (int i = 0; i < elements; i++) {
+            response.append("$5\r\nvalue\r\n");
+        }
+
+        buffer = PooledByteBufAllocator.DEFAULT.directBuffer(response.length());
+        buffer.writeBytes(response.toString().getBytes(LettuceCharsets.ASCII));
+        stateMachine = new RedisStateMachine<String, String>();
+        output = new DiscardingOutput();
+    }
+
+    @TearDown
+    public void tearDown() {
+        buffer.release();
+    }
+
+    @Benchmark
+    public boolean decodeMultiBulk() {
+        buffer.readerIndex(0);
+        return stateMachine.decode(buffer, output);
+    }
+
+    private static class DiscardingOutput extends CommandOutput<String, String, Void> {
+
+        public DiscardingOutput() {
+            super(new Utf8StringCodec(), null, DiscardingOutput.class);
+        }
+
+        @Override
+        public void set(ByteBuffer bytes) {
+        }
+
+        @Override
+        protected void setBytes(ByteBuf buffer, int offset, int length) {
+        }
+    }
+}
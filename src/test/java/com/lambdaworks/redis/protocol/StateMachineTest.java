@@ -5,7 +5,9 @@ package com.lambdaworks.redis.protocol;
 import static com.lambdaworks.redis.protocol.RedisStateMachine.*;
 import static org.assertj.core.api.Assertions.*;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -13,6 +15,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.lambdaworks.redis.RedisException;
+import com.lambdaworks.redis.codec.ByteArrayCodec;
 import com.lambdaworks.redis.codec.RedisCodec;
 import com.lambdaworks.redis.codec.Utf8StringCodec;
 import com.lambdaworks.redis.output.IntegerOutput;
@@ -102,6 +105,106 @@ public class StateMachineTest {
         assertThat(output.get().size()).isEqualTo(2);
     }
 
+    @Test
+    public void multiDeeplyNested() throws Exception {
+        CommandOutput<String, String, List<Object>> output = new NestedMultiOutput<String, String>(codec);
+        StringBuilder response = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            response.append("*1\r\n");
+        }
+        response.append("$2\r\nok\r\n");
+
+        assertThat(rsm.decode(buffer(response.toString()), output)).isTrue();
+
+        Object element = output.get();
+        for (int i = 0; i < 100; i++) {
+            element = ((List<?>) element).get(0);
+        }
+        assertThat(element).isEqualTo("ok");
+    }
+
+    @Test
+    public void multiPartial() throws Exception {
+        CommandOutput<String, String, List<String>> output = new ValueListOutput<String, String>(codec);
+        ByteBuf buffer = buffer("*2\r\n$2\r\nok\r\n$2\r");
+        assertThat(rsm.decode(buffer, output)).isFalse();
+        buffer.writeBytes("\nab\r\n".getBytes(charset));
+        assertThat(rsm.decode(buffer, output)).isTrue();
+        assertThat(output.get()).isEqualTo(Arrays.asList("ok", "ab"));
+    }
+
+    @Test
+    public void queued() throws Exception {
+        assertThat(rsm.decode(buffer("+QUEUED\r\n"), output)).isTrue();
+        assertThat(output.get()).isNull();
+    }
+
+    @Test
+    public void byteBufferOutput() throws Exception {
+        final List<String> values = new ArrayList<String>();
+        CommandOutput<String, String, List<String>> output = new CommandOutput<String, String, List<String>>(codec, values) {
+            @Override
+            public void set(ByteBuffer bytes) {
+                values.add(codec.decodeValue(bytes));
+            }
+        };
+
+        assertThat(rsm.decode(buffer("*2\r\n+OK\r\n$3\r\nfoo\r\n"), output)).isTrue();
+        assertThat(values).isEqualTo(Arrays.asList("OK", "foo"));
+    }
+
+    @Test
+    public void byteBufferDecodeOverride() throws Exception {
+        RedisCodec<String, String> codec = new Utf8StringCodec() {
+            @Override
+            public String decodeValue(ByteBuffer bytes) {
+                return super.decodeValue(bytes).toUpperCase();
+            }
+        };
+        CommandOutput<String, String, String> output = new ValueOutput<String, String>(codec);
+
+        assertThat(rsm.decode(buffer("$3\r\nfoo\r\n"), output)).isTrue();
+        assertThat(output.get()).isEqualTo("FOO");
+    }
+
+    @Test
+    public void byteBufferDecodeOverrideOfByteArrayCodec() throws Exception {
+        RedisCodec<byte[], byte[]> codec = new ByteArrayCodec() {
+            @Override
+            public byte[] decodeValue(ByteBuffer bytes) {
+                return "bar".getBytes();
+            }
+        };
+        CommandOutput<byte[], byte[], byte[]> output = new ValueOutput<byte[], byte[]>(codec);
+
+        assertThat(new RedisStateMachine<byte[], byte[]>().decode(buffer("$3\r\nfoo\r\n"), output)).isTrue();
+        assertThat(output.get()).isEqualTo("bar".getBytes());
+    }
+
+    @Test
+    public void byteBufferOutputOverride() throws Exception {
+        CommandOutput<String, String, String> output = new ValueOutput<String, String>(codec) {
+            @Override
+            public void set(ByteBuffer bytes) {
+                super.set(bytes);
+                this.output = this.output.toUpperCase();
+            }
+        };
+
+        assertThat(rsm.decode(buffer("$3\r\nfoo\r\n"), output)).isTrue();
+        assertThat(output.get()).isEqualTo("FOO");
+    }
+
+    @Test
+    public void byteBufDecodingOptIn() throws Exception {
+        final List<String> calls = new ArrayList<String>();
+        CommandOutput<String, String, String> output = new OptInOutput(codec, calls);
+
+        assertThat(rsm.decode(buffer("$3\r\nfoo\r\n"), output)).isTrue();
+        assertThat(calls).containsExactly("setBytes");
+        assertThat(output.get()).isEqualTo("foo");
+    }
+
     @Test
     public void partialFirstLine() throws Exception {
         assertThat(rsm.decode(buffer("+"), output)).isFalse();
@@ -124,4 +227,26 @@ public class StateMachineTest {
     protected ByteBuf buffer(String content) {
         return Unpooled.copiedBuffer(content, charset);
     }
+
+    private static class OptInOutput extends CommandOutput<String, String, String> {
+
+        private final List<String> calls;
+
+        OptInOutput(RedisCodec<String, String> codec, List<String> calls) {
+            super(codec, null, OptInOutput.class);
+            this.calls = calls;
+        }
+
+        @Override
+        public void set(ByteBuffer bytes) {
+            calls.add("set");
+            output = bytes == null ? null : codec.decodeValue(bytes);
+        }
+
+        @Override
+        protected void setBytes(ByteBuf buffer, int offset, int length) {
+            calls.add("setBytes");
+            output = codec.decodeValue(buffer, offset, length);
+        }
+    }
 }
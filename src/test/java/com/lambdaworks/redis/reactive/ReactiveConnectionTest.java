@@ -0,0 +1,226 @@
+package com.lambdaworks.redis.reactive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.lambdaworks.redis.AbstractCommandTest;
+import com.lambdaworks.redis.KeyValue;
+import com.lambdaworks.redis.RedisAsyncConnection;
+import com.lambdaworks.redis.RedisChannelHandler;
+import com.lambdaworks.redis.RedisCommandExecutionException;
+import com.lambdaworks.redis.ScanArgs;
+import com.lambdaworks.redis.ScoredValue;
+
+import io.netty.channel.Channel;
+
+/**
+ * @author <a href="mailto:mpaluch@paluch.biz">Mark Paluch</a>
+ */
+public class ReactiveConnectionTest extends AbstractCommandTest {
+
+    private RedisAsyncConnection<String, String> async;
+    private RedisReactiveConnection<String, String> reactive;
+
+    @Before
+    public void openReactiveConnection() throws Exception {
+        async = client.connectAsync();
+        reactive = new RedisReactiveConnection<String, String>(async);
+    }
+
+    @After
+    public void closeReactiveConnection() throws Exception {
+        async.close();
+    }
+
+    @Test(timeout = 10000)
+    public void lrange() throws Exception {
+        redis.rpush(key, "a", "b", "c");
+
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<String>(Long.MAX_VALUE);
+        reactive.lrange(key, 0, -1).subscribe(subscriber);
+
+        subscriber.awaitTermination();
+        assertThat(subscriber.elements).containsExactly("a", "b", "c");
+        assertThat(subscriber.error).isNull();
+    }
+
+    @Test(timeout = 10000)
+    public void publisherIsCold() throws Exception {
+        redis.sadd(key, "a");
+
+        Publisher<String> publisher = reactive.smembers(key);
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<String>(0);
+        publisher.subscribe(subscriber);
+
+        redis.sadd(key, "b");
+        subscriber.subscription.request(10);
+        subscriber.awaitTermination();
+
+        assertThat(subscriber.elements).containsOnly("a", "b");
+
+        RecordingSubscriber<String> second = new RecordingSubscriber<String>(10);
+        publisher.subscribe(second);
+        second.awaitTermination();
+        assertThat(second.elements).containsOnly("a", "b");
+    }
+
+    @Test(timeout = 20000)
+    public void backpressure() throws Exception {
+        List<String> values = new ArrayList<String>();
+        for (int i = 0; i < 10000; i++) {
+            values.add("value-" + i);
+        }
+        redis.rpush(key, values.toArray(new String[values.size()]));
+
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<String>(1);
+        reactive.lrange(key, 0, -1).subscribe(subscriber);
+
+        Thread.sleep(200);
+        assertThat(subscriber.elements).containsExactly("value-0");
+        assertThat(subscriber.completed).isFalse();
+        assertThat(channel().config().isAutoRead()).isFalse();
+
+        subscriber.subscription.request(9999);
+        subscriber.awaitTermination();
+        assertThat(channel().config().isAutoRead()).isTrue();
+
+        assertThat(subscriber.elements).isEqualTo(values);
+        assertThat(async.ping().get()).isEqualTo("PONG");
+    }
+
+    @Test(timeout = 20000)
+    public void readsAreResumedOnCancel() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            redis.zadd(key, i, "value-" + i);
+        }
+
+        RecordingSubscriber<ScoredValue<String>> subscriber = new RecordingSubscriber<ScoredValue<String>>(2);
+        reactive.zrangeWithScores(key, 0, -1).subscribe(subscriber);
+
+        Thread.sleep(100);
+        subscriber.subscription.cancel();
+
+        assertThat(subscriber.elements).hasSize(2);
+        assertThat(subscriber.elements.get(1).score).isEqualTo(1d);
+        assertThat(async.ping().get(5, TimeUnit.SECONDS)).isEqualTo("PONG");
+        assertThat(subscriber.completed).isFalse();
+    }
+
+    @Test(timeout = 10000)
+    public void error() throws Exception {
+        redis.set(key, value);
+
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<String>(Long.MAX_VALUE);
+        reactive.lrange(key, 0, -1).subscribe(subscriber);
+
+        subscriber.awaitTermination();
+        assertThat(subscriber.error).isInstanceOf(RedisCommandExecutionException.class);
+    }
+
+    @Test(timeout = 10000)
+    public void invalidRequest() throws Exception {
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<String>(0);
+        reactive.lrange(key, 0, -1).subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+        subscriber.awaitTermination();
+        assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test(timeout = 20000)
+    public void scanFollowsCursor() throws Exception {
+        for (int i = 0; i < 500; i++) {
+            redis.set("key-" + i, value);
+        }
+
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<String>(Long.MAX_VALUE);
+        reactive.scan(ScanArgs.Builder.limit(50)).subscribe(subscriber);
+
+        subscriber.awaitTermination();
+        assertThat(subscriber.elements).hasSize(500);
+        assertThat(subscriber.error).isNull();
+    }
+
+    @Test(timeout = 20000)
+    public void hscanWithBackpressure() throws Exception {
+        Map<String, String> map = new HashMap<String, String>();
+        for (int i = 0; i < 500; i++) {
+            map.put("field-" + i, "value-" + i);
+        }
+        redis.hmset(key, map);
+
+        RecordingSubscriber<KeyValue<String, String>> subscriber = new RecordingSubscriber<KeyValue<String, String>>(10) {
+            @Override
+            public void onNext(KeyValue<String, String> element) {
+                super.onNext(element);
+                subscription.request(1);
+            }
+        };
+        reactive.hscan(key, ScanArgs.Builder.limit(20)).subscribe(subscriber);
+
+        subscriber.awaitTermination();
+        assertThat(subscriber.elements).hasSize(500);
+        for (KeyValue<String, String> keyValue : subscriber.elements) {
+            assertThat(map.get(keyValue.key)).isEqualTo(keyValue.value);
+        }
+    }
+
+    private Channel channel() {
+        return (Channel) ReflectionTestUtils.getField(((RedisChannelHandler<?, ?>) async).getChannelWriter(), "channel");
+    }
+
+    static class RecordingSubscriber<T> implements Subscriber<T> {
+
+        final List<T> elements = Collections.synchronizedList(new ArrayList<T>());
+        final CountDownLatch terminated = new CountDownLatch(1);
+        final long initialRequest;
+        volatile Subscription subscription;
+        volatile Throwable error;
+        volatile boolean completed;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(T element) {
+            elements.add(element);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            terminated.countDown();
+        }
+
+        void awaitTermination() throws InterruptedException {
+            terminated.await();
+        }
+    }
+}
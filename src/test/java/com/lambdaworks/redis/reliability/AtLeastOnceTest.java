@@ -145,12 +145,14 @@ public class AtLeastOnceTest extends AbstractCommandTest {
 
         channelWriter.write(command);
 
+        assertThat(command.await(2, TimeUnit.SECONDS)).isTrue();
         assertThat(command.isCancelled()).isFalse();
-        assertThat(command.isDone()).isFalse();
+        assertThat(command.getException()).isInstanceOf(IllegalStateException.class);
 
         assertThat(verificationConnection.get(key)).isEqualTo("2");
+        assertThat(connection.get(key)).isEqualTo("2");
 
-        assertThat(getQueue(getRedisChannelHandler(connection))).isNotEmpty();
+        assertThat(getQueue(getRedisChannelHandler(connection))).isEmpty();
 
         connection.close();
     }
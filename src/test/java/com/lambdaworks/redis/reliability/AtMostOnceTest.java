@@ -10,7 +10,6 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import com.lambdaworks.redis.output.StatusOutput;
-import io.netty.handler.codec.EncoderException;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -143,9 +142,9 @@ public class AtMostOnceTest extends AbstractCommandTest {
         channelWriter.write(command);
 
         assertThat(command.await(2, TimeUnit.SECONDS)).isTrue();
-        assertThat(command.isCancelled()).isTrue();
+        assertThat(command.isCancelled()).isFalse();
         assertThat(command.isDone()).isTrue();
-        assertThat(command.getException()).isInstanceOf(EncoderException.class);
+        assertThat(command.getException()).isInstanceOf(IllegalStateException.class);
 
         assertThat(connection.get(key)).isEqualTo("2");
 